@@ -0,0 +1,86 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.domain.Book;
+import com.example.demo.gateways.BookGateway;
+import com.example.demo.gateways.ReactiveBookGateway;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * End-to-end load test: 256 concurrent clients against the running application, once per stack:
+ * servlet + JPA on platform or virtual threads, and WebFlux + R2DBC ({@code reactive}).
+ * The page endpoint reads from the database on every call, so it exercises threads blocked on JDBC
+ * against the non-blocking driver. Sample-time mode reports the p99/p99.9 latencies.
+ * Peak thread count and heap after each trial are printed for the memory comparison; add
+ * {@code -prof gc} for allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(256)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class ApiLoadBenchmark {
+
+    @Param({"platform", "virtual", "reactive"})
+    private String mode;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest pageRequest;
+    private HttpRequest bookRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Book> seed = LongStream.range(0, 1_000).mapToObj(n -> {
+            Book book = Fixtures.book(n);
+            book.setId(null);
+            return book;
+        }).toList();
+        List<Book> books;
+        if ("reactive".equals(mode)) {
+            context = Fixtures.startReactiveServer();
+            ReactiveBookGateway gateway = context.getBean(ReactiveBookGateway.class);
+            books = Flux.fromIterable(seed).concatMap(gateway::createBook).collectList().block();
+        } else {
+            context = Fixtures.startServer("spring.threads.virtual.enabled=" + "virtual".equals(mode));
+            books = context.getBean(BookGateway.class).createBooks(seed);
+        }
+
+        String baseUrl = "http://localhost:" + Fixtures.port(context) + "/api/books";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        pageRequest = HttpRequest.newBuilder(URI.create(baseUrl + "?size=50")).build();
+        bookRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/" + books.get(500).getId())).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.gc();
+        System.out.printf("%n[%s] peak threads: %d, heap used after GC: %d MB%n", mode,
+                ManagementFactory.getThreadMXBean().getPeakThreadCount(),
+                ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / (1024 * 1024));
+        context.close();
+    }
+
+    @Benchmark
+    public int listPage() throws IOException, InterruptedException {
+        return client.send(pageRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int getBook() throws IOException, InterruptedException {
+        return client.send(bookRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
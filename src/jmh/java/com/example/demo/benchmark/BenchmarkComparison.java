@@ -0,0 +1,60 @@
+package com.example.demo.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files and exits non-zero when a benchmark got slower (or, for throughput
+ * modes, lower) than the baseline by more than the given relative threshold.
+ */
+public final class BenchmarkComparison {
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: BenchmarkComparison <baseline.json> <candidate.json> [threshold]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+        Map<String, JsonNode> baseline = load(args[0]);
+        Map<String, JsonNode> candidate = load(args[1]);
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("NEW        %s%n", entry.getKey());
+                continue;
+            }
+            double old = before.path("primaryMetric").path("score").asDouble();
+            double now = entry.getValue().path("primaryMetric").path("score").asDouble();
+            boolean higherIsBetter = "thrpt".equals(entry.getValue().path("mode").asText());
+            double change = (now - old) / old;
+            boolean regressed = higherIsBetter ? change < -threshold : change > threshold;
+            regressions += regressed ? 1 : 0;
+            System.out.printf("%-10s %s %.3f -> %.3f %s (%+.1f%%)%n", regressed ? "REGRESSED" : "ok", entry.getKey(),
+                    old, now, entry.getValue().path("primaryMetric").path("scoreUnit").asText(), change * 100);
+        }
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> load(String path) throws IOException {
+        Map<String, JsonNode> results = new HashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(new File(path))) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            result.path("params").fields().forEachRemaining(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+}
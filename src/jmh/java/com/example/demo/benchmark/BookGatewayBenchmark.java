@@ -0,0 +1,88 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.domain.Book;
+import com.example.demo.gateways.BookGateway;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+/**
+ * BookGateway against embedded H2. {@code createBook} and {@code createBooks} both report time per row,
+ * so the two scores compare single inserts with the JDBC-batched path directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookGatewayBenchmark {
+
+    private static final int CATALOG_SIZE = 10_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    private final AtomicLong sequence = new AtomicLong(CATALOG_SIZE);
+    private final Queue<String> added = new ConcurrentLinkedQueue<>();
+
+    private ConfigurableApplicationContext context;
+    private BookGateway bookGateway;
+    private String existingId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = Fixtures.startApplication();
+        bookGateway = context.getBean(BookGateway.class);
+        List<Book> created = bookGateway.createBooks(LongStream.range(0, CATALOG_SIZE).mapToObj(this::newBook).toList());
+        existingId = created.get(CATALOG_SIZE / 2).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Book getBookById() {
+        return bookGateway.getBookById(existingId);
+    }
+
+    @Benchmark
+    public List<Book> listFirstPage() {
+        return bookGateway.listPage(null, 50);
+    }
+
+    @Benchmark
+    public Book createBook() {
+        Book created = bookGateway.createBook(newBook(sequence.incrementAndGet()));
+        added.add(created.getId());
+        return created;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<Book> createBooks() {
+        long first = sequence.getAndAdd(BATCH_SIZE);
+        List<Book> created = bookGateway.createBooks(LongStream.range(first, first + BATCH_SIZE).mapToObj(this::newBook).toList());
+        created.forEach(book -> added.add(book.getId()));
+        return created;
+    }
+
+    @TearDown(Level.Iteration)
+    public void trimCatalog() {
+        // keep the table at its initial size so later iterations measure the same thing
+        bookGateway.deleteBooksById(List.copyOf(added));
+        added.clear();
+    }
+
+    private Book newBook(long n) {
+        Book book = Fixtures.book(n);
+        book.setId(null);
+        return book;
+    }
+}
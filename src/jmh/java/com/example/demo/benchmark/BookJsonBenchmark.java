@@ -0,0 +1,57 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.controller.dtos.BookPageResponseDTO;
+import com.example.demo.controller.json.BookJsonWriter;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a page of books to the response stream: the Jackson ObjectMapper the default MVC
+ * converter uses versus {@link BookJsonWriter}. Both produce the same bytes into a discarding
+ * stream, so only the encoding is measured; run with {@code -prof gc} for bytes per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookJsonBenchmark {
+
+    @Param({"1", "50", "500"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private BookPageResponseDTO page;
+    private final OutputStream out = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setUp() {
+        // same configuration Spring Boot applies to the MVC message converter
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        page = new BookPageResponseDTO(Fixtures.responses(size), "next-cursor");
+    }
+
+    @Benchmark
+    public void jackson() throws IOException {
+        // what MappingJackson2HttpMessageConverter does per response
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(StreamUtils.nonClosing(out), JsonEncoding.UTF8)) {
+            objectMapper.writerFor(BookPageResponseDTO.class).writeValue(generator, page);
+        }
+    }
+
+    @Benchmark
+    public void bookJsonWriter() throws IOException {
+        try (BookJsonWriter writer = BookJsonWriter.open(out)) {
+            writer.writePage(page);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.domain.Book;
+import com.example.demo.gateways.BookGateway;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * A polling client against the servlet stack: a full read versus a revalidation with the ETag of
+ * the previous response, for a single book and a 50-book page. The revalidated book is answered
+ * from the version lookup (warm: BookCache, cold: a two-column query), the page still reads its
+ * rows but skips serialization. Bytes per response are printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ConditionalGetBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest bookRequest;
+    private HttpRequest bookRevalidation;
+    private HttpRequest pageRequest;
+    private HttpRequest pageRevalidation;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        List<Book> seed = LongStream.range(0, 1_000).mapToObj(n -> {
+            Book book = Fixtures.book(n);
+            book.setId(null);
+            return book;
+        }).toList();
+        context = Fixtures.startServer();
+        List<Book> books = context.getBean(BookGateway.class).createBooks(seed);
+
+        String baseUrl = "http://localhost:" + Fixtures.port(context) + "/api/books";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        bookRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/" + books.get(500).getId())).build();
+        pageRequest = HttpRequest.newBuilder(URI.create(baseUrl + "?size=50")).build();
+        bookRevalidation = revalidation(bookRequest);
+        pageRevalidation = revalidation(pageRequest);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getBook() throws IOException, InterruptedException {
+        return client.send(bookRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int getBookRevalidated() throws IOException, InterruptedException {
+        return client.send(bookRevalidation, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int listPage() throws IOException, InterruptedException {
+        return client.send(pageRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int listPageRevalidated() throws IOException, InterruptedException {
+        return client.send(pageRevalidation, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest revalidation(final HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> full = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        String eTag = full.headers().firstValue("ETag").orElseThrow();
+        HttpRequest revalidation = HttpRequest.newBuilder(request.uri()).header("If-None-Match", eTag).build();
+        HttpResponse<byte[]> notModified = client.send(revalidation, HttpResponse.BodyHandlers.ofByteArray());
+        System.out.printf("%n%s: %d -> %d bytes, %d -> %d%n", request.uri().getPath(),
+                full.body().length, notModified.body().length, full.statusCode(), notModified.statusCode());
+        return revalidation;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.domain.Book;
+import com.example.demo.gateways.BookGateway;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Full catalog downloads from {@code /api/books/export} over HTTP: streamed from the table without
+ * compression ({@code identity}), streamed and gzipped by Tomcat per request ({@code gzip} with
+ * snapshots turned off), and served from the pre-compressed snapshot ({@code snapshot}). The
+ * {@code afterWrite} variants change one book's stock before each download, so the snapshot has
+ * one segment to deflate again. Response sizes are printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ExportSnapshotBenchmark {
+
+    @Param({"identity", "gzip", "snapshot"})
+    private String mode;
+
+    @Param({"50000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private BookGateway bookGateway;
+    private HttpClient client;
+    private HttpRequest download;
+    private String writtenId;
+    private boolean reserve;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        context = Fixtures.startServer("library.snapshot.enabled=" + mode.equals("snapshot"));
+        bookGateway = context.getBean(BookGateway.class);
+        List<Book> books = bookGateway.createBooks(LongStream.range(0, catalogSize).mapToObj(n -> {
+            Book book = Fixtures.book(n);
+            book.setId(null);
+            return book;
+        }).toList());
+        writtenId = books.get(catalogSize / 2).getId();
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        download = HttpRequest.newBuilder(URI.create("http://localhost:" + Fixtures.port(context) + "/api/books/export"))
+                .header("Accept-Encoding", mode.equals("identity") ? "identity" : "gzip")
+                .build();
+        HttpResponse<byte[]> response = client.send(download, HttpResponse.BodyHandlers.ofByteArray());
+        System.out.printf("%n%s: %d bytes, Content-Encoding %s%n", mode, response.body().length,
+                response.headers().firstValue("Content-Encoding").orElse("none"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long download() throws IOException, InterruptedException {
+        return send();
+    }
+
+    @Benchmark
+    public long downloadAfterWrite() throws IOException, InterruptedException {
+        reserve = !reserve;
+        if (reserve) {
+            bookGateway.reserveStock(writtenId, 1);
+        } else {
+            bookGateway.releaseStock(writtenId, 1);
+        }
+        return send();
+    }
+
+    /** Reads the whole body and returns its length in bytes, failing on anything but a 200. */
+    private long send() throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = client.send(download, HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            long length = body.transferTo(OutputStream.nullOutputStream());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("export answered " + response.statusCode());
+            }
+            return length;
+        }
+    }
+}
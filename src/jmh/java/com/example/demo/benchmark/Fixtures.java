@@ -0,0 +1,96 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.controller.dtos.BookResponseDTO;
+import com.example.demo.domain.Book;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Shared test data and application bootstrap for the benchmarks.
+ */
+final class Fixtures {
+
+    /** The test profile turns the SQL monitor on; benchmarks measure the production data path. */
+    private static final String WITHOUT_SQL_MONITOR = "--library.sql-monitor.enabled=false";
+
+    private Fixtures() {
+    }
+
+    static Book book(long n) {
+        Book book = new Book();
+        book.setId(UUID.randomUUID().toString());
+        book.setIsbn(isbn(n));
+        book.setTitle("The Art of Benchmarking, Volume " + n);
+        book.setAuthor("Author " + (n % 1000));
+        book.setStock((int) (n % 50));
+        book.setPriceInCents(1000 + n % 9000);
+        return book;
+    }
+
+    /**
+     * Unique, valid-looking ISBN-13 for row {@code n}.
+     */
+    static String isbn(long n) {
+        return String.format("978-%010d", n);
+    }
+
+    static List<BookResponseDTO> responses(int size) {
+        return IntStream.range(0, size)
+                .mapToObj(Fixtures::book)
+                .map(book -> new BookResponseDTO(book.getId(), book.getIsbn(), book.getTitle(), book.getAuthor(),
+                        book.getStock(), book.getPriceInCents()))
+                .toList();
+    }
+
+    /**
+     * Starts the application without a web server against in-memory H2 (the test profile).
+     */
+    static ConfigurableApplicationContext startApplication(String... properties) {
+        return new SpringApplicationBuilder(DemoApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .run(arguments(properties));
+    }
+
+    /**
+     * Starts the application with its web server on a random port against in-memory H2.
+     */
+    static ConfigurableApplicationContext startServer(String... properties) {
+        return new SpringApplicationBuilder(DemoApplication.class)
+                .profiles("test")
+                .properties("server.port=0")
+                .run(arguments(properties));
+    }
+
+    /**
+     * Starts the WebFlux + R2DBC variant (reactive profile) on a random port against in-memory H2.
+     */
+    static ConfigurableApplicationContext startReactiveServer(String... properties) {
+        return new SpringApplicationBuilder(DemoApplication.class)
+                .profiles("reactive", "reactive-test")
+                .properties("server.port=0")
+                .properties(properties)
+                .run();
+    }
+
+    /**
+     * The properties as command-line arguments. Unlike builder default properties, these win over
+     * application.yml, which sets most library.* switches from environment placeholders.
+     */
+    private static String[] arguments(String... properties) {
+        return Stream.concat(Stream.of(WITHOUT_SQL_MONITOR), Arrays.stream(properties).map(property -> "--" + property))
+                .toArray(String[]::new);
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+}
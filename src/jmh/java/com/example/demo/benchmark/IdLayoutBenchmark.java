@@ -0,0 +1,94 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.gateways.entity.BookIds;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Primary key layouts for book_entity, on a file-backed H2 database with plain JDBC:
+ * <ul>
+ *     <li>{@code varchar-v4}: the former layout, random UUID text in a varchar column</li>
+ *     <li>{@code uuid-v4}: random UUIDs in a native uuid column</li>
+ *     <li>{@code uuid-v7}: {@link BookIds#newId()}, time-ordered, in a native uuid column</li>
+ * </ul>
+ * Each invocation inserts one batch into an ever-growing table, so the score is insert throughput
+ * as the primary key index grows. Random keys split pages all over the index while v7 keys append
+ * at its right edge. The table's disk footprint (DISK_SPACE_USED, rows plus primary key) is printed
+ * at the end of each trial; on Postgres the equivalent is {@code pg_relation_size('book_entity_pkey')}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class IdLayoutBenchmark {
+
+    private static final int BATCH = 1_000;
+
+    @Param({"varchar-v4", "uuid-v4", "uuid-v7"})
+    private String layout;
+
+    private Path directory;
+    private Connection connection;
+    private PreparedStatement insert;
+    private long rows;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("id-layout");
+        connection = DriverManager.getConnection("jdbc:h2:file:" + directory.resolve("books") + ";CACHE_SIZE=65536", "sa", "");
+        connection.setAutoCommit(false);
+        String idType = layout.startsWith("varchar") ? "VARCHAR(255)" : "UUID";
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE book_entity (id " + idType + " PRIMARY KEY, isbn VARCHAR(17), stock INTEGER)");
+        }
+        insert = connection.prepareStatement("INSERT INTO book_entity (id, isbn, stock) VALUES (?, ?, ?)");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(BenchmarkParams params) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet size = statement.executeQuery("SELECT DISK_SPACE_USED('BOOK_ENTITY')")) {
+            size.next();
+            System.out.printf("%n%s: %,d rows, %,d bytes on disk (%.1f bytes/row)%n",
+                    layout, rows, size.getLong(1), (double) size.getLong(1) / rows);
+        }
+        connection.close();
+        try (var files = Files.walk(directory)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH; i++) {
+            insert.setObject(1, nextId());
+            insert.setString(2, Fixtures.isbn(rows++));
+            insert.setInt(3, 1);
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    private Object nextId() {
+        return switch (layout) {
+            case "varchar-v4" -> UUID.randomUUID().toString();
+            case "uuid-v4" -> UUID.randomUUID();
+            default -> BookIds.newId();
+        };
+    }
+}
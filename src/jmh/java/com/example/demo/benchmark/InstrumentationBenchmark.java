@@ -0,0 +1,134 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.observability.StatementCountFilter;
+import com.example.demo.observability.StatementCounter;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of the production instrumentation on a cache-hit sized call: a plain call, the same
+ * call through a Spring proxy, and through the proxy with {@link TimedAspect} recording into a
+ * Prometheus registry with percentile histograms on. {@code countStatements} is the per-request
+ * {@link StatementCountFilter} around three Hibernate statements, against the same mock request
+ * without the filter ({@code uncountedRequest}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstrumentationBenchmark {
+
+    private static final int KEYS = 1024;
+
+    private Lookup plain;
+    private Lookup proxied;
+    private Lookup timed;
+    private StatementCountFilter filter;
+    private StatementCounter inspector;
+    private String[] ids;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(final Meter.Id id, final DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        });
+        Map<String, String> books = new HashMap<>();
+        ids = new String[KEYS];
+        for (int n = 0; n < KEYS; n++) {
+            ids[n] = Fixtures.book(n).getId();
+            books.put(ids[n], Fixtures.isbn(n));
+        }
+        plain = new Lookup(books);
+        proxied = new AspectJProxyFactory(plain).getProxy();
+        AspectJProxyFactory factory = new AspectJProxyFactory(plain);
+        factory.addAspect(new TimedAspect(registry));
+        timed = factory.getProxy();
+        filter = new StatementCountFilter(registry);
+        inspector = new StatementCounter();
+    }
+
+    @Benchmark
+    public String plainCall() {
+        return plain.execute(ids[next++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    public String proxiedCall() {
+        return proxied.execute(ids[next++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    public String timedCall() {
+        return timed.execute(ids[next++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    public int uncountedRequest() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        statements().doFilter(request(), response);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int countStatements() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(), response, statements());
+        return response.getStatus();
+    }
+
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/books/{id}");
+        return request;
+    }
+
+    private MockFilterChain statements() {
+        return new MockFilterChain() {
+            @Override
+            public void doFilter(final ServletRequest request, final ServletResponse response) {
+                inspector.inspect("select 1");
+                inspector.inspect("select 2");
+                inspector.inspect("select 3");
+            }
+        };
+    }
+
+    /** Stand-in for a use case answered from memory, so the instrumentation dominates the measurement. */
+    @Timed("library.usecase")
+    public static class Lookup {
+
+        private final Map<String, String> books;
+
+        public Lookup(final Map<String, String> books) {
+            this.books = books;
+        }
+
+        public String execute(final String id) {
+            return books.get(id);
+        }
+    }
+}
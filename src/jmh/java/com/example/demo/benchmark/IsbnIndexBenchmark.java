@@ -0,0 +1,40 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.gateways.index.IsbnIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Key encoding plus lookup in {@link IsbnIndex}; run with {@code -prof gc} to confirm the path allocates nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class IsbnIndexBenchmark {
+
+    @Param({"2000000"})
+    private int catalogSize;
+
+    private IsbnIndex index;
+    private String[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new IsbnIndex();
+        index.rebuild(sink -> IntStream.range(0, catalogSize).forEach(n -> sink.accept(Fixtures.isbn(n), UUID.randomUUID().toString())));
+        queries = IntStream.range(0, 1024).mapToObj(n -> Fixtures.isbn(n * (catalogSize / 1024))).toArray(String[]::new);
+    }
+
+    @Benchmark
+    public String lookup() {
+        String isbn = queries[next++ & (queries.length - 1)];
+        return index.get(IsbnIndex.encode(isbn));
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.controller.dtos.BookResponseDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonBenchmark {
+
+    private static final TypeReference<List<BookResponseDTO>> BOOK_LIST = new TypeReference<>() {
+    };
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<BookResponseDTO> books;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        // same configuration Spring Boot applies to the MVC message converter
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        books = Fixtures.responses(size);
+        json = objectMapper.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public List<BookResponseDTO> deserialize() throws IOException {
+        return objectMapper.readValue(json, BOOK_LIST);
+    }
+}
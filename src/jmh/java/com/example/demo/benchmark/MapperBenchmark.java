@@ -0,0 +1,66 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.controller.dtos.BookPostRequestDTO;
+import com.example.demo.controller.dtos.BookPutRequestDTO;
+import com.example.demo.controller.dtos.BookResponseDTO;
+import com.example.demo.controller.mapper.BookMapper;
+import com.example.demo.controller.mapper.BookMapperImpl;
+import com.example.demo.domain.Book;
+import com.example.demo.gateways.entity.BookEntity;
+import com.example.demo.gateways.mapper.BookGatewayMapper;
+import com.example.demo.gateways.mapper.BookGatewayMapperImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final BookMapper bookMapper = new BookMapperImpl();
+    private final BookGatewayMapper bookGatewayMapper = new BookGatewayMapperImpl();
+
+    private BookPostRequestDTO postRequest;
+    private BookPutRequestDTO putRequest;
+    private Book book;
+    private BookEntity entity;
+
+    @Setup
+    public void setUp() {
+        postRequest = new BookPostRequestDTO("Title", "Author", "978-0123456789", 10, 2999L);
+        putRequest = new BookPutRequestDTO("Updated", null, null, 15, null);
+        book = Fixtures.book(1);
+        entity = bookGatewayMapper.toBookEntity(book);
+    }
+
+    @Benchmark
+    public BookResponseDTO toDTO() {
+        return bookMapper.toDTO(book);
+    }
+
+    @Benchmark
+    public Book toDomain() {
+        return bookMapper.toDomain(postRequest);
+    }
+
+    @Benchmark
+    public Book updateUserFromDTO() {
+        Book target = bookGatewayMapper.copy(book);
+        bookMapper.updateUserFromDTO(putRequest, target);
+        return target;
+    }
+
+    @Benchmark
+    public BookEntity toBookEntity() {
+        return bookGatewayMapper.toBookEntity(book);
+    }
+
+    @Benchmark
+    public Book toBookDomain() {
+        return bookGatewayMapper.toBookDomain(entity);
+    }
+}
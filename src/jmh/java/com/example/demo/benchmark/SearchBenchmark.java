@@ -0,0 +1,110 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.domain.Book;
+import com.example.demo.domain.BookSearchCriteria;
+import com.example.demo.gateways.BookGateway;
+import com.example.demo.gateways.entity.BookIds;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.demo.domain.BookSearchCriteria.Match.CONTAINS;
+import static com.example.demo.domain.BookSearchCriteria.Match.PREFIX;
+
+/**
+ * Search over a generated catalog on embedded H2, with the BookEntity indexes in place and with them
+ * dropped ({@code indexed=false}) for the full-scan baseline. Titles are two random words from a
+ * small vocabulary plus a number, so a one-word prefix matches roughly 1/64 of the catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SearchBenchmark {
+
+    private static final String[] WORDS = {
+            "ancient", "blue", "broken", "city", "cold", "crimson", "dark", "dawn", "desert", "distant", "dragon",
+            "dream", "dust", "echo", "empire", "fallen", "fire", "forest", "frozen", "garden", "ghost", "glass",
+            "golden", "harbor", "hidden", "hollow", "iron", "island", "last", "light", "lost", "moon", "night",
+            "ocean", "old", "pale", "quiet", "rain", "river", "road", "salt", "sea", "secret", "shadow", "silent",
+            "silver", "sky", "small", "snow", "song", "stone", "storm", "summer", "sun", "tide", "tower", "twin",
+            "valley", "white", "wild", "wind", "winter", "wolf", "year"};
+    private static final int INSERT_BATCH = 10_000;
+
+    @Param({"1000000"})
+    private int catalogSize;
+
+    @Param({"true", "false"})
+    private boolean indexed;
+
+    private ConfigurableApplicationContext context;
+    private BookGateway bookGateway;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = Fixtures.startApplication();
+        bookGateway = context.getBean(BookGateway.class);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        if (!indexed) {
+            for (String index : List.of("idx_book_title_key", "idx_book_author_key", "idx_book_price")) {
+                jdbc.execute("DROP INDEX " + index);
+            }
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+        for (int n = 0; n < catalogSize; n++) {
+            String title = capitalize(word(random)) + " " + word(random) + " " + n;
+            String author = capitalize(word(random)) + " " + capitalize(word(random));
+            rows.add(new Object[]{BookIds.newId(), Fixtures.isbn(n), title, title.toLowerCase(Locale.ROOT),
+                    author, author.toLowerCase(Locale.ROOT), random.nextInt(5), 500L + random.nextInt(10_000)});
+            if (rows.size() == INSERT_BATCH || n == catalogSize - 1) {
+                jdbc.batchUpdate("INSERT INTO book_entity (id, isbn, title, title_key, author, author_key, stock, price_in_cents, version)"
+                        + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)", rows);
+                rows.clear();
+            }
+        }
+        jdbc.execute("ANALYZE");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Book> titlePrefix() {
+        return bookGateway.searchBooks(new BookSearchCriteria("silver moon", null, PREFIX, null, null, false), null, 51);
+    }
+
+    @Benchmark
+    public List<Book> authorPrefixInStock() {
+        return bookGateway.searchBooks(new BookSearchCriteria(null, "wolf st", PREFIX, null, null, true), null, 51);
+    }
+
+    @Benchmark
+    public List<Book> priceRange() {
+        return bookGateway.searchBooks(new BookSearchCriteria(null, null, PREFIX, 1_000L, 1_010L, false), null, 51);
+    }
+
+    @Benchmark
+    public List<Book> titleContains() {
+        return bookGateway.searchBooks(new BookSearchCriteria("moon 12", null, CONTAINS, null, null, false), null, 51);
+    }
+
+    private static String word(SplittableRandom random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start of the application context, one per fork, against a fresh in-memory database:
+ * plain H2, and H2 in PostgreSQL compatibility mode as a local stand-in for Postgres.
+ * <ul>
+ *     <li>{@code ddl-update}: the old setup, Hibernate inspects and updates the schema.</li>
+ *     <li>{@code flyway-validate}: migrations, then Hibernate validates (default and test profiles).</li>
+ *     <li>{@code flyway-none}: migrations only, no JDBC metadata access at boot (prod profile).</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(3)
+public class StartupBenchmark {
+
+    @Param({"h2", "h2-postgres-mode"})
+    private String database;
+
+    @Param({"ddl-update", "flyway-validate", "flyway-none"})
+    private String schema;
+
+    private ConfigurableApplicationContext context;
+
+    @Benchmark
+    public ConfigurableApplicationContext start() {
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .run(arguments());
+        return context;
+    }
+
+    @TearDown(Level.Iteration)
+    public void stop() {
+        context.close();
+    }
+
+    private String[] arguments() {
+        String url = "--spring.datasource.url=jdbc:h2:mem:startup-" + UUID.randomUUID() + ";DB_CLOSE_ON_EXIT=FALSE"
+                + (database.equals("h2") ? "" : ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH");
+        String sqlMonitor = "--library.sql-monitor.enabled=false";
+        return switch (schema) {
+            case "ddl-update" -> new String[]{url, sqlMonitor,
+                    "--spring.flyway.enabled=false",
+                    "--spring.jpa.hibernate.ddl-auto=update"};
+            case "flyway-validate" -> new String[]{url, sqlMonitor,
+                    "--spring.jpa.hibernate.ddl-auto=validate"};
+            case "flyway-none" -> new String[]{url, sqlMonitor,
+                    "--spring.jpa.hibernate.ddl-auto=none",
+                    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                    "--spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false"};
+            default -> throw new IllegalArgumentException(schema);
+        };
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.demo.benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wall-clock time to "Started DemoApplication" and resident memory right after, for the packaged
+ * application started as a separate process: plain JVM, JVM with the AOT-processed context, JVM
+ * with AOT plus the CDS archive, and the native executable when one has been built. Needs the
+ * output of {@code ./mvnw -Pcds package} (and optionally {@code -Pnative native:compile}); every
+ * run gets its own in-memory H2 database, so no Postgres is needed. Linux only (reads /proc).
+ */
+public final class StartupFootprint {
+
+    private static final String[] APPLICATION_ARGS = {
+            "--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:footprint",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password="
+    };
+
+    private StartupFootprint() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("usage: StartupFootprint <target directory> [runs]");
+            System.exit(2);
+        }
+        Path target = Path.of(args[0]);
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        Path application = target.resolve("application");
+        String jar = jar(application);
+
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        variants.put("jvm", List.of("java", "-jar", jar));
+        variants.put("jvm+aot", List.of("java", "-Dspring.aot.enabled=true", "-jar", jar));
+        variants.put("jvm+aot+cds", List.of("java", "-XX:SharedArchiveFile=application.jsa",
+                "-Dspring.aot.enabled=true", "-jar", jar));
+        Path executable = target.resolve("demo");
+        if (Files.isExecutable(executable)) {
+            variants.put("native", List.of(executable.toAbsolutePath().toString()));
+        }
+
+        System.out.printf("%-12s %12s %10s%n", "variant", "startup ms", "RSS MB");
+        for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+            long[] millis = new long[runs];
+            long[] rss = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                long[] sample = start(variant.getValue(), application.toFile());
+                millis[run] = sample[0];
+                rss[run] = sample[1];
+            }
+            System.out.printf("%-12s %12d %10d%n", variant.getKey(), median(millis), median(rss) / 1024);
+        }
+    }
+
+    /**
+     * Starts the process, waits for the startup log line and returns {elapsed millis, RSS in kB}.
+     */
+    private static long[] start(final List<String> command, final File directory) throws IOException, InterruptedException {
+        List<String> full = new ArrayList<>(command);
+        full.addAll(Arrays.asList(APPLICATION_ARGS));
+        long begin = System.nanoTime();
+        Process process = new ProcessBuilder(full).directory(directory).redirectErrorStream(true).start();
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                if (line.contains("Started DemoApplication in")) {
+                    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+                    return new long[]{elapsed, residentKilobytes(process.pid())};
+                }
+            }
+            throw new IllegalStateException("exited with " + process.waitFor() + " before starting: " + full);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static long residentKilobytes(final long pid) throws IOException {
+        for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        return -1;
+    }
+
+    private static String jar(final Path application) throws IOException {
+        try (var files = Files.list(application)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(".jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("no extracted jar in " + application + ", run ./mvnw -Pcds package"));
+        }
+    }
+
+    private static long median(final long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.domain.Book;
+import com.example.demo.gateways.index.BookTextIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queries against {@link BookTextIndex} holding a generated catalog, without Spring or a database.
+ * Titles draw three words from a 2,000-word vocabulary and authors two names from 500, so a single
+ * common word hits thousands of books while a word pair narrows to a handful.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class TextIndexBenchmark {
+
+    @Param({"2000000"})
+    private int catalogSize;
+
+    private BookTextIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        index = new BookTextIndex();
+        index.rebuild(sink -> {
+            for (int n = 0; n < catalogSize; n++) {
+                Book book = new Book();
+                book.setId(Integer.toString(n));
+                book.setTitle(word(random, 2000) + " " + word(random, 2000) + " " + word(random, 2000));
+                book.setAuthor(name(random, 500) + " " + name(random, 500));
+                sink.accept(book);
+            }
+        });
+    }
+
+    @Benchmark
+    public List<String> singleTerm() {
+        return index.search("w17", 20);
+    }
+
+    @Benchmark
+    public List<String> twoTerms() {
+        return index.search("w17 n42", 20);
+    }
+
+    @Benchmark
+    public List<String> threeTerms() {
+        return index.search("w17 w1000 n42", 20);
+    }
+
+    @Benchmark
+    public List<String> unknownTerm() {
+        return index.search("zzz", 20);
+    }
+
+    private static String word(SplittableRandom random, int vocabulary) {
+        return "w" + random.nextInt(vocabulary);
+    }
+
+    private static String name(SplittableRandom random, int vocabulary) {
+        return "n" + random.nextInt(vocabulary);
+    }
+}
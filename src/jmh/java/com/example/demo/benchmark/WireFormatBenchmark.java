@@ -0,0 +1,72 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.controller.dtos.BookPageResponseDTO;
+import com.example.demo.controller.dtos.BookResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode time of a single book and a 10k-book page in each negotiable wire format, with
+ * the mappers the MVC converters use. Payload sizes are printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    private String format;
+
+    @Param({"book", "page-10k"})
+    private String payload;
+
+    private Object value;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        Class<?> type = payload.equals("book") ? BookResponseDTO.class : BookPageResponseDTO.class;
+        value = payload.equals("book")
+                ? Fixtures.responses(1).get(0)
+                : new BookPageResponseDTO(Fixtures.responses(10_000), "next-cursor");
+        ObjectMapper mapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> new CBORMapper();
+            case "smile" -> new SmileMapper();
+            case "protobuf" -> new ProtobufMapper();
+            default -> throw new IllegalArgumentException(format);
+        };
+        writer = mapper.writerFor(type);
+        reader = mapper.readerFor(type);
+        if (mapper instanceof ProtobufMapper protobuf) {
+            writer = writer.with(protobuf.generateSchemaFor(type));
+            reader = reader.with(protobuf.generateSchemaFor(type));
+        }
+        encoded = writer.writeValueAsBytes(value);
+        System.out.printf("%n%s %s: %d bytes%n", format, payload, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+}
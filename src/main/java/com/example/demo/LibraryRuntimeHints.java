@@ -0,0 +1,42 @@
+package com.example.demo;
+
+import com.example.demo.controller.dtos.BookPostRequestDTO;
+import com.example.demo.gateways.entity.BookChangeEntity;
+import com.example.demo.gateways.entity.BookChangeHeadEntity;
+import com.example.demo.gateways.entity.BookEntity;
+import com.example.demo.gateways.entity.BookIdGenerator;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection and resource hints for the native image that Spring's AOT processing cannot infer.
+ * MapStruct mappers are generated Spring beans and Lombok only exists at compile time, so neither
+ * needs anything here; Hibernate, Caffeine and the JDBC drivers bring their own metadata through
+ * the GraalVM reachability repository (see the {@code native} profile).
+ */
+public class LibraryRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(final RuntimeHints hints, final ClassLoader classLoader) {
+        // Hibernate reads and writes the fields directly and creates the @GeneratedBookId generator reflectively
+        hints.reflection().registerType(BookEntity.class,
+                MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(BookChangeEntity.class,
+                MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(BookChangeHeadEntity.class,
+                MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(BookIdGenerator.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        // read with ObjectMapper directly (CSV/NDJSON import), outside any controller signature
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), BookPostRequestDTO.class);
+
+        // looked up by class name through javax.cache.Caching
+        hints.reflection().registerType(CaffeineCachingProvider.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        // Flyway scans db/migration/{vendor}, which the default location hint does not cover
+        hints.resources().registerPattern("db/migration/*/*.sql");
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.demo.controller;
+
+import com.example.demo.controller.dtos.BatchItemResponseDTO;
+import com.example.demo.controller.dtos.BookBatchPutRequestDTO;
+import com.example.demo.controller.dtos.BookPostRequestDTO;
+import com.example.demo.controller.mapper.BookMapper;
+import com.example.demo.usecases.CreateBooks;
+import com.example.demo.usecases.DeleteBooks;
+import com.example.demo.usecases.UpdateBooks;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+import static org.springframework.http.HttpStatus.OK;
+
+@Profile("!reactive")
+@RequiredArgsConstructor
+@RequestMapping("/api/books/batch")
+@RestController
+public class BookBatchController {
+
+    private final CreateBooks createBooks;
+    private final UpdateBooks updateBooks;
+    private final DeleteBooks deleteBooks;
+    private final BookMapper bookMapper;
+
+    @ResponseStatus(OK)
+    @PostMapping
+    public List<BatchItemResponseDTO> createBooks(@RequestBody final List<BookPostRequestDTO> books) {
+        return createBooks.execute(books).stream().map(bookMapper::toDTO).toList();
+    }
+
+    @ResponseStatus(OK)
+    @PutMapping
+    public List<BatchItemResponseDTO> updateBooks(@RequestBody final List<BookBatchPutRequestDTO> books) {
+        return updateBooks.execute(books).stream().map(bookMapper::toDTO).toList();
+    }
+
+    @ResponseStatus(OK)
+    @DeleteMapping
+    public List<BatchItemResponseDTO> deleteBooks(@RequestBody final List<String> ids) {
+        return deleteBooks.execute(ids).stream().map(bookMapper::toDTO).toList();
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demo.controller;
+
+import com.example.demo.controller.dtos.BookChangeResponseDTO;
+import com.example.demo.controller.dtos.BookChangesResponseDTO;
+import com.example.demo.controller.mapper.BookMapper;
+import com.example.demo.domain.BookChange;
+import com.example.demo.domain.BookChanges;
+import com.example.demo.usecases.GetBookChanges;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Incremental sync: consumers poll with the {@code next} of their previous answer as {@code since}
+ * and apply each change, a book's current state or a tombstone ({@code deleted} with no book). An
+ * empty page means they are caught up; 410 means their cursor was purged and they have to reload the
+ * export. Leaving {@code since} out returns the current head without changes.
+ */
+@Profile("!reactive")
+@RequiredArgsConstructor
+@RequestMapping("/api/books/changes")
+@RestController
+public class BookChangeController {
+
+    private final GetBookChanges getBookChanges;
+    private final BookMapper bookMapper;
+
+    @GetMapping
+    public BookChangesResponseDTO getChanges(@RequestParam(value = "since", required = false) Long since,
+                                             @RequestParam(value = "size", required = false) Integer size) {
+        BookChanges changes = getBookChanges.execute(since, size);
+        return new BookChangesResponseDTO(changes.changes().stream().map(this::toDTO).toList(), changes.next());
+    }
+
+    private BookChangeResponseDTO toDTO(final BookChange change) {
+        return new BookChangeResponseDTO(change.seq(), change.id(), change.deleted(),
+                change.deleted() ? null : bookMapper.toDTO(change.book()));
+    }
+}
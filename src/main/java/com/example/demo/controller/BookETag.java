@@ -0,0 +1,168 @@
+package com.example.demo.controller;
+
+import com.example.demo.controller.codec.ProtobufJacksonHttpMessageConverter;
+import com.example.demo.domain.Book;
+import com.example.demo.domain.BookPage;
+import com.example.demo.domain.BookVersion;
+import com.example.demo.domain.ExportSnapshot;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Strong ETags derived from the book's version column and the representation the request negotiates,
+ * shared by both controller stacks.
+ */
+final class BookETag {
+
+    /**
+     * Clients may keep book responses but revalidate them on every use; stock changes too often
+     * for any max-age, and a revalidation answered with 304 costs no body.
+     */
+    static final CacheControl REVALIDATE = CacheControl.noCache();
+
+    /**
+     * The same book can go out as JSON, CBOR, Smile or Protobuf, so caches must key on Accept too.
+     */
+    static final String VARY = HttpHeaders.ACCEPT;
+
+    /**
+     * The formats a book goes out in, in the order the converters are asked, each with the suffix that
+     * keeps its ETag apart from the others: the bodies differ byte for byte, so a strong tag cannot be
+     * shared. JSON, the default, keeps the bare version.
+     */
+    private static final Map<MediaType, String> REPRESENTATIONS = new LinkedHashMap<>();
+
+    static {
+        REPRESENTATIONS.put(MediaType.APPLICATION_JSON, "");
+        REPRESENTATIONS.put(MediaType.APPLICATION_CBOR, "+cbor");
+        REPRESENTATIONS.put(new MediaType("application", "x-jackson-smile"), "+smile");
+        REPRESENTATIONS.put(ProtobufJacksonHttpMessageConverter.APPLICATION_PROTOBUF, "+protobuf");
+    }
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private BookETag() {
+    }
+
+    /**
+     * The unquoted tag for the book in the representation {@code accept} negotiates, or null when the
+     * version is unknown.
+     */
+    static String of(final Book book, final String accept) {
+        return book.getVersion() == null ? null : book.getVersion() + suffix(accept);
+    }
+
+    static String of(final BookVersion version, final String accept) {
+        return version.version() + suffix(accept);
+    }
+
+    /**
+     * Tag for the export snapshot, from the CRC and length of its uncompressed content.
+     */
+    static String of(final ExportSnapshot snapshot) {
+        return "s" + snapshot.version();
+    }
+
+    /**
+     * Tag for a list page: a 64-bit FNV-1a hash over the ids and versions of its books and the next
+     * cursor, which together determine every byte of the response. The prefix keeps it from ever
+     * parsing as a book version in {@code If-Match}. It is weak because the page may go out gzipped
+     * (Tomcat leaves responses with a strong ETag uncompressed), and revalidation compares weakly.
+     */
+    static String of(final BookPage page) {
+        long hash = FNV_OFFSET_BASIS;
+        for (Book book : page.books()) {
+            hash = hash(hash, book.getId());
+            hash = hash(hash, String.valueOf(book.getVersion()));
+        }
+        hash = hash(hash, String.valueOf(page.nextCursor()));
+        return "W/\"p" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * A 200 carrying the book's validators: ETag, Last-Modified, {@link #REVALIDATE} and {@link #VARY}.
+     */
+    static ResponseEntity.BodyBuilder ok(final Book book, final String accept) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(VARY);
+        String eTag = of(book, accept);
+        if (eTag != null) {
+            response.eTag(eTag);
+        }
+        if (book.getUpdatedAt() != null) {
+            response.lastModified(book.getUpdatedAt());
+        }
+        return response;
+    }
+
+    /**
+     * The version an {@code If-Match} header asks for, or null when absent or {@code *}. The tag may
+     * come from any representation, since they all name the same version. A value that is not one of
+     * our ETags can never match, so it fails the precondition.
+     */
+    static Long expectedVersion(final String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        // If-Match uses strong comparison, so a weak W/ tag fails to parse and never matches
+        String tag = ifMatch.trim().replace("\"", "");
+        for (String suffix : REPRESENTATIONS.values()) {
+            if (!suffix.isEmpty() && tag.endsWith(suffix)) {
+                tag = tag.substring(0, tag.length() - suffix.length());
+                break;
+            }
+        }
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            throw new OptimisticLockingFailureException("If-Match " + ifMatch + " does not match any version");
+        }
+    }
+
+    /**
+     * The suffix for the format the converters will pick for {@code accept}: the first one the most
+     * preferred acceptable media type admits, so {@code *}{@code /*} and a missing header get JSON. A
+     * header nothing can satisfy ends in 406 anyway, and a malformed one in 400.
+     */
+    private static String suffix(final String accept) {
+        if (accept == null || accept.isBlank()) {
+            return "";
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return "";
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (Map.Entry<MediaType, String> representation : REPRESENTATIONS.entrySet()) {
+                if (type.isCompatibleWith(representation.getKey())) {
+                    return representation.getValue();
+                }
+            }
+        }
+        return "";
+    }
+
+    private static long hash(long hash, final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        // separator, so ("ab", "c") and ("a", "bc") differ
+        return (hash ^ 0xff) * FNV_PRIME;
+    }
+}
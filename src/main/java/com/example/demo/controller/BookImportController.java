@@ -0,0 +1,40 @@
+package com.example.demo.controller;
+
+import com.example.demo.controller.dtos.ImportReportResponseDTO;
+import com.example.demo.controller.importer.BookImportReader;
+import com.example.demo.controller.mapper.BookMapper;
+import com.example.demo.usecases.ImportBooks;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.springframework.http.HttpStatus.OK;
+
+@Profile("!reactive")
+@RequiredArgsConstructor
+@RequestMapping("/api/books/import")
+@RestController
+public class BookImportController {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final ImportBooks importBooks;
+    private final BookImportReader bookImportReader;
+    private final BookMapper bookMapper;
+
+    @ResponseStatus(OK)
+    @PostMapping(consumes = TEXT_CSV_VALUE)
+    public ImportReportResponseDTO importCsv(final InputStream body) throws IOException {
+        return bookMapper.toDTO(importBooks.execute(bookImportReader.csv(body)));
+    }
+
+    @ResponseStatus(OK)
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ImportReportResponseDTO importNdjson(final InputStream body) {
+        return bookMapper.toDTO(importBooks.execute(bookImportReader.ndjson(body)));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo.controller;
+
+import com.example.demo.controller.dtos.BookPageResponseDTO;
+import com.example.demo.controller.dtos.BookResponseDTO;
+import com.example.demo.controller.mapper.BookMapper;
+import com.example.demo.domain.BookPage;
+import com.example.demo.domain.BookSearchCriteria;
+import com.example.demo.usecases.SearchBooks;
+import com.example.demo.usecases.SearchBooksByText;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.springframework.http.HttpStatus.OK;
+
+@Profile("!reactive")
+@RequiredArgsConstructor
+@RequestMapping("/api/books/search")
+@RestController
+public class BookSearchController {
+
+    private final SearchBooks searchBooks;
+    private final SearchBooksByText searchBooksByText;
+    private final BookMapper bookMapper;
+
+    /**
+     * Filtered, keyset-paginated search. {@code match} is {@code prefix} (default) or {@code contains}
+     * and applies to both title and author; prices are in cents and inclusive.
+     */
+    @ResponseStatus(OK)
+    @GetMapping
+    public BookPageResponseDTO search(@RequestParam(value = "title", required = false) String title,
+                                      @RequestParam(value = "author", required = false) String author,
+                                      @RequestParam(value = "match", defaultValue = "prefix") String match,
+                                      @RequestParam(value = "minPrice", required = false) Long minPrice,
+                                      @RequestParam(value = "maxPrice", required = false) Long maxPrice,
+                                      @RequestParam(value = "inStock", defaultValue = "false") boolean inStock,
+                                      @RequestParam(value = "cursor", required = false) String cursor,
+                                      @RequestParam(value = "size", required = false) Integer size) {
+        BookSearchCriteria criteria = new BookSearchCriteria(blankToNull(title), blankToNull(author),
+                BookSearchCriteria.Match.valueOf(match.toUpperCase(Locale.ROOT)), minPrice, maxPrice, inStock);
+        BookPage page = searchBooks.execute(criteria, cursor, size);
+        return new BookPageResponseDTO(page.books().stream().map(bookMapper::toDTO).toList(), page.nextCursor());
+    }
+
+    /**
+     * Relevance-ranked full-text search over title and author; every word of {@code q} must match.
+     */
+    @ResponseStatus(OK)
+    @GetMapping("/text")
+    public List<BookResponseDTO> searchText(@RequestParam(value = "q", required = false) String q,
+                                            @RequestParam(value = "size", required = false) Integer size) {
+        return searchBooksByText.execute(q, size).stream().map(bookMapper::toDTO).toList();
+    }
+
+    private static String blankToNull(final String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -1,19 +1,37 @@
 package com.example.demo.controller;
 
+import com.example.demo.controller.dtos.BookPageResponseDTO;
 import com.example.demo.controller.dtos.BookPostRequestDTO;
 import com.example.demo.controller.dtos.BookPutRequestDTO;
 import com.example.demo.controller.dtos.BookResponseDTO;
+import com.example.demo.controller.json.BookJsonWriter;
 import com.example.demo.controller.mapper.BookMapper;
+import com.example.demo.domain.Book;
+import com.example.demo.domain.BookPage;
+import com.example.demo.domain.BookVersion;
+import com.example.demo.domain.ExportSnapshot;
 import com.example.demo.usecases.*;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Optional;
 
 import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
 import static org.springframework.http.HttpStatus.OK;
 
+@Profile("!reactive")
 @RequiredArgsConstructor
 @RequestMapping("/api/books")
 @RestController
@@ -22,8 +40,12 @@ public class LibraryController {
     private final CreateBook createBook;
     private final GetBooks getBooks;
     private final GetBook getBook;
+    private final GetBookVersion getBookVersion;
+    private final GetBookByIsbn getBookByIsbn;
     private final UpdateBook updateBook;
     private final DeleteBook deleteBook;
+    private final ExportBooks exportBooks;
+    private final GetExportSnapshot getExportSnapshot;
     private final BookMapper bookMapper;
 
     @ResponseStatus(CREATED)
@@ -32,22 +54,82 @@ public class LibraryController {
         return bookMapper.toDTO(createBook.execute(bookMapper.toDomain(bookPostRequestDTO)));
     }
 
-    @ResponseStatus(OK)
+    /**
+     * A page carries an ETag over its books' versions, so an unchanged page revalidates with 304
+     * and no body (the page itself is still read).
+     */
     @GetMapping
-    public List<BookResponseDTO> getBooks() {
-        return getBooks.execute().stream().map(bookMapper::toDTO).toList();
+    public ResponseEntity<BookPageResponseDTO> getBooks(@RequestParam(value = "cursor", required = false) String cursor,
+                                                        @RequestParam(value = "size", required = false) Integer size) {
+        BookPage page = getBooks.execute(cursor, size);
+        return ResponseEntity.ok()
+                .eTag(BookETag.of(page))
+                .cacheControl(BookETag.REVALIDATE)
+                .varyBy(BookETag.VARY)
+                .body(new BookPageResponseDTO(page.books().stream().map(bookMapper::toDTO).toList(), page.nextCursor()));
     }
 
-    @ResponseStatus(OK)
+    /**
+     * Clients that accept gzip get the pre-compressed {@link ExportSnapshot}, revalidated by ETag.
+     * Everyone else gets the table streamed as it is read.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBooks(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) throws IOException {
+        Optional<ExportSnapshot> snapshot = acceptsGzip(acceptEncoding) ? getExportSnapshot.execute() : Optional.empty();
+        if (snapshot.isPresent()) {
+            return snapshot(snapshot.get(), webRequest);
+        }
+        StreamingResponseBody body = outputStream -> {
+            try (BookJsonWriter writer = BookJsonWriter.open(outputStream)) {
+                exportBooks.execute(book -> {
+                    try {
+                        writer.writeLine(bookMapper.toDTO(book));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).varyBy(HttpHeaders.ACCEPT_ENCODING).body(body);
+    }
+
+    /**
+     * Conditional on {@code If-None-Match} or {@code If-Modified-Since}: a matching revalidation is
+     * answered with 304 from the version lookup alone, before the book is read or serialized.
+     */
     @GetMapping("/{id}")
-    public BookResponseDTO getBook(@PathVariable("id") String id) {
-        return bookMapper.toDTO(getBook.execute(id));
+    public ResponseEntity<BookResponseDTO> getBook(@PathVariable("id") String id,
+                                                   @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                   WebRequest request) {
+        Optional<BookVersion> current = getBookVersion.execute(id);
+        if (current.isPresent() && request.checkNotModified(BookETag.of(current.get(), accept), lastModified(current.get()))) {
+            // ETag and Last-Modified are already on the response
+            return ResponseEntity.status(NOT_MODIFIED).cacheControl(BookETag.REVALIDATE).varyBy(BookETag.VARY).build();
+        }
+        return withETag(getBook.execute(id), accept);
     }
 
-    @ResponseStatus(OK)
+    /**
+     * Lookup by ISBN-13 or ISBN-10, with or without hyphens; answered from the in-memory ISBN index.
+     */
+    @GetMapping("/isbn/{isbn}")
+    public ResponseEntity<BookResponseDTO> getBookByIsbn(@PathVariable("isbn") String isbn,
+                                                         @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return withETag(getBookByIsbn.execute(isbn), accept);
+    }
+
+    /**
+     * Partial update. Sending back the ETag from a previous read as {@code If-Match} makes the
+     * update conditional: 412 if the book changed in the meantime.
+     */
     @PutMapping("/{id}")
-    public BookResponseDTO updateBook(@PathVariable("id") String id, @RequestBody final BookPutRequestDTO dto) {
-        return bookMapper.toDTO(updateBook.execute(id, dto));
+    public ResponseEntity<BookResponseDTO> updateBook(@PathVariable("id") String id,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                      @RequestBody final BookPutRequestDTO dto) {
+        return withETag(updateBook.execute(id, dto, BookETag.expectedVersion(ifMatch)), accept);
     }
 
     @ResponseStatus(OK)
@@ -55,4 +137,81 @@ public class LibraryController {
     public void deleteBook(@PathVariable("id") String id) {
         deleteBook.execute(id);
     }
+
+    private ResponseEntity<BookResponseDTO> withETag(final Book book, final String accept) {
+        return BookETag.ok(book, accept).body(bookMapper.toDTO(book));
+    }
+
+    private static long lastModified(final BookVersion version) {
+        return version.updatedAt() == null ? -1 : version.updatedAt().toEpochMilli();
+    }
+
+    /**
+     * Whether {@code Accept-Encoding} allows gzip with a non-zero q. An entry naming gzip wins over
+     * {@code *} wherever it appears, so {@code *;q=0, gzip} accepts it and {@code gzip;q=0, *} does not.
+     */
+    private static boolean acceptsGzip(final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim();
+            if (name.equalsIgnoreCase("gzip")) {
+                gzip = quality(parameters);
+            } else if (name.equals("*")) {
+                any = quality(parameters);
+            }
+        }
+        double q = gzip != null ? gzip : any != null ? any : 0;
+        return q > 0;
+    }
+
+    /**
+     * The q of one {@code Accept-Encoding} entry: 1 when absent, 0 when it does not parse.
+     */
+    private static double quality(final String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * The snapshot as the body, copied from the channel it was handed over with rather than reopened
+     * by name, since a refresh may have replaced the file in the meantime. The channel is closed once
+     * the body is written.
+     */
+    private static ResponseEntity<StreamingResponseBody> snapshot(final ExportSnapshot snapshot,
+                                                                  final WebRequest request) throws IOException {
+        if (request.checkNotModified(BookETag.of(snapshot))) {
+            snapshot.close();
+            return ResponseEntity.status(NOT_MODIFIED).cacheControl(BookETag.REVALIDATE)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING).build();
+        }
+        StreamingResponseBody body = outputStream -> {
+            try (snapshot) {
+                WritableByteChannel out = Channels.newChannel(outputStream);
+                for (long position = 0; position < snapshot.length(); ) {
+                    position += snapshot.content().transferTo(position, snapshot.length() - position, out);
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .contentLength(snapshot.length())
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .cacheControl(BookETag.REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .body(body);
+    }
 }
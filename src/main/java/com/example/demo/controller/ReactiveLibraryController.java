@@ -0,0 +1,89 @@
+package com.example.demo.controller;
+
+import com.example.demo.controller.dtos.BookPageResponseDTO;
+import com.example.demo.controller.dtos.BookPostRequestDTO;
+import com.example.demo.controller.dtos.BookPutRequestDTO;
+import com.example.demo.controller.dtos.BookResponseDTO;
+import com.example.demo.controller.mapper.BookMapper;
+import com.example.demo.domain.Book;
+import com.example.demo.usecases.reactive.*;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.OK;
+
+/**
+ * WebFlux counterpart of {@link LibraryController}, active under the "reactive" profile.
+ * Same paths, payloads and status codes.
+ */
+@Profile("reactive")
+@RequiredArgsConstructor
+@RequestMapping("/api/books")
+@RestController
+public class ReactiveLibraryController {
+
+    private final ReactiveCreateBook createBook;
+    private final ReactiveGetBooks getBooks;
+    private final ReactiveGetBook getBook;
+    private final ReactiveUpdateBook updateBook;
+    private final ReactiveDeleteBook deleteBook;
+    private final ReactiveExportBooks exportBooks;
+    private final BookMapper bookMapper;
+
+    @ResponseStatus(CREATED)
+    @PostMapping
+    public Mono<BookResponseDTO> createBook(@RequestBody @Valid final BookPostRequestDTO bookPostRequestDTO) {
+        return createBook.execute(bookMapper.toDomain(bookPostRequestDTO)).map(bookMapper::toDTO);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<BookPageResponseDTO>> getBooks(@RequestParam(value = "cursor", required = false) String cursor,
+                                                              @RequestParam(value = "size", required = false) Integer size) {
+        return getBooks.execute(cursor, size)
+                .map(page -> ResponseEntity.ok()
+                        .eTag(BookETag.of(page))
+                        .cacheControl(BookETag.REVALIDATE)
+                        .varyBy(BookETag.VARY)
+                        .body(new BookPageResponseDTO(page.books().stream().map(bookMapper::toDTO).toList(), page.nextCursor())));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BookResponseDTO> exportBooks() {
+        return exportBooks.execute().map(bookMapper::toDTO);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<BookResponseDTO>> getBook(@PathVariable("id") String id,
+                                                         @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return getBook.execute(id).map(book -> withETag(book, accept));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<BookResponseDTO>> updateBook(@PathVariable("id") String id,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                            @RequestBody final BookPutRequestDTO dto) {
+        // deferred so a malformed If-Match becomes an error signal
+        return Mono.defer(() -> updateBook.execute(id, dto, BookETag.expectedVersion(ifMatch)))
+                .map(book -> withETag(book, accept));
+    }
+
+    @ResponseStatus(OK)
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteBook(@PathVariable("id") String id) {
+        return deleteBook.execute(id);
+    }
+
+    // WebFlux answers a matching If-None-Match / If-Modified-Since with 304 from these headers, without encoding the body
+    private ResponseEntity<BookResponseDTO> withETag(final Book book, final String accept) {
+        return BookETag.ok(book, accept).body(bookMapper.toDTO(book));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.controller;
+
+import com.example.demo.controller.dtos.StockRequestDTO;
+import com.example.demo.usecases.ReleaseStock;
+import com.example.demo.usecases.ReserveStock;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.*;
+
+import static org.springframework.http.HttpStatus.NO_CONTENT;
+
+/**
+ * Atomic stock changes for a single book: 204 when applied, 409 when a reservation exceeds the
+ * remaining stock or a release would take it past {@link Integer#MAX_VALUE}, 404 for an unknown book.
+ */
+@Profile("!reactive")
+@RequiredArgsConstructor
+@RequestMapping("/api/books/{id}/stock")
+@RestController
+public class StockController {
+
+    private final ReserveStock reserveStock;
+    private final ReleaseStock releaseStock;
+
+    @ResponseStatus(NO_CONTENT)
+    @PostMapping("/reserve")
+    public void reserve(@PathVariable("id") String id, @RequestBody @Valid final StockRequestDTO dto) {
+        reserveStock.execute(id, dto.quantity());
+    }
+
+    @ResponseStatus(NO_CONTENT)
+    @PostMapping("/release")
+    public void release(@PathVariable("id") String id, @RequestBody @Valid final StockRequestDTO dto) {
+        releaseStock.execute(id, dto.quantity());
+    }
+}
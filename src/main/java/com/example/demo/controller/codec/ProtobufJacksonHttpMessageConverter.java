@@ -0,0 +1,80 @@
+package com.example.demo.controller.codec;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Protobuf through Jackson: the message schema of each DTO is generated from the record on first
+ * use and cached, so there are no .proto files or generated classes to keep in sync. Protobuf has
+ * no top-level arrays or maps, so only records are converted; book lists go out as pages.
+ */
+public class ProtobufJacksonHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private final Map<JavaType, ProtobufSchema> schemas = new ConcurrentHashMap<>();
+
+    public ProtobufJacksonHttpMessageConverter() {
+        super(new ProtobufMapper(), APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    public boolean canRead(final Type type, @Nullable final Class<?> contextClass, @Nullable final MediaType mediaType) {
+        return isMessage(getJavaType(type, contextClass)) && super.canRead(type, contextClass, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(final Class<?> clazz, @Nullable final MediaType mediaType) {
+        return isMessage(getObjectMapper().constructType(clazz)) && super.canWrite(clazz, mediaType);
+    }
+
+    /**
+     * The schema a reader or writer for {@code type} uses, generated once per type.
+     */
+    public ProtobufSchema schema(final JavaType type) {
+        return schemas.computeIfAbsent(type, key -> {
+            try {
+                return ((ProtobufMapper) getObjectMapper()).generateSchemaFor(key);
+            } catch (JsonMappingException e) {
+                throw new IllegalStateException("no protobuf schema for " + key, e);
+            }
+        });
+    }
+
+    /**
+     * Always hands the record class down as the type, so {@link #customizeWriter} has a schema to pick.
+     */
+    @Override
+    protected void writeInternal(final Object object, @Nullable final Type type, final HttpOutputMessage outputMessage)
+            throws IOException {
+        super.writeInternal(object, object.getClass(), outputMessage);
+    }
+
+    @Override
+    protected ObjectWriter customizeWriter(final ObjectWriter writer, @Nullable final JavaType javaType, @Nullable final MediaType contentType) {
+        return writer.with(schema(javaType));
+    }
+
+    @Override
+    protected ObjectReader customizeReader(final ObjectReader reader, final JavaType javaType) {
+        return reader.with(schema(javaType));
+    }
+
+    // every request and response body of the API is a record; lists, maps and plain values are not messages
+    private static boolean isMessage(final JavaType type) {
+        return type.getRawClass().isRecord();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.demo.controller.codec;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Binary alternatives to JSON for service-to-service calls, picked by {@code Accept} and
+ * {@code Content-Type}: CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile})
+ * come with Spring MVC's default converters once their Jackson modules are on the classpath, and
+ * Protobuf ({@code application/x-protobuf}) is added here. It goes last, so a client that accepts
+ * anything still gets JSON.
+ */
+@Profile("!reactive")
+@Configuration(proxyBeanMethods = false)
+public class WireFormatConfiguration implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(final List<HttpMessageConverter<?>> converters) {
+        converters.add(new ProtobufJacksonHttpMessageConverter());
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.demo.controller.dtos;
+
+public record BatchItemResponseDTO(
+        int index,
+        String id,
+        String status,
+        String message
+) {
+}
@@ -0,0 +1,7 @@
+package com.example.demo.controller.dtos;
+
+public record BookBatchPutRequestDTO(
+        String id,
+        BookPutRequestDTO book
+) {
+}
@@ -0,0 +1,9 @@
+package com.example.demo.controller.dtos;
+
+public record BookChangeResponseDTO(
+        long seq,
+        String id,
+        boolean deleted,
+        BookResponseDTO book
+) {
+}
@@ -0,0 +1,9 @@
+package com.example.demo.controller.dtos;
+
+import java.util.List;
+
+public record BookChangesResponseDTO(
+        List<BookChangeResponseDTO> changes,
+        long next
+) {
+}
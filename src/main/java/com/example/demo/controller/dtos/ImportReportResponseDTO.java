@@ -0,0 +1,14 @@
+package com.example.demo.controller.dtos;
+
+import java.util.List;
+
+public record ImportReportResponseDTO(
+        long rows,
+        long created,
+        long failed,
+        long elapsedMillis,
+        double rowsPerSecond,
+        List<ImportRowErrorDTO> errors,
+        boolean errorsTruncated
+) {
+}
@@ -0,0 +1,8 @@
+package com.example.demo.controller.dtos;
+
+public record ImportRowErrorDTO(
+        long row,
+        String status,
+        String message
+) {
+}
@@ -0,0 +1,11 @@
+package com.example.demo.controller.dtos;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record StockRequestDTO(
+        @NotNull(message = "Quantity is required")
+        @Positive(message = "Quantity must be positive")
+        Integer quantity
+) {
+}
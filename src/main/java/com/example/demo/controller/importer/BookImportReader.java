@@ -0,0 +1,134 @@
+package com.example.demo.controller.importer;
+
+import com.example.demo.controller.dtos.BookPostRequestDTO;
+import com.example.demo.usecases.ImportBooks.Row;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Turns an upload into a lazy sequence of rows. Nothing is read ahead of the row being consumed,
+ * so the whole file is never held in memory.
+ */
+@Component
+public class BookImportReader {
+
+    private static final String MALFORMED_ROW = "malformed row";
+
+    private final ObjectReader ndjsonReader;
+    private final ObjectReader csvReader;
+
+    public BookImportReader(final ObjectMapper objectMapper) {
+        this.ndjsonReader = objectMapper.readerFor(BookPostRequestDTO.class);
+        this.csvReader = CsvMapper.builder()
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .build()
+                .readerFor(BookPostRequestDTO.class)
+                .with(CsvSchema.emptySchema().withHeader());
+    }
+
+    /**
+     * Reads CSV with a header line naming the {@link BookPostRequestDTO} fields. Rows are numbered from 1,
+     * not counting the header. A row the parser rejects is reported as malformed and reading goes on with
+     * the next line; when the parser ran on past the row's line (an unclosed quote) the rows after it are
+     * lost, so the whole import fails with {@link IllegalArgumentException} instead.
+     */
+    public Iterator<Row> csv(final InputStream input) throws IOException {
+        MappingIterator<BookPostRequestDTO> values = csvReader.readValues(input);
+        return new RowIterator() {
+            private long number;
+
+            @Override
+            protected Row read() throws IOException {
+                long row = number + 1;
+                int line = values.getParser().currentLocation().getLineNr();
+                try {
+                    if (!values.hasNextValue()) {
+                        return null;
+                    }
+                    number = row;
+                    return new Row(row, values.nextValue(), null);
+                } catch (RuntimeJsonMappingException | JsonProcessingException e) {
+                    number = row;
+                    if (e instanceof JsonParseException && values.getParser().currentLocation().getLineNr() > line) {
+                        throw new IllegalArgumentException("row " + row + " is malformed and the rest of the upload cannot be read", e);
+                    }
+                    return new Row(row, null, MALFORMED_ROW);
+                }
+            }
+        };
+    }
+
+    /**
+     * Reads one JSON object per line. Rows are numbered by line, blank lines are skipped.
+     */
+    public Iterator<Row> ndjson(final InputStream input) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        return new RowIterator() {
+            private long number;
+
+            @Override
+            protected Row read() throws IOException {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    number++;
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        return new Row(number, ndjsonReader.readValue(line), null);
+                    } catch (JsonProcessingException e) {
+                        return new Row(number, null, MALFORMED_ROW);
+                    }
+                }
+                return null;
+            }
+        };
+    }
+
+    private abstract static class RowIterator implements Iterator<Row> {
+        private Row next;
+        private boolean finished;
+
+        protected abstract Row read() throws IOException;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !finished) {
+                try {
+                    next = read();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                finished |= next == null;
+            }
+            return next != null;
+        }
+
+        @Override
+        public Row next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Row row = next;
+            next = null;
+            return row;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.demo.controller.json;
+
+import com.example.demo.controller.dtos.BookPageResponseDTO;
+import com.example.demo.controller.dtos.BookResponseDTO;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Writes book pages and book lists with {@link BookJsonWriter}. Registered ahead of the Jackson
+ * converter (Spring Boot puts converter beans first), it takes over only those two response types;
+ * everything else, and all request bodies, still go through Jackson.
+ */
+@Profile("!reactive")
+@Component
+public class BookJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public BookJsonHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(final Class<?> clazz) {
+        return clazz == BookPageResponseDTO.class;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable final Type type, final Class<?> clazz, @Nullable final MediaType mediaType) {
+        return (supports(clazz) || isBookList(type)) && canWrite(mediaType);
+    }
+
+    @Override
+    public boolean canRead(final Type type, @Nullable final Class<?> contextClass, @Nullable final MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(@Nullable final MediaType mediaType) {
+        return false;
+    }
+
+    /**
+     * The response stream is opened on the first flush, so a body that fits the writer's buffer
+     * still goes out with a Content-Length. Without one, server.compression gzips every response
+     * regardless of its minimum size.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(final Object value, @Nullable final Type type, final HttpOutputMessage outputMessage)
+            throws IOException {
+        try (BookJsonWriter writer = BookJsonWriter.open(new DeferredBody(outputMessage))) {
+            if (value instanceof BookPageResponseDTO page) {
+                writer.writePage(page);
+            } else {
+                writer.writeBooks((List<BookResponseDTO>) value);
+            }
+            int length = writer.bufferedLength();
+            if (length >= 0) {
+                outputMessage.getHeaders().setContentLength(length);
+            }
+        }
+    }
+
+    @Override
+    public Object read(final Type type, @Nullable final Class<?> contextClass, final HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("write-only converter", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(final Class<?> clazz, final HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("write-only converter", inputMessage);
+    }
+
+    /**
+     * Asks for the body, which commits the headers, only when there is something to write.
+     */
+    private static final class DeferredBody extends OutputStream {
+
+        private final HttpOutputMessage outputMessage;
+        private OutputStream body;
+
+        DeferredBody(final HttpOutputMessage outputMessage) {
+            this.outputMessage = outputMessage;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            body().write(b);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            body().write(bytes, offset, length);
+        }
+
+        private OutputStream body() throws IOException {
+            if (body == null) {
+                body = outputMessage.getBody();
+            }
+            return body;
+        }
+    }
+
+    private static boolean isBookList(@Nullable final Type type) {
+        if (type == null) {
+            return false;
+        }
+        ResolvableType resolved = ResolvableType.forType(type);
+        return List.class.isAssignableFrom(resolved.toClass()) && resolved.getGeneric(0).toClass() == BookResponseDTO.class;
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.demo.controller.json;
+
+import com.example.demo.controller.dtos.BookPageResponseDTO;
+import com.example.demo.controller.dtos.BookResponseDTO;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Writes {@link BookResponseDTO}s as JSON byte for byte like the MVC ObjectMapper does (record
+ * component order, nulls included, the same escaping), without Jackson's per-call serializer lookup
+ * and generator setup. Field names are pre-encoded, strings and numbers are encoded straight into a
+ * pooled buffer that is flushed to the stream whenever it fills up. Not thread-safe: one writer per
+ * response, closed when done.
+ */
+public final class BookJsonWriter implements Closeable {
+
+    static final int BUFFER_SIZE = 8 * 1024;
+
+    // idle buffers kept for reuse; a miss just allocates, so the bound only caps retained memory
+    private static final ArrayBlockingQueue<byte[]> BUFFERS = new ArrayBlockingQueue<>(64);
+
+    private static final byte[] ID = ascii("{\"id\":");
+    private static final byte[] ISBN = ascii(",\"isbn\":");
+    private static final byte[] TITLE = ascii(",\"title\":");
+    private static final byte[] AUTHOR = ascii(",\"author\":");
+    private static final byte[] STOCK = ascii(",\"stock\":");
+    private static final byte[] PRICE_IN_CENTS = ascii(",\"priceInCents\":");
+    private static final byte[] ITEMS = ascii("{\"items\":");
+    private static final byte[] NEXT = ascii(",\"next\":");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] MIN_LONG = ascii(Long.toString(Long.MIN_VALUE));
+    private static final byte[] HEX = ascii("0123456789ABCDEF");
+
+    // per ASCII character: 0 written as is, -1 as a unicode escape, anything else as a backslash and that character
+    private static final byte[] ESCAPES = new byte[128];
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            ESCAPES[c] = -1;
+        }
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\t'] = 't';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\r'] = 'r';
+    }
+
+    private final OutputStream out;
+    private byte[] buffer;
+    private int position;
+    private boolean flushed;
+
+    private BookJsonWriter(final OutputStream out, final byte[] buffer) {
+        this.out = out;
+        this.buffer = buffer;
+    }
+
+    public static BookJsonWriter open(final OutputStream out) {
+        byte[] buffer = BUFFERS.poll();
+        return new BookJsonWriter(out, buffer == null ? new byte[BUFFER_SIZE] : buffer);
+    }
+
+    public void writePage(final BookPageResponseDTO page) throws IOException {
+        write(ITEMS);
+        writeBooks(page.items());
+        write(NEXT);
+        writeString(page.next());
+        writeByte('}');
+    }
+
+    public void writeBooks(final List<BookResponseDTO> books) throws IOException {
+        if (books == null) {
+            write(NULL);
+            return;
+        }
+        writeByte('[');
+        for (int i = 0; i < books.size(); i++) {
+            if (i > 0) {
+                writeByte(',');
+            }
+            writeBook(books.get(i));
+        }
+        writeByte(']');
+    }
+
+    public void writeBook(final BookResponseDTO book) throws IOException {
+        if (book == null) {
+            write(NULL);
+            return;
+        }
+        write(ID);
+        writeString(book.id());
+        write(ISBN);
+        writeString(book.isbn());
+        write(TITLE);
+        writeString(book.title());
+        write(AUTHOR);
+        writeString(book.author());
+        write(STOCK);
+        writeNumber(book.stock());
+        write(PRICE_IN_CENTS);
+        writeNumber(book.priceInCents());
+        writeByte('}');
+    }
+
+    /**
+     * One NDJSON line: the book followed by a newline.
+     */
+    public void writeLine(final BookResponseDTO book) throws IOException {
+        writeBook(book);
+        writeByte('\n');
+    }
+
+    public void flush() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+            flushed = true;
+        }
+    }
+
+    /**
+     * Length of everything written so far while it all still sits in the buffer, -1 once part of
+     * it has gone to the stream.
+     */
+    public int bufferedLength() {
+        return flushed ? -1 : position;
+    }
+
+    /**
+     * Flushes what is buffered and gives the buffer back to the pool. Does not close the stream,
+     * which belongs to the caller.
+     */
+    @Override
+    public void close() throws IOException {
+        if (buffer == null) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            BUFFERS.offer(buffer);
+            buffer = null;
+        }
+    }
+
+    private void writeString(final String value) throws IOException {
+        if (value == null) {
+            write(NULL);
+            return;
+        }
+        writeByte('"');
+        int length = value.length();
+        int i = 0;
+        while (i < length) {
+            // worst case per char is a 6-byte unicode escape, so this many chars fit without further checks
+            if (position + 6 > buffer.length) {
+                flush();
+            }
+            int end = Math.min(length, i + (buffer.length - position) / 6);
+            for (; i < end; i++) {
+                char c = value.charAt(i);
+                if (c < 0x80 && ESCAPES[c] == 0) {
+                    buffer[position++] = (byte) c;
+                } else {
+                    writeEncoded(c);
+                }
+            }
+        }
+        writeByte('"');
+    }
+
+    // escapes and multi-byte UTF-8, the caller has made room for 6 bytes
+    private void writeEncoded(final char c) {
+        if (c < 0x80) {
+            byte escape = ESCAPES[c];
+            buffer[position++] = '\\';
+            if (escape > 0) {
+                buffer[position++] = escape;
+            } else {
+                buffer[position++] = 'u';
+                buffer[position++] = '0';
+                buffer[position++] = '0';
+                buffer[position++] = HEX[c >> 4];
+                buffer[position++] = HEX[c & 0xF];
+            }
+        } else if (c < 0x800) {
+            buffer[position++] = (byte) (0xC0 | c >> 6);
+            buffer[position++] = (byte) (0x80 | c & 0x3F);
+        } else if (!Character.isSurrogate(c)) {
+            buffer[position++] = (byte) (0xE0 | c >> 12);
+            buffer[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+            buffer[position++] = (byte) (0x80 | c & 0x3F);
+        } else {
+            // like Jackson, characters outside the BMP go out as escaped surrogates, not as 4-byte UTF-8
+            buffer[position++] = '\\';
+            buffer[position++] = 'u';
+            buffer[position++] = HEX[c >> 12];
+            buffer[position++] = HEX[c >> 8 & 0xF];
+            buffer[position++] = HEX[c >> 4 & 0xF];
+            buffer[position++] = HEX[c & 0xF];
+        }
+    }
+
+    private void writeNumber(final Number boxed) throws IOException {
+        if (boxed == null) {
+            write(NULL);
+            return;
+        }
+        long value = boxed.longValue();
+        if (value == Long.MIN_VALUE) {
+            write(MIN_LONG);
+            return;
+        }
+        if (position + 20 > buffer.length) {
+            flush();
+        }
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += digits;
+    }
+
+    private void write(final byte[] bytes) throws IOException {
+        if (position + bytes.length > buffer.length) {
+            flush();
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void writeByte(final char c) throws IOException {
+        if (position == buffer.length) {
+            flush();
+        }
+        buffer[position++] = (byte) c;
+    }
+
+    private static byte[] ascii(final String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
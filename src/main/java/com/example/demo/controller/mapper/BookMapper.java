@@ -1,13 +1,20 @@
 package com.example.demo.controller.mapper;
 
+import com.example.demo.controller.dtos.BatchItemResponseDTO;
 import com.example.demo.controller.dtos.BookPostRequestDTO;
 import com.example.demo.controller.dtos.BookPutRequestDTO;
 import com.example.demo.controller.dtos.BookResponseDTO;
+import com.example.demo.controller.dtos.ImportReportResponseDTO;
+import com.example.demo.domain.BatchItemResult;
 import com.example.demo.domain.Book;
+import com.example.demo.domain.ImportReport;
 import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.MappingTarget;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import static org.mapstruct.NullValuePropertyMappingStrategy.IGNORE;
 
 @Mapper(componentModel = "spring")
@@ -17,7 +24,34 @@ public interface BookMapper {
 
     BookResponseDTO toDTO(Book book);
 
+    BatchItemResponseDTO toDTO(BatchItemResult batchItemResult);
+
+    ImportReportResponseDTO toDTO(ImportReport importReport);
+
     @BeanMapping(nullValuePropertyMappingStrategy = IGNORE)
     void updateUserFromDTO(BookPutRequestDTO bookPutRequestDTO, @MappingTarget Book book);
 
+    /**
+     * The non-null fields of a partial update, keyed by attribute name, for single-statement updates.
+     */
+    default Map<String, Object> toChanges(BookPutRequestDTO dto) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        if (dto.title() != null) {
+            changes.put("title", dto.title());
+        }
+        if (dto.author() != null) {
+            changes.put("author", dto.author());
+        }
+        if (dto.isbn() != null) {
+            changes.put("isbn", dto.isbn());
+        }
+        if (dto.stock() != null) {
+            changes.put("stock", dto.stock());
+        }
+        if (dto.priceInCents() != null) {
+            changes.put("priceInCents", dto.priceInCents());
+        }
+        return changes;
+    }
+
 }
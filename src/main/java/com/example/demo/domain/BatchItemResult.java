@@ -0,0 +1,17 @@
+package com.example.demo.domain;
+
+/**
+ * Outcome of a single item of a batch request, reported at the item's position in the request.
+ */
+public record BatchItemResult(int index, String id, BatchItemStatus status, String message) {
+
+    public static final int MAX_BATCH_SIZE = 10_000;
+
+    public static BatchItemResult success(int index, String id, BatchItemStatus status) {
+        return new BatchItemResult(index, id, status, null);
+    }
+
+    public static BatchItemResult failure(int index, String id, BatchItemStatus status, String message) {
+        return new BatchItemResult(index, id, status, message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.demo.domain;
+
+public enum BatchItemStatus {
+    CREATED,
+    UPDATED,
+    DELETED,
+    INVALID,
+    NOT_FOUND,
+    CONFLICT
+}
@@ -5,6 +5,8 @@ package com.example.demo.domain;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.Instant;
+
 
 @Setter
 @Getter
@@ -15,5 +17,7 @@ public class Book {
     private String author;
     private int stock;
     private long priceInCents;
+    private Long version;
+    private Instant updatedAt;
 
 }
@@ -0,0 +1,12 @@
+package com.example.demo.domain;
+
+/**
+ * An entry of the change feed: the book with this id changed at {@code seq}. {@code book} is its
+ * current state, or null when it has been deleted (a tombstone).
+ */
+public record BookChange(long seq, String id, Book book) {
+
+    public boolean deleted() {
+        return book == null;
+    }
+}
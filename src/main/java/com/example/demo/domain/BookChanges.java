@@ -0,0 +1,9 @@
+package com.example.demo.domain;
+
+import java.util.List;
+
+/**
+ * A page of the change feed; {@code next} is the sequence number to ask for changes after.
+ */
+public record BookChanges(List<BookChange> changes, long next) {
+}
@@ -0,0 +1,24 @@
+package com.example.demo.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor: the id of the last book of a page, base64url encoded.
+ */
+public final class BookCursor {
+
+    private BookCursor() {
+    }
+
+    public static String encode(final String lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(lastId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decode(final String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.demo.domain;
+
+import java.util.List;
+
+public record BookPage(List<Book> books, String nextCursor) {
+}
@@ -0,0 +1,19 @@
+package com.example.demo.domain;
+
+/**
+ * Filters for book search. Null fields do not filter; title and author match case-insensitively.
+ */
+public record BookSearchCriteria(
+        String title,
+        String author,
+        Match match,
+        Long minPriceInCents,
+        Long maxPriceInCents,
+        boolean inStockOnly
+) {
+
+    public enum Match {
+        PREFIX,
+        CONTAINS
+    }
+}
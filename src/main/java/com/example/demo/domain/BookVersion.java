@@ -0,0 +1,9 @@
+package com.example.demo.domain;
+
+import java.time.Instant;
+
+/**
+ * What a conditional GET compares against: the book's version (its ETag) and last modification.
+ */
+public record BookVersion(long version, Instant updatedAt) {
+}
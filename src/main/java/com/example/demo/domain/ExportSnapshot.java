@@ -0,0 +1,19 @@
+package com.example.demo.domain;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+/**
+ * A gzip-compressed NDJSON export of the whole catalog: a channel opened on the file, its size in
+ * bytes and a version derived from its content (the same books give the same version). The open
+ * channel keeps reading the file after a newer snapshot has replaced it; whoever gets the snapshot
+ * closes it.
+ */
+public record ExportSnapshot(FileChannel content, long length, String version) implements Closeable {
+
+    @Override
+    public void close() throws IOException {
+        content.close();
+    }
+}
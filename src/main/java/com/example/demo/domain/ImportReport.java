@@ -0,0 +1,18 @@
+package com.example.demo.domain;
+
+import java.util.List;
+
+/**
+ * Summary of a catalog import. Only the first errors are kept, {@code errorsTruncated} tells
+ * whether more rows failed than are listed.
+ */
+public record ImportReport(
+        long rows,
+        long created,
+        long failed,
+        long elapsedMillis,
+        double rowsPerSecond,
+        List<ImportRowError> errors,
+        boolean errorsTruncated
+) {
+}
@@ -0,0 +1,4 @@
+package com.example.demo.domain;
+
+public record ImportRowError(long row, BatchItemStatus status, String message) {
+}
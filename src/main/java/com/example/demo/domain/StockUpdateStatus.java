@@ -0,0 +1,8 @@
+package com.example.demo.domain;
+
+public enum StockUpdateStatus {
+    APPLIED,
+    INSUFFICIENT_STOCK,
+    STOCK_LIMIT_EXCEEDED,
+    NOT_FOUND
+}
@@ -1,44 +1,101 @@
 package com.example.demo.gateways;
 
 import com.example.demo.controller.dtos.BookPutRequestDTO;
-import com.example.demo.controller.mapper.BookMapper;
 import com.example.demo.domain.Book;
-import com.example.demo.exceptions.BookNotFoundException;
-import com.example.demo.gateways.mapper.BookGatewayMapper;
-import com.example.demo.repository.BookRepository;
-import lombok.AllArgsConstructor;
-import org.springframework.stereotype.Service;
+import com.example.demo.domain.BookChanges;
+import com.example.demo.domain.BookSearchCriteria;
+import com.example.demo.domain.BookVersion;
+import com.example.demo.domain.ExportSnapshot;
+import com.example.demo.domain.StockUpdateStatus;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
-@Service
-@AllArgsConstructor
-public class BookGateway {
+/**
+ * Access to the catalog for the servlet use cases. Writable nodes use {@link JpaBookGateway};
+ * nodes running the {@code read-only} profile serve reads from a memory-mapped replica file
+ * ({@link com.example.demo.gateways.replica.ReplicaBookGateway}) and reject writes.
+ */
+public interface BookGateway {
 
-    private final BookRepository bookRepository;
-    private final BookGatewayMapper bookGatewayMapper;
-    private final BookMapper bookMapper;
+    Book createBook(Book book);
 
-    public Book createBook(Book book) {
-        return bookGatewayMapper.toBookDomain(bookRepository.save(bookGatewayMapper.toBookEntity(book)));
-    }
+    List<Book> createBooks(List<Book> books);
 
-    public List<Book> listAll() {
-        return bookRepository.findAll().stream().map(bookGatewayMapper::toBookDomain).toList();
-    }
+    /**
+     * Results are keyed by the ids as given; ids that are not UUIDs cannot exist and are left out.
+     */
+    Map<String, Book> updateBooks(Map<String, BookPutRequestDTO> changes);
 
-    public Book getBookById(final String id) {
-        return bookGatewayMapper.toBookDomain(bookRepository.findById(id).orElseThrow(() -> new BookNotFoundException("book not found!")));
-    }
+    Set<String> deleteBooksById(Collection<String> ids);
 
-    public void deleteBookById(final String id) {
-        bookRepository.deleteById(id);
-    }
+    /**
+     * Maps each of the given ISBNs that is already taken to the id of the book holding it.
+     */
+    Map<String, String> findIdsByIsbn(Collection<String> isbns);
 
-    public Book updateBook(final String id, BookPutRequestDTO bookPutRequestDTO) {
-        Book existingBook = getBookById(id);
-        bookMapper.updateUserFromDTO(bookPutRequestDTO, existingBook);
-        return bookGatewayMapper.toBookDomain(bookRepository.save(bookGatewayMapper.toBookEntity(existingBook)));
-    }
+    List<Book> listPage(String afterId, int limit);
 
+    List<Book> searchBooks(BookSearchCriteria criteria, String afterId, int limit);
+
+    /**
+     * Ranked full-text search over title and author.
+     */
+    List<Book> searchText(String query, int limit);
+
+    /**
+     * Reloads the full-text index and returns the number of books it holds.
+     */
+    int rebuildTextIndex();
+
+    /**
+     * Reloads the ISBN index and returns the number of entries it holds.
+     */
+    int rebuildIsbnIndex();
+
+    Optional<Book> findBookByIsbn(String isbn);
+
+    /**
+     * Hands every book to {@code consumer} in id order.
+     */
+    void exportAll(Consumer<Book> consumer);
+
+    /**
+     * The full export as a gzip file, empty when this node keeps none.
+     */
+    Optional<ExportSnapshot> exportSnapshot();
+
+    Book getBookById(String id);
+
+    /**
+     * Version and last modification of a book, for conditional GETs.
+     */
+    Optional<BookVersion> findVersion(String id);
+
+    void deleteBookById(String id);
+
+    /**
+     * Applies the non-null fields of the request. With {@code expectedVersion} set, a concurrent
+     * change fails with an {@link org.springframework.dao.OptimisticLockingFailureException}.
+     */
+    Book updateBook(String id, BookPutRequestDTO bookPutRequestDTO, Long expectedVersion);
+
+    StockUpdateStatus reserveStock(String id, int quantity);
+
+    StockUpdateStatus releaseStock(String id, int quantity);
+
+    /**
+     * Up to {@code limit} changes logged after sequence number {@code since}, each with the book's
+     * current state or as a tombstone.
+     */
+    BookChanges findChanges(long since, int limit);
+
+    /**
+     * The sequence number of the latest logged change, 0 before the first one.
+     */
+    long lastChange();
 }
@@ -0,0 +1,514 @@
+package com.example.demo.gateways;
+
+import com.example.demo.controller.dtos.BookPutRequestDTO;
+import com.example.demo.controller.mapper.BookMapper;
+import com.example.demo.domain.Book;
+import com.example.demo.domain.BookChange;
+import com.example.demo.domain.BookChanges;
+import com.example.demo.domain.BookSearchCriteria;
+import com.example.demo.domain.BookVersion;
+import com.example.demo.domain.ExportSnapshot;
+import com.example.demo.domain.StockUpdateStatus;
+import com.example.demo.exceptions.BookNotFoundException;
+import com.example.demo.gateways.cache.BookCache;
+import com.example.demo.gateways.cache.IsbnMissCache;
+import com.example.demo.gateways.changes.BookChangeLog;
+import com.example.demo.gateways.entity.BookChangeEntity;
+import com.example.demo.gateways.entity.BookEntity;
+import com.example.demo.gateways.entity.BookIds;
+import com.example.demo.gateways.index.BookTextIndex;
+import com.example.demo.gateways.index.IsbnIndex;
+import com.example.demo.gateways.mapper.BookGatewayMapper;
+import com.example.demo.gateways.snapshot.CatalogSnapshot;
+import com.example.demo.gateways.stock.StockCoalescer;
+import com.example.demo.repository.BookIsbnView;
+import com.example.demo.repository.BookRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * The {@link BookGateway} of writable nodes: Postgres through JPA, with {@link BookCache},
+ * {@link BookTextIndex}, {@link IsbnIndex} and {@link CatalogSnapshot} kept current on every write,
+ * and every write logged to {@link BookChangeLog} as its transaction commits.
+ */
+@Profile("!reactive & !read-only")
+@Service
+@AllArgsConstructor
+@Timed("library.gateway")
+public class JpaBookGateway implements BookGateway {
+
+    /**
+     * Number of exported rows after which the persistence context is cleared, so the
+     * first-level cache never holds more than this many entities during an export.
+     */
+    static final int EXPORT_CLEAR_INTERVAL = 500;
+
+    /**
+     * Rows written per flush in batch operations. Each flush goes out as JDBC batches of
+     * hibernate.jdbc.batch_size, and the context is cleared afterwards to bound memory.
+     */
+    static final int BATCH_CHUNK_SIZE = 500;
+
+    private final BookRepository bookRepository;
+    private final BookGatewayMapper bookGatewayMapper;
+    private final BookMapper bookMapper;
+    private final EntityManager entityManager;
+    private final BookCache bookCache;
+    private final IsbnMissCache isbnMissCache;
+    private final StockCoalescer stockCoalescer;
+    private final BookTextIndex bookTextIndex;
+    private final IsbnIndex isbnIndex;
+    private final CatalogSnapshot catalogSnapshot;
+    private final BookChangeLog bookChangeLog;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    @Transactional
+    public Book createBook(Book book) {
+        BookEntity entity = bookRepository.save(bookGatewayMapper.toBookEntity(book));
+        bookChangeLog.changed(List.of(entity.getId()));
+        Book created = bookGatewayMapper.toBookDomain(entity);
+        afterCommit(() -> {
+            bookCache.invalidate(created.getId());
+            bookTextIndex.put(created);
+            isbnIndex.put(created.getIsbn(), created.getId());
+            isbnMissCache.invalidate(created.getIsbn());
+        });
+        catalogSnapshot.markStale(created.getId());
+        return created;
+    }
+
+    @Override
+    @Transactional
+    public List<Book> createBooks(final List<Book> books) {
+        List<Book> created = new ArrayList<>(books.size());
+        for (List<Book> chunk : chunks(books)) {
+            List<BookEntity> entities = chunk.stream().map(bookGatewayMapper::toBookEntity).toList();
+            bookRepository.saveAll(entities).forEach(entity -> created.add(bookGatewayMapper.toBookDomain(entity)));
+            entityManager.flush();
+            bookChangeLog.changed(entities.stream().map(BookEntity::getId).toList());
+            entityManager.clear();
+        }
+        afterCommit(() -> created.forEach(book -> {
+            bookCache.invalidate(book.getId());
+            bookTextIndex.put(book);
+            isbnIndex.put(book.getIsbn(), book.getId());
+            isbnMissCache.invalidate(book.getIsbn());
+        }));
+        catalogSnapshot.markStale(created.stream().map(Book::getId).toList());
+        return created;
+    }
+
+    @Override
+    @Transactional
+    public Map<String, Book> updateBooks(final Map<String, BookPutRequestDTO> changes) {
+        Map<UUID, String> requested = parseIds(changes.keySet());
+        Map<String, Book> updated = new HashMap<>();
+        Map<String, String> previousIsbns = new HashMap<>();
+        for (List<UUID> chunk : chunks(List.copyOf(requested.keySet()))) {
+            List<UUID> found = new ArrayList<>(chunk.size());
+            for (BookEntity entity : bookRepository.findAllById(chunk)) {
+                found.add(entity.getId());
+                Book book = bookGatewayMapper.toBookDomain(entity);
+                bookMapper.updateUserFromDTO(changes.get(requested.get(entity.getId())), book);
+                if (!Objects.equals(book.getIsbn(), entity.getIsbn())) {
+                    previousIsbns.put(book.getId(), entity.getIsbn());
+                }
+                bookGatewayMapper.updateBookEntity(book, entity);
+                updated.put(requested.get(entity.getId()), book);
+            }
+            entityManager.flush();
+            bookChangeLog.changed(found);
+            entityManager.clear();
+        }
+        afterCommit(() -> updated.values().forEach(book -> {
+            bookCache.invalidate(book.getId());
+            bookTextIndex.put(book);
+            if (previousIsbns.containsKey(book.getId())) {
+                isbnIndex.remove(previousIsbns.get(book.getId()), book.getId());
+                isbnIndex.put(book.getIsbn(), book.getId());
+                isbnMissCache.invalidate(book.getIsbn());
+            }
+        }));
+        catalogSnapshot.markStale(updated.values().stream().map(Book::getId).toList());
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public Set<String> deleteBooksById(final Collection<String> ids) {
+        Map<UUID, String> requested = parseIds(ids);
+        Set<String> deleted = new HashSet<>();
+        for (List<UUID> chunk : chunks(List.copyOf(requested.keySet()))) {
+            List<BookIsbnView> existing = bookRepository.findByIdIn(chunk);
+            List<UUID> existingIds = existing.stream().map(BookIsbnView::getId).toList();
+            bookChangeLog.deleted(existingIds);
+            bookRepository.deleteAllByIdInBatch(existingIds);
+            existing.forEach(view -> deleted.add(requested.get(view.getId())));
+            afterCommit(() -> existing.forEach(view -> {
+                String id = view.getId().toString();
+                bookCache.invalidate(id);
+                bookTextIndex.remove(id);
+                isbnIndex.remove(view.getIsbn(), id);
+            }));
+            catalogSnapshot.markStale(existing.stream().map(view -> view.getId().toString()).toList());
+        }
+        return deleted;
+    }
+
+    @Override
+    public Map<String, String> findIdsByIsbn(final Collection<String> isbns) {
+        Map<String, String> owners = new HashMap<>();
+        for (List<String> chunk : chunks(List.copyOf(isbns))) {
+            bookRepository.findByIsbnIn(chunk).forEach(view -> owners.put(view.getIsbn(), view.getId().toString()));
+        }
+        return owners;
+    }
+
+    @Override
+    public List<Book> listPage(final String afterId, final int limit) {
+        List<BookEntity> entities = afterId == null
+                ? bookRepository.findAllByOrderByIdAsc(Limit.of(limit))
+                : bookRepository.findByIdGreaterThanOrderByIdAsc(cursorId(afterId), Limit.of(limit));
+        return entities.stream().map(bookGatewayMapper::toBookDomain).toList();
+    }
+
+    @Override
+    public List<Book> searchBooks(final BookSearchCriteria criteria, final String afterId, final int limit) {
+        UUID after = afterId == null ? null : cursorId(afterId);
+        return bookRepository.search(criteria, after, limit).stream().map(bookGatewayMapper::toBookDomain).toList();
+    }
+
+    /**
+     * Ranked full-text search over title and author, served by {@link BookTextIndex}. Only the hits
+     * are read from the database; ids the index still knows but the table no longer has are skipped.
+     */
+    @Override
+    public List<Book> searchText(final String query, final int limit) {
+        List<String> ids = bookTextIndex.search(query, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, BookEntity> entities = new HashMap<>();
+        bookRepository.findAllById(ids.stream().map(UUID::fromString).toList())
+                .forEach(entity -> entities.put(entity.getId(), entity));
+        return ids.stream()
+                .map(id -> entities.get(UUID.fromString(id)))
+                .filter(Objects::nonNull)
+                .map(bookGatewayMapper::toBookDomain)
+                .toList();
+    }
+
+    /**
+     * Reloads {@link BookTextIndex} from the table, streaming the rows the same way as an export.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public int rebuildTextIndex() {
+        bookTextIndex.rebuild(this::exportAll);
+        return bookTextIndex.size();
+    }
+
+    /**
+     * Reloads {@link IsbnIndex} from the id and isbn columns.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public int rebuildIsbnIndex() {
+        isbnIndex.rebuild(sink -> {
+            try (Stream<BookIsbnView> views = bookRepository.streamAllIsbns()) {
+                views.forEach(view -> sink.accept(view.getIsbn(), view.getId().toString()));
+            }
+        });
+        return isbnIndex.size();
+    }
+
+    /**
+     * Resolves the id through {@link IsbnIndex} and the book through {@link BookCache}, so a warm
+     * lookup never reaches the database. The index only knows this node's writes since it was last
+     * rebuilt, so it is a cache: on a miss, or an entry whose book has another ISBN by now, the book is
+     * looked up by its {@code isbn_key}, which every spelling of the ISBN shares, and the index filled
+     * from the result. Misses are remembered in {@link IsbnMissCache}.
+     */
+    @Override
+    public Optional<Book> findBookByIsbn(final String isbn) {
+        long key = IsbnIndex.encode(isbn);
+        if (key == IsbnIndex.NO_KEY) {
+            // no ISBN, so no key: only the same spelling can match
+            return bookRepository.findByIsbn(isbn).map(bookGatewayMapper::toBookDomain);
+        }
+        String id = isbnIndex.get(key);
+        if (id != null) {
+            Optional<Book> cached = bookCache.get(id, this::findBook)
+                    .filter(book -> IsbnIndex.encode(book.getIsbn()) == key);
+            if (cached.isPresent()) {
+                return cached.map(bookGatewayMapper::copy);
+            }
+        }
+        Optional<Book> book = isbnMissCache.get(key,
+                isbnKey -> bookRepository.findByIsbnKey(isbnKey).map(bookGatewayMapper::toBookDomain));
+        book.ifPresent(found -> isbnIndex.put(found.getIsbn(), found.getId()));
+        return book;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(final Consumer<Book> consumer) {
+        try (Stream<BookEntity> entities = bookRepository.streamAllByOrderByIdAsc()) {
+            Iterator<BookEntity> iterator = entities.iterator();
+            int rows = 0;
+            while (iterator.hasNext()) {
+                consumer.accept(bookGatewayMapper.toBookDomain(iterator.next()));
+                if (++rows % EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * The full export as a gzip file, with the changes made through this gateway applied; see
+     * {@link CatalogSnapshot}. Empty when snapshots are turned off.
+     */
+    @Override
+    public Optional<ExportSnapshot> exportSnapshot() {
+        return catalogSnapshot.current();
+    }
+
+    @Override
+    public Book getBookById(final String id) {
+        UUID uuid = BookIds.parse(id);
+        if (uuid == null) {
+            throw new BookNotFoundException("book not found!");
+        }
+        // cached instances are shared, callers get their own copy to mutate; keyed by the canonical form
+        return bookCache.get(uuid.toString(), this::findBook)
+                .map(bookGatewayMapper::copy)
+                .orElseThrow(() -> new BookNotFoundException("book not found!"));
+    }
+
+    /**
+     * Version and last modification of a book, for conditional GETs: taken from {@link BookCache}
+     * when it holds the book, otherwise read with a two-column query instead of the whole row.
+     */
+    @Override
+    public Optional<BookVersion> findVersion(final String id) {
+        UUID uuid = BookIds.parse(id);
+        if (uuid == null) {
+            return Optional.empty();
+        }
+        Optional<Book> cached = bookCache.getIfPresent(uuid.toString());
+        if (cached != null) {
+            return cached.map(book -> new BookVersion(book.getVersion(), book.getUpdatedAt()));
+        }
+        return bookRepository.findVersionById(uuid).map(view -> new BookVersion(view.getVersion(), view.getUpdatedAt()));
+    }
+
+    @Override
+    @Transactional
+    public void deleteBookById(final String id) {
+        UUID uuid = BookIds.parse(id);
+        if (uuid == null) {
+            return;
+        }
+        // the same select-then-delete deleteById does, keeping the isbn for the index
+        bookRepository.findById(uuid).ifPresent(entity -> {
+            bookChangeLog.deleted(List.of(uuid));
+            bookRepository.delete(entity);
+            afterCommit(() -> isbnIndex.remove(entity.getIsbn(), uuid.toString()));
+        });
+        afterCommit(() -> {
+            bookCache.invalidate(uuid.toString());
+            bookTextIndex.remove(uuid.toString());
+        });
+        catalogSnapshot.markStale(uuid.toString());
+    }
+
+    /**
+     * Applies the non-null fields of the request with a single UPDATE that bumps the version, then
+     * reads the row back for the response. With {@code expectedVersion} set, a concurrent change in
+     * between fails with {@link OptimisticLockingFailureException} instead of being overwritten.
+     */
+    @Override
+    public Book updateBook(final String id, final BookPutRequestDTO bookPutRequestDTO, final Long expectedVersion) {
+        Map<String, Object> changes = bookMapper.toChanges(bookPutRequestDTO);
+        if (changes.isEmpty()) {
+            Book current = findBook(id).orElseThrow(() -> new BookNotFoundException("book not found!"));
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                throw staleVersion(id);
+            }
+            return current;
+        }
+
+        UUID uuid = BookIds.parse(id);
+        if (uuid == null) {
+            throw new BookNotFoundException("book not found!");
+        }
+        String previousIsbn = changes.containsKey("isbn") ? bookRepository.findIsbnById(uuid).orElse(null) : null;
+        // the change is logged in the UPDATE's transaction; the row is read back once both committed
+        if (transactionTemplate.execute(status -> logged(uuid, bookRepository.updateFields(uuid, changes, expectedVersion))) == 0) {
+            // the UPDATE matched nothing: tell a missing book from a stale version
+            if (!bookRepository.existsById(uuid)) {
+                throw new BookNotFoundException("book not found!");
+            }
+            throw staleVersion(id);
+        }
+        bookCache.invalidate(uuid.toString());
+        Book updated = findBook(uuid.toString()).orElseThrow(() -> new BookNotFoundException("book not found!"));
+        bookTextIndex.put(updated);
+        catalogSnapshot.markStale(updated.getId());
+        if (previousIsbn != null) {
+            isbnIndex.remove(previousIsbn, updated.getId());
+            isbnIndex.put(updated.getIsbn(), updated.getId());
+            isbnMissCache.invalidate(updated.getIsbn());
+        }
+        return updated;
+    }
+
+    @Override
+    public StockUpdateStatus reserveStock(final String id, final int quantity) {
+        UUID uuid = BookIds.parse(id);
+        if (uuid == null) {
+            return StockUpdateStatus.NOT_FOUND;
+        }
+        StockUpdateStatus status = stockCoalescer.reserve(uuid, quantity);
+        bookCache.invalidate(uuid.toString());
+        if (status == StockUpdateStatus.APPLIED) {
+            catalogSnapshot.markStale(uuid.toString());
+        }
+        return status;
+    }
+
+    @Override
+    public StockUpdateStatus releaseStock(final String id, final int quantity) {
+        UUID uuid = BookIds.parse(id);
+        if (uuid == null) {
+            return StockUpdateStatus.NOT_FOUND;
+        }
+        StockUpdateStatus status = stockCoalescer.release(uuid, quantity);
+        bookCache.invalidate(uuid.toString());
+        if (status == StockUpdateStatus.APPLIED) {
+            catalogSnapshot.markStale(uuid.toString());
+        }
+        return status;
+    }
+
+    /**
+     * Collapses the rows read from {@link BookChangeLog} to the latest one per book and attaches the
+     * book as it is now, so a book changed several times within the page is sent once, and one that
+     * is gone by now is sent as a tombstone even if the delete itself comes in a later page.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BookChanges findChanges(final long since, final int limit) {
+        List<BookChangeEntity> rows = bookChangeLog.read(since, limit);
+        if (rows.isEmpty()) {
+            return new BookChanges(List.of(), since);
+        }
+        Map<UUID, Long> latest = new LinkedHashMap<>();
+        for (BookChangeEntity row : rows) {
+            // re-inserted, so the map stays ordered by each book's latest seq
+            latest.remove(row.getBookId());
+            latest.put(row.getBookId(), row.getSeq());
+        }
+        Map<UUID, Book> current = new HashMap<>();
+        for (List<UUID> chunk : chunks(List.copyOf(latest.keySet()))) {
+            bookRepository.findAllById(chunk).forEach(entity -> current.put(entity.getId(), bookGatewayMapper.toBookDomain(entity)));
+        }
+        List<BookChange> changes = new ArrayList<>(latest.size());
+        latest.forEach((id, seq) -> changes.add(new BookChange(seq, id.toString(), current.get(id))));
+        return new BookChanges(changes, rows.get(rows.size() - 1).getSeq());
+    }
+
+    @Override
+    public long lastChange() {
+        return bookChangeLog.last();
+    }
+
+    private int logged(final UUID id, final int updated) {
+        if (updated > 0) {
+            bookChangeLog.changed(List.of(id));
+        }
+        return updated;
+    }
+
+    /**
+     * Runs {@code action} once the surrounding transaction has committed, or right away outside one,
+     * the way {@link CatalogSnapshot#markStale} defers its bookkeeping. Caches and indexes updated
+     * earlier could be refilled from the old row by a concurrent read, or keep a rolled-back write.
+     */
+    private static void afterCommit(final Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private Optional<Book> findBook(final String id) {
+        UUID uuid = BookIds.parse(id);
+        return uuid == null ? Optional.empty() : bookRepository.findById(uuid).map(bookGatewayMapper::toBookDomain);
+    }
+
+    /** Cursors only ever carry ids this API handed out, so anything else is a malformed cursor. */
+    private static UUID cursorId(final String afterId) {
+        UUID uuid = BookIds.parse(afterId);
+        if (uuid == null) {
+            throw new IllegalArgumentException("invalid cursor");
+        }
+        return uuid;
+    }
+
+    private static Map<UUID, String> parseIds(final Collection<String> ids) {
+        Map<UUID, String> parsed = new LinkedHashMap<>();
+        for (String id : ids) {
+            UUID uuid = BookIds.parse(id);
+            if (uuid != null) {
+                parsed.put(uuid, id);
+            }
+        }
+        return parsed;
+    }
+
+    private static OptimisticLockingFailureException staleVersion(final String id) {
+        return new OptimisticLockingFailureException("book " + id + " was modified concurrently");
+    }
+
+    private static <T> List<List<T>> chunks(final List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += BATCH_CHUNK_SIZE) {
+            chunks.add(items.subList(from, Math.min(from + BATCH_CHUNK_SIZE, items.size())));
+        }
+        return chunks;
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.example.demo.gateways;
+
+import com.example.demo.controller.dtos.BookPutRequestDTO;
+import com.example.demo.controller.mapper.BookMapper;
+import com.example.demo.domain.Book;
+import com.example.demo.exceptions.BookNotFoundException;
+import com.example.demo.gateways.changes.ReactiveBookChangeLog;
+import com.example.demo.gateways.entity.BookIds;
+import com.example.demo.gateways.mapper.BookGatewayMapper;
+import com.example.demo.repository.ReactiveBookRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of {@link JpaBookGateway}, sharing its mappers and domain model.
+ * <p>
+ * Writes append to the change log in their transaction ({@link ReactiveBookChangeLog}), but nothing
+ * else the servlet nodes keep in memory hears of them: their book cache, ISBN index and miss cache
+ * and Hibernate's second-level cache serve the old rows until they expire or are rebuilt. Reactive
+ * nodes therefore must not share a database with servlet nodes that have those caches on.
+ */
+@Profile("reactive")
+@Service
+@RequiredArgsConstructor
+public class ReactiveBookGateway {
+
+    private final ReactiveBookRepository reactiveBookRepository;
+    private final BookGatewayMapper bookGatewayMapper;
+    private final BookMapper bookMapper;
+    private final ReactiveBookChangeLog reactiveBookChangeLog;
+    private final TransactionalOperator transactionalOperator;
+
+    public Mono<Book> createBook(final Book book) {
+        return reactiveBookRepository.insert(bookGatewayMapper.toBookEntity(book))
+                .flatMap(entity -> reactiveBookChangeLog.changed(entity.getId()).thenReturn(entity))
+                .as(transactionalOperator::transactional)
+                .map(bookGatewayMapper::toBookDomain);
+    }
+
+    public Mono<Book> getBookById(final String id) {
+        return Mono.justOrEmpty(BookIds.parse(id))
+                .flatMap(reactiveBookRepository::findById)
+                .map(bookGatewayMapper::toBookDomain)
+                .switchIfEmpty(Mono.error(() -> new BookNotFoundException("book not found!")));
+    }
+
+    public Flux<Book> listPage(final String afterId, final int limit) {
+        UUID after = afterId == null ? null : BookIds.parse(afterId);
+        if (afterId != null && after == null) {
+            return Flux.error(new IllegalArgumentException("invalid cursor"));
+        }
+        return reactiveBookRepository.findPage(after, limit).map(bookGatewayMapper::toBookDomain);
+    }
+
+    public Flux<Book> exportAll() {
+        return reactiveBookRepository.findAllOrderById().map(bookGatewayMapper::toBookDomain);
+    }
+
+    /**
+     * Same single-UPDATE partial update as {@link JpaBookGateway#updateBook}, including the version guard.
+     */
+    public Mono<Book> updateBook(final String id, final BookPutRequestDTO bookPutRequestDTO, final Long expectedVersion) {
+        Map<String, Object> changes = bookMapper.toChanges(bookPutRequestDTO);
+        if (changes.isEmpty()) {
+            return getBookById(id).flatMap(current -> expectedVersion != null && !expectedVersion.equals(current.getVersion())
+                    ? Mono.error(staleVersion(id))
+                    : Mono.just(current));
+        }
+        UUID uuid = BookIds.parse(id);
+        if (uuid == null) {
+            return Mono.error(new BookNotFoundException("book not found!"));
+        }
+        return reactiveBookRepository.updateFields(uuid, changes, expectedVersion)
+                .flatMap(updated -> updated > 0
+                        ? reactiveBookChangeLog.changed(uuid).thenReturn(updated)
+                        : Mono.just(updated))
+                .as(transactionalOperator::transactional)
+                .flatMap(updated -> updated > 0
+                        ? getBookById(id)
+                        // the UPDATE matched nothing: tell a missing book from a stale version
+                        : reactiveBookRepository.existsById(uuid).flatMap(exists -> exists
+                                ? Mono.<Book>error(staleVersion(id))
+                                : Mono.error(new BookNotFoundException("book not found!"))));
+    }
+
+    public Mono<Void> deleteBookById(final String id) {
+        UUID uuid = BookIds.parse(id);
+        if (uuid == null) {
+            return Mono.empty();
+        }
+        return reactiveBookRepository.deleteById(uuid)
+                .flatMap(deleted -> deleted > 0 ? reactiveBookChangeLog.deleted(uuid) : Mono.<Void>empty())
+                .as(transactionalOperator::transactional);
+    }
+
+    private static OptimisticLockingFailureException staleVersion(final String id) {
+        return new OptimisticLockingFailureException("book " + id + " was modified concurrently");
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.example.demo.gateways.cache;
+
+import com.example.demo.domain.Book;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache of books by id. Misses are cached as {@link Optional#empty()} with a
+ * shorter TTL so lookups of unknown ids do not hammer the database either.
+ * <p>
+ * Loads run outside Caffeine's lock, so an invalidation can land while a reader still holds the old
+ * row. Every invalidation bumps a stamp for the id (striped, so the stamps take fixed memory), and a
+ * load is only stored when the stamp it started with is still current.
+ */
+@Component
+public class BookCache {
+
+    private static final int STRIPES = 1024;
+
+    private final Cache<String, Optional<Book>> cache;
+    private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+
+    public BookCache(@Value("${library.cache.books.maximum-size:10000}") final long maximumSize,
+                     @Value("${library.cache.books.ttl:10m}") final Duration ttl,
+                     @Value("${library.cache.books.negative-ttl:30s}") final Duration negativeTtl,
+                     final MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.<String, Optional<Book>>creating((id, book) -> book.isPresent() ? ttl : negativeTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "books");
+    }
+
+    /**
+     * Returns the cached lookup result for {@code id}, calling {@code loader} on a miss. The loader runs
+     * outside of any cache lock so a slow database call never blocks other keys (or pins a virtual thread);
+     * its result is dropped instead of cached when {@code id} was invalidated in the meantime.
+     */
+    public Optional<Book> get(final String id, final Function<String, Optional<Book>> loader) {
+        Optional<Book> cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = stamps.get(stripe(id));
+        Optional<Book> loaded = loader.apply(id);
+        // atomic with the removal in invalidate, which comes after its stamp bump
+        cache.asMap().compute(id, (key, current) -> stamps.get(stripe(id)) == stamp ? loaded : current);
+        return loaded;
+    }
+
+    /**
+     * The cached book for {@code id}, or null when the cache has no entry (an empty Optional is a cached miss).
+     */
+    public Optional<Book> getIfPresent(final String id) {
+        return cache.getIfPresent(id);
+    }
+
+    public void invalidate(final String id) {
+        stamps.incrementAndGet(stripe(id));
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < STRIPES; i++) {
+            stamps.incrementAndGet(i);
+        }
+        cache.invalidateAll();
+    }
+
+    private static int stripe(final String id) {
+        return Math.floorMod(id.hashCode(), STRIPES);
+    }
+}
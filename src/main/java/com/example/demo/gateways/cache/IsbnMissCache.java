@@ -0,0 +1,76 @@
+package com.example.demo.gateways.cache;
+
+import com.example.demo.domain.Book;
+import com.example.demo.gateways.index.IsbnIndex;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongFunction;
+
+/**
+ * ISBN keys ({@link IsbnIndex#encode}) the table had no book for, kept for the same negative TTL as
+ * {@link BookCache}'s misses so lookups of unknown ISBNs do not hammer the database. Found books are
+ * not kept here; {@link IsbnIndex} and {@link BookCache} hold those.
+ * <p>
+ * Writes of an ISBN on this node invalidate its key, with the same striped stamps as
+ * {@link BookCache} so a miss loaded before the write is not stored after it. Other nodes' writes
+ * show up once the miss expires.
+ */
+@Component
+public class IsbnMissCache {
+
+    private static final int STRIPES = 1024;
+
+    private final Cache<Long, Boolean> cache;
+    private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+
+    public IsbnMissCache(@Value("${library.cache.books.maximum-size:10000}") final long maximumSize,
+                         @Value("${library.cache.books.negative-ttl:30s}") final Duration negativeTtl,
+                         final MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(negativeTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "isbn-misses");
+    }
+
+    /**
+     * Empty without calling {@code loader} while {@code key} is a cached miss; otherwise what the loader
+     * finds, remembering a miss unless the key was invalidated in the meantime.
+     */
+    public Optional<Book> get(final long key, final LongFunction<Optional<Book>> loader) {
+        if (cache.getIfPresent(key) != null) {
+            return Optional.empty();
+        }
+        long stamp = stamps.get(stripe(key));
+        Optional<Book> loaded = loader.apply(key);
+        if (loaded.isEmpty()) {
+            cache.asMap().compute(key, (k, current) -> stamps.get(stripe(key)) == stamp ? Boolean.TRUE : current);
+        }
+        return loaded;
+    }
+
+    /**
+     * Forgets the miss for this ISBN, in whichever spelling, after a book was written with it.
+     */
+    public void invalidate(final String isbn) {
+        long key = IsbnIndex.encode(isbn);
+        if (key == IsbnIndex.NO_KEY) {
+            return;
+        }
+        stamps.incrementAndGet(stripe(key));
+        cache.invalidate(key);
+    }
+
+    private static int stripe(final long key) {
+        return Math.floorMod(Long.hashCode(key), STRIPES);
+    }
+}
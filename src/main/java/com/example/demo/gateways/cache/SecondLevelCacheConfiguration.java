@@ -0,0 +1,68 @@
+package com.example.demo.gateways.cache;
+
+import com.example.demo.gateways.entity.BookEntity;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate's second-level cache: BookEntity and query results in Caffeine-backed JCache regions.
+ * The regions are created here, sized and expired from {@code library.cache.second-level.*}, so
+ * their eviction settings sit next to the rest of the application config; Hibernate is told to
+ * fail rather than silently create a region nobody configured.
+ * <p>
+ * Partial updates and stock changes are native UPDATEs that declare a query space of their own, so
+ * Hibernate does not evict the whole BookEntity region for them; each evicts only the book it wrote,
+ * after commit. Stock changes leave the cached query results alone, which is why searches filtered
+ * on stock are never cached; other field changes drop them. Per-id reads are still served by
+ * {@link BookCache} first.
+ */
+@Profile("!reactive & !read-only")
+@Configuration(proxyBeanMethods = false)
+public class SecondLevelCacheConfiguration {
+
+    static final String BOOK_REGION = BookEntity.class.getName();
+    static final String QUERY_REGION = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    static final String TIMESTAMPS_REGION = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${library.cache.second-level.books.maximum-size:10000}") final long bookMaximumSize,
+            @Value("${library.cache.second-level.books.ttl:10m}") final Duration bookTtl,
+            @Value("${library.cache.second-level.queries.maximum-size:1000}") final long queryMaximumSize,
+            @Value("${library.cache.second-level.queries.ttl:5m}") final Duration queryTtl) {
+        // a manager of its own per application context: JCache hands out one shared instance per URI
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(BOOK_REGION, region(bookMaximumSize, bookTtl));
+        cacheManager.createCache(QUERY_REGION, region(queryMaximumSize, queryTtl));
+        // must outlive every cached query result, so it is neither bounded nor expired
+        cacheManager.createCache(TIMESTAMPS_REGION, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager(final CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(final long maximumSize, final Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        return configuration;
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.demo.gateways.changes;
+
+import com.example.demo.exceptions.CustomHttpException;
+import com.example.demo.gateways.entity.BookChangeEntity;
+import com.example.demo.gateways.entity.BookChangeHeadEntity;
+import com.example.demo.gateways.entity.BookEntity;
+import com.example.demo.repository.BookChangeHeadRepository;
+import com.example.demo.repository.BookChangeRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The transactional outbox behind {@code GET /api/books/changes}. Gateway writes name the books they
+ * touched, and the rows are appended in the writing transaction just before it commits, under the
+ * lock of the {@code book_change_head} row that hands out {@code seq}. Writers therefore take their
+ * seqs in commit order: a reader that sees seq 12 sees everything up to 12, however long the writes
+ * ran, and a rolled-back write never takes a seq. The log has no gaps, so a cursor only moves forward.
+ * <p>
+ * Rows older than {@code library.changes.retention} are purged nightly, and the head row keeps the
+ * newest seq purged; a cursor from before it is answered with 410 Gone, and the consumer has to
+ * start over from the export.
+ */
+@Slf4j
+@Profile("!reactive & !read-only")
+@Component
+public class BookChangeLog {
+
+    /** Appended rows are flushed and let go of in batches, so a 10k-book write does not pile them up. */
+    private static final int FLUSH_SIZE = 500;
+
+    private final BookChangeRepository bookChangeRepository;
+    private final BookChangeHeadRepository bookChangeHeadRepository;
+    private final EntityManager entityManager;
+    private final Duration retention;
+
+    public BookChangeLog(final BookChangeRepository bookChangeRepository,
+                         final BookChangeHeadRepository bookChangeHeadRepository,
+                         final EntityManager entityManager,
+                         @Value("${library.changes.retention:7d}") final Duration retention) {
+        this.bookChangeRepository = bookChangeRepository;
+        this.bookChangeHeadRepository = bookChangeHeadRepository;
+        this.entityManager = entityManager;
+        this.retention = retention;
+    }
+
+    /**
+     * Logs that the books with these ids were created or changed. The rows are appended when the
+     * surrounding transaction commits, or in a transaction of their own when there is none.
+     */
+    @Transactional
+    public void changed(final Collection<UUID> ids) {
+        pending().add(ids, false);
+    }
+
+    /**
+     * Logs tombstones for the books with these ids, appended like {@link #changed}.
+     */
+    @Transactional
+    public void deleted(final Collection<UUID> ids) {
+        pending().add(ids, true);
+    }
+
+    /**
+     * Up to {@code limit} rows after {@code since} in seq order.
+     */
+    @Transactional(readOnly = true)
+    public List<BookChangeEntity> read(final long since, final int limit) {
+        List<BookChangeEntity> rows = bookChangeRepository.findBySeqGreaterThanOrderBySeqAsc(since, Limit.of(limit));
+        // checked after the read: the purge moves the watermark before it deletes, so rows it took
+        // from under this read show up here
+        if (since < bookChangeHeadRepository.head().getPurgedThrough()) {
+            throw new CustomHttpException("changes after " + since + " have been purged", HttpStatus.GONE.value());
+        }
+        return rows;
+    }
+
+    /**
+     * The seq of the newest committed change, 0 while nothing has been logged.
+     */
+    @Transactional(readOnly = true)
+    public long last() {
+        return bookChangeHeadRepository.head().getSeq();
+    }
+
+    /**
+     * Drops the rows older than the retention. The watermark moves first, in a transaction of its
+     * own, so no reader takes the deleted range for an empty one.
+     */
+    @Scheduled(cron = "${library.changes.purge-cron:0 30 3 * * *}")
+    public void purge() {
+        bookChangeRepository.findLastSeqBefore(Instant.now().minus(retention)).ifPresent(seq -> {
+            bookChangeHeadRepository.advancePurgedThrough(seq);
+            int purged = bookChangeRepository.deleteThrough(seq);
+            log.info("purged {} change log rows older than {}", purged, retention);
+        });
+    }
+
+    private Pending pending() {
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new Pending();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    /**
+     * What one transaction has logged, latest entry per book, appended in {@link #beforeCommit}.
+     */
+    private final class Pending implements TransactionSynchronization {
+
+        private final Map<UUID, Boolean> changes = new LinkedHashMap<>();
+
+        void add(final Collection<UUID> ids, final boolean tombstone) {
+            for (UUID id : ids) {
+                // re-inserted, so the books keep the order of their last change
+                changes.remove(id);
+                changes.put(id, tombstone);
+            }
+        }
+
+        @Override
+        public void beforeCommit(final boolean readOnly) {
+            if (changes.isEmpty()) {
+                return;
+            }
+            // held until this transaction commits, so the next writer's seqs come after ours
+            BookChangeHeadEntity head = bookChangeHeadRepository.lock();
+            Instant changedAt = BookEntity.now();
+            long seq = head.getSeq();
+            List<BookChangeEntity> batch = new ArrayList<>(Math.min(changes.size(), FLUSH_SIZE));
+            for (Map.Entry<UUID, Boolean> entry : changes.entrySet()) {
+                BookChangeEntity row = new BookChangeEntity();
+                row.setSeq(++seq);
+                row.setBookId(entry.getKey());
+                row.setDeleted(entry.getValue());
+                row.setChangedAt(changedAt);
+                entityManager.persist(row);
+                batch.add(row);
+                if (batch.size() == FLUSH_SIZE) {
+                    entityManager.flush();
+                    batch.forEach(entityManager::detach);
+                    batch.clear();
+                }
+            }
+            head.setSeq(seq);
+            entityManager.flush();
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(BookChangeLog.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(BookChangeLog.this, this);
+        }
+
+        @Override
+        public void afterCompletion(final int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(BookChangeLog.this);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo.gateways.changes;
+
+import com.example.demo.gateways.entity.BookChangeHeadEntity;
+import com.example.demo.gateways.entity.BookEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * R2DBC appends to the same {@code book_change} outbox {@link BookChangeLog} writes, so consumers of
+ * {@code GET /api/books/changes} and the export snapshot of servlet nodes see reactive writes too.
+ * Each append locks the {@code book_change_head} row and takes the next seq, like
+ * {@link BookChangeLog}'s appends at commit; callers append last in the write's transaction, so the
+ * lock is held only until that transaction commits and seqs still follow commit order.
+ */
+@Profile("reactive")
+@Component
+@RequiredArgsConstructor
+public class ReactiveBookChangeLog {
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Logs that the book with this id was created or changed. Has to run in the write's transaction.
+     */
+    public Mono<Void> changed(final UUID id) {
+        return append(id, false);
+    }
+
+    /**
+     * Logs a tombstone for the book with this id, appended like {@link #changed}.
+     */
+    public Mono<Void> deleted(final UUID id) {
+        return append(id, true);
+    }
+
+    private Mono<Void> append(final UUID id, final boolean tombstone) {
+        return databaseClient.sql("SELECT seq FROM book_change_head WHERE id = :id FOR UPDATE")
+                .bind("id", BookChangeHeadEntity.ID)
+                .map(row -> row.get("seq", Long.class))
+                .one()
+                .flatMap(head -> databaseClient.sql("INSERT INTO book_change (seq, book_id, deleted, changed_at) "
+                                + "VALUES (:seq, :bookId, :deleted, :changedAt)")
+                        .bind("seq", head + 1)
+                        .bind("bookId", id)
+                        .bind("deleted", tombstone)
+                        .bind("changedAt", BookEntity.now())
+                        .then()
+                        .then(databaseClient.sql("UPDATE book_change_head SET seq = :seq WHERE id = :id")
+                                .bind("seq", head + 1)
+                                .bind("id", BookChangeHeadEntity.ID)
+                                .then()));
+    }
+}
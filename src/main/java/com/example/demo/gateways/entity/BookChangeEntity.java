@@ -0,0 +1,32 @@
+package com.example.demo.gateways.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One row of the change log: a book was created or changed ({@code deleted} false) or deleted.
+ * Rows are only ever inserted, by {@link com.example.demo.gateways.changes.BookChangeLog} as the writing
+ * transaction commits, with {@code seq} taken from {@link BookChangeHeadEntity}, and read back in
+ * {@code seq} order.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "book_change")
+public class BookChangeEntity {
+
+    @Id
+    private Long seq;
+
+    private UUID bookId;
+
+    private boolean deleted;
+
+    private Instant changedAt;
+}
@@ -0,0 +1,29 @@
+package com.example.demo.gateways.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * The single row that orders the change log: {@code seq} is the last one handed out to a
+ * {@link BookChangeEntity}, {@code purgedThrough} the newest one the retention purge has dropped.
+ * Writers lock it just before they commit, see {@link com.example.demo.gateways.changes.BookChangeLog}.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "book_change_head")
+public class BookChangeHeadEntity {
+
+    /** The id of the only row, inserted by the migration. */
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    private long seq;
+
+    private long purgedThrough;
+}
@@ -1,22 +1,50 @@
 package com.example.demo.gateways.entity;
 
 
+import com.example.demo.gateways.index.IsbnIndex;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
 
 
 @Setter
 @Getter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(indexes = {
+        @Index(name = "idx_book_title_key", columnList = "title_key, id"),
+        @Index(name = "idx_book_author_key", columnList = "author_key, id"),
+        @Index(name = "idx_book_price", columnList = "price_in_cents, id")
+})
 public class BookEntity {
+    // the Spring Data annotation marks the same column as the id for R2DBC (reactive profile);
+    // UUID maps to a native uuid column on Postgres and H2, 16 bytes instead of a 36-char varchar
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private String id;
+    @org.springframework.data.annotation.Id
+    @GeneratedBookId
+    private UUID id;
 
     @Column(unique = true, length = 17)
     private String isbn;
 
+    // the ISBN as IsbnIndex encodes it, kept in sync by the setter: every spelling of one ISBN gets the
+    // same key, so lookups by it find the book however it was written; null for values that are not ISBNs
+    @Column(unique = true)
+    @Setter(AccessLevel.NONE)
+    private Long isbnKey;
+
     private String title;
 
     private String author;
@@ -25,5 +53,78 @@ public class BookEntity {
 
     private long priceInCents;
 
+    // defaults existing rows to 0 when the V1 migration adds the column
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
+    // Last-Modified of the book: set by the JPA callbacks on entity writes and explicitly by every bulk UPDATE
+    @ColumnDefault("current_timestamp")
+    private Instant updatedAt;
+
+    // lower-cased copies of title and author for indexed case-insensitive search, kept in sync by the setters
+    @Setter(AccessLevel.NONE)
+    private String titleKey;
+
+    @Setter(AccessLevel.NONE)
+    private String authorKey;
+
+    public void setIsbn(final String isbn) {
+        this.isbn = isbn;
+        this.isbnKey = isbnKey(isbn);
+    }
+
+    public void setTitle(final String title) {
+        this.title = title;
+        this.titleKey = searchKey(title);
+    }
+
+    public void setAuthor(final String author) {
+        this.author = author;
+        this.authorKey = searchKey(author);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = now();
+    }
+
+    /**
+     * The current time at the microsecond precision both databases store, so a freshly written
+     * book compares equal to the same book read back.
+     */
+    public static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    public static String searchKey(final String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    public static Long isbnKey(final String isbn) {
+        long key = IsbnIndex.encode(isbn);
+        return key == IsbnIndex.NO_KEY ? null : key;
+    }
+
+    /**
+     * The given attribute changes plus the search and ISBN keys they affect and a new updatedAt, for updates
+     * that bypass the setters and callbacks.
+     */
+    public static Map<String, Object> withDerivedColumns(final Map<String, Object> changes) {
+        Map<String, Object> all = new LinkedHashMap<>(changes);
+        all.put("updatedAt", now());
+        if (changes.containsKey("title")) {
+            all.put("titleKey", searchKey((String) changes.get("title")));
+        }
+        if (changes.containsKey("author")) {
+            all.put("authorKey", searchKey((String) changes.get("author")));
+        }
+        if (changes.containsKey("isbn")) {
+            all.put("isbnKey", isbnKey((String) changes.get("isbn")));
+        }
+        return all;
+    }
+
 
 }
@@ -0,0 +1,49 @@
+package com.example.demo.gateways.entity;
+
+import java.security.SecureRandom;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Book ids are time-ordered UUIDs (version 7, RFC 9562) stored in native {@code uuid} columns.
+ * The leading 48 bits are the Unix time in milliseconds, so new rows land at the right-hand edge
+ * of the primary key index instead of on a random page.
+ */
+public final class BookIds {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // millis << 12 | 12-bit sequence; strictly increasing, so ids from this process sort in creation order
+    private static final AtomicLong LAST = new AtomicLong();
+
+    /** The order of the database's uuid primary key, which compares the bytes unsigned (Postgres and H2 alike). */
+    public static final Comparator<UUID> ID_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    private BookIds() {
+    }
+
+    public static UUID newId() {
+        long now = System.currentTimeMillis() << 12;
+        long next = LAST.updateAndGet(last -> Math.max(last + 1, now));
+        long mostSigBits = (next >>> 12) << 16 | 0x7000L | (next & 0xFFFL);
+        long leastSigBits = RANDOM.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL | 0x8000_0000_0000_0000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * The id behind an API-supplied string, or null if it is not a UUID (so no book can have it).
+     */
+    public static UUID parse(final String id) {
+        if (id == null || id.length() != 36) {
+            return null;
+        }
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
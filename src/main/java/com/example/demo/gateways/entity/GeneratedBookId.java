@@ -0,0 +1,18 @@
+package com.example.demo.gateways.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Assigns {@link BookIds#newId()} on insert.
+ */
+@IdGeneratorType(BookIdGenerator.class)
+@Retention(RUNTIME)
+@Target(FIELD)
+public @interface GeneratedBookId {
+}
@@ -0,0 +1,34 @@
+package com.example.demo.gateways.index;
+
+import com.example.demo.gateways.BookGateway;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills {@link BookTextIndex} and {@link IsbnIndex} from the database at startup. Runners finish
+ * before the application reports itself ready for traffic, and gateway writes keep the indexes
+ * current from then on.
+ */
+@Slf4j
+@Profile("!reactive")
+@Component
+@RequiredArgsConstructor
+public class BookIndexLoader implements ApplicationRunner {
+
+    private final BookGateway bookGateway;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.nanoTime();
+        int books = bookGateway.rebuildTextIndex();
+        log.info("text index loaded with {} books in {} ms", books, (System.nanoTime() - started) / 1_000_000);
+
+        started = System.nanoTime();
+        int isbns = bookGateway.rebuildIsbnIndex();
+        log.info("isbn index loaded with {} entries in {} ms", isbns, (System.nanoTime() - started) / 1_000_000);
+    }
+}
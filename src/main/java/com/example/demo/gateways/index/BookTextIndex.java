@@ -0,0 +1,319 @@
+package com.example.demo.gateways.index;
+
+import com.example.demo.domain.Book;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-process full-text index over book titles and authors, ranked with BM25.
+ * <p>
+ * Text is NFD-normalized, stripped of accents, lower-cased and split on anything that is not a letter
+ * or digit; a handful of English stop words are dropped. Each term maps to a posting list of int doc
+ * numbers in ascending order with one byte of term frequencies (title in the low nibble, author in the
+ * high one). Queries AND their terms, walking the shortest list and binary-searching the others, and
+ * keep the best {@code limit} hits in fixed arrays, so a selective query touches only a few postings.
+ * <p>
+ * Writes assign a fresh doc number and tombstone the old one; once tombstones outnumber live documents
+ * the postings are compacted. Readers share a read lock, writers take the write lock.
+ */
+@Component
+public class BookTextIndex {
+
+    /** A term found in the title counts this many times an author hit. */
+    static final int TITLE_WEIGHT = 2;
+
+    /** Longer fields are truncated, which also caps the length a single document can add. */
+    static final int MAX_TOKENS_PER_FIELD = 32;
+
+    private static final int COMPACT_MIN_TOMBSTONES = 1024;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "in", "of", "on", "or", "the", "to");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+
+    /**
+     * Indexes {@code book}, replacing whatever was indexed for its id before.
+     */
+    public void put(final Book book) {
+        lock.writeLock().lock();
+        try {
+            segment.remove(book.getId());
+            segment.add(book.getId(), book.getTitle(), book.getAuthor());
+            maybeCompact();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(final String id) {
+        lock.writeLock().lock();
+        try {
+            segment.remove(id);
+            maybeCompact();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole index with the books {@code source} hands to its consumer. The new index is
+     * built off to the side and swapped in at the end; writes made while it loads are not carried over.
+     */
+    public void rebuild(final Consumer<Consumer<Book>> source) {
+        Segment fresh = new Segment();
+        source.accept(book -> fresh.add(book.getId(), book.getTitle(), book.getAuthor()));
+        lock.writeLock().lock();
+        try {
+            segment = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the books matching every term of {@code query}, best match first (ties keep insertion order).
+     */
+    public List<String> search(final String query, final int limit) {
+        List<String> terms = List.copyOf(new LinkedHashSet<>(tokens(query)));
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return segment.search(terms, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void maybeCompact() {
+        int tombstones = segment.docCount - segment.live;
+        if (tombstones >= COMPACT_MIN_TOMBSTONES && tombstones > segment.live) {
+            segment.compact();
+        }
+    }
+
+    static List<String> tokens(final String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < decomposed.length() && tokens.size() < MAX_TOKENS_PER_FIELD; i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else {
+                addToken(tokens, token);
+            }
+        }
+        if (tokens.size() < MAX_TOKENS_PER_FIELD) {
+            addToken(tokens, token);
+        }
+        return tokens;
+    }
+
+    private static void addToken(final List<String> tokens, final StringBuilder token) {
+        if (!token.isEmpty()) {
+            String term = token.toString();
+            if (!STOP_WORDS.contains(term)) {
+                tokens.add(term);
+            }
+            token.setLength(0);
+        }
+    }
+
+    /**
+     * Doc numbers only ever grow, so appending keeps every posting list sorted.
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[2];
+        private byte[] frequencies = new byte[2];
+        private int size;
+
+        void append(final int doc, final byte frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size++] = frequency;
+        }
+
+        /** Position of {@code doc} at or after {@code from}, or a negative value if absent. */
+        int find(final int doc, final int from) {
+            return Arrays.binarySearch(docs, from, size, doc);
+        }
+
+        static int weightedFrequency(final byte frequency) {
+            return (frequency & 0x0F) * TITLE_WEIGHT + ((frequency >> 4) & 0x0F);
+        }
+    }
+
+    private static final class Segment {
+
+        private final Map<String, Postings> terms = new HashMap<>();
+        private final Map<String, Integer> docsById = new HashMap<>();
+        private String[] ids = new String[16];
+        private short[] lengths = new short[16];
+        private int docCount;
+        private int live;
+        private long totalLength;
+
+        void add(final String id, final String title, final String author) {
+            Map<String, Integer> frequencies = new LinkedHashMap<>();
+            List<String> titleTokens = tokens(title);
+            List<String> authorTokens = tokens(author);
+            titleTokens.forEach(term -> frequencies.merge(term, 1, (a, b) -> a + b > 15 ? 15 : a + b));
+            authorTokens.forEach(term -> frequencies.merge(term, 1 << 4, (a, b) -> (a >> 4) + 1 > 15 ? a : a + b));
+
+            if (docCount == ids.length) {
+                ids = Arrays.copyOf(ids, docCount * 2);
+                lengths = Arrays.copyOf(lengths, docCount * 2);
+            }
+            int doc = docCount++;
+            int length = titleTokens.size() * TITLE_WEIGHT + authorTokens.size();
+            ids[doc] = id;
+            lengths[doc] = (short) length;
+            docsById.put(id, doc);
+            live++;
+            totalLength += length;
+            frequencies.forEach((term, frequency) ->
+                    terms.computeIfAbsent(term, t -> new Postings()).append(doc, (byte) (int) frequency));
+        }
+
+        void remove(final String id) {
+            Integer doc = docsById.remove(id);
+            if (doc != null) {
+                ids[doc] = null;
+                live--;
+                totalLength -= lengths[doc];
+            }
+        }
+
+        List<String> search(final List<String> queryTerms, final int limit) {
+            Postings[] lists = new Postings[queryTerms.size()];
+            for (int i = 0; i < lists.length; i++) {
+                lists[i] = terms.get(queryTerms.get(i));
+                if (lists[i] == null) {
+                    return List.of();
+                }
+            }
+            Arrays.sort(lists, Comparator.comparingInt(postings -> postings.size));
+
+            float[] idf = new float[lists.length];
+            for (int i = 0; i < lists.length; i++) {
+                // tombstones still sit in the lists until the next compaction, so cap df at the live count
+                int df = Math.min(lists[i].size, live);
+                idf[i] = (float) Math.log(1 + (live - df + 0.5) / (df + 0.5));
+            }
+            float averageLength = live == 0 ? 1 : (float) totalLength / live;
+
+            int[] topDocs = new int[limit];
+            float[] topScores = new float[limit];
+            int hits = 0;
+            int[] cursors = new int[lists.length];
+            Postings lead = lists[0];
+            candidates:
+            for (int p = 0; p < lead.size; p++) {
+                int doc = lead.docs[p];
+                if (ids[doc] == null) {
+                    continue;
+                }
+                float norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                int tf = Postings.weightedFrequency(lead.frequencies[p]);
+                float score = idf[0] * tf * (K1 + 1) / (tf + norm);
+                for (int i = 1; i < lists.length; i++) {
+                    int found = lists[i].find(doc, cursors[i]);
+                    if (found < 0) {
+                        cursors[i] = -found - 1;
+                        if (cursors[i] == lists[i].size) {
+                            break candidates;
+                        }
+                        continue candidates;
+                    }
+                    cursors[i] = found + 1;
+                    tf = Postings.weightedFrequency(lists[i].frequencies[found]);
+                    score += idf[i] * tf * (K1 + 1) / (tf + norm);
+                }
+                if (hits < limit || score > topScores[hits - 1]) {
+                    // insertion into the sorted top-k; a strict comparison keeps earlier docs ahead on ties
+                    int at = hits < limit ? hits++ : limit - 1;
+                    while (at > 0 && topScores[at - 1] < score) {
+                        topScores[at] = topScores[at - 1];
+                        topDocs[at] = topDocs[at - 1];
+                        at--;
+                    }
+                    topScores[at] = score;
+                    topDocs[at] = doc;
+                }
+            }
+
+            List<String> result = new ArrayList<>(hits);
+            for (int i = 0; i < hits; i++) {
+                result.add(ids[topDocs[i]]);
+            }
+            return result;
+        }
+
+        /** Renumbers the live documents densely and drops the tombstoned postings and empty terms. */
+        void compact() {
+            int[] renumbered = new int[docCount];
+            int next = 0;
+            for (int doc = 0; doc < docCount; doc++) {
+                if (ids[doc] == null) {
+                    renumbered[doc] = -1;
+                } else {
+                    renumbered[doc] = next;
+                    ids[next] = ids[doc];
+                    lengths[next] = lengths[doc];
+                    docsById.put(ids[next], next);
+                    next++;
+                }
+            }
+            Arrays.fill(ids, next, docCount, null);
+            docCount = next;
+
+            terms.values().removeIf(postings -> {
+                int kept = 0;
+                for (int p = 0; p < postings.size; p++) {
+                    int doc = renumbered[postings.docs[p]];
+                    if (doc >= 0) {
+                        postings.docs[kept] = doc;
+                        postings.frequencies[kept++] = postings.frequencies[p];
+                    }
+                }
+                postings.size = kept;
+                return kept == 0;
+            });
+        }
+    }
+}
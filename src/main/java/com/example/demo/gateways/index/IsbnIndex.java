@@ -0,0 +1,256 @@
+package com.example.demo.gateways.index;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * ISBN to book id map keyed by the ISBN-13 as a {@code long}, in a linear-probing table of primitive
+ * keys. ISBN-10s are converted to their 978-prefixed ISBN-13, so both spellings find the same book.
+ * <p>
+ * Lookups take an optimistic {@link StampedLock} read and retry under the read lock only if a write
+ * got in between; neither path allocates. The table is resized at half load and deletes shift the
+ * following entries back, so there are no tombstones.
+ */
+@Component
+public class IsbnIndex {
+
+    /** What {@link #encode} returns for values that are not 10- or 13-digit ISBNs. */
+    public static final long NO_KEY = -1;
+
+    private static final long EMPTY = 0;
+
+    private final StampedLock lock = new StampedLock();
+    private Table table = new Table(1024);
+    private int size;
+
+    /**
+     * ISBN-13 digits as a number, ignoring hyphens and spaces. Check digits are not validated.
+     */
+    public static long encode(final CharSequence isbn) {
+        if (isbn == null) {
+            return NO_KEY;
+        }
+        long value = 0;
+        int digits = 0;
+        boolean checkX = false;
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (c == '-' || c == ' ') {
+                continue;
+            }
+            if (checkX || digits == 13) {
+                return NO_KEY;
+            }
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+            } else if ((c == 'X' || c == 'x') && digits == 9) {
+                checkX = true;
+            } else {
+                return NO_KEY;
+            }
+            digits++;
+        }
+        if (digits == 13 && value != EMPTY) {
+            return value;
+        }
+        if (digits != 10) {
+            return NO_KEY;
+        }
+        // ISBN-10: drop its check digit, prefix 978 and append the ISBN-13 check digit
+        long body = 978_000_000_000L + (checkX ? value : value / 10);
+        int sum = 0;
+        long rest = body;
+        for (int position = 0; position < 12; position++, rest /= 10) {
+            sum += (int) (rest % 10) * (position % 2 == 0 ? 3 : 1);
+        }
+        return body * 10 + (10 - sum % 10) % 10;
+    }
+
+    /**
+     * Id of the book indexed under {@code key}, or null.
+     */
+    public String get(final long key) {
+        if (key == NO_KEY) {
+            return null;
+        }
+        long stamp = lock.tryOptimisticRead();
+        String id = table.find(key);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                id = table.find(key);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return id;
+    }
+
+    public void put(final String isbn, final String id) {
+        long key = encode(isbn);
+        if (key == NO_KEY) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            if ((size + 1) * 2 > table.keys.length) {
+                table = table.resized(table.keys.length * 2);
+            }
+            if (table.put(key, id)) {
+                size++;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the entry for {@code isbn} if it still points at {@code id}.
+     */
+    public void remove(final String isbn, final String id) {
+        long key = encode(isbn);
+        if (key == NO_KEY) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            if (table.remove(key, id)) {
+                size--;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Replaces the whole index with the (isbn, id) pairs {@code source} hands to its consumer.
+     */
+    public void rebuild(final Consumer<BiConsumer<String, String>> source) {
+        Table[] fresh = {new Table(1024)};
+        int[] count = {0};
+        source.accept((isbn, id) -> {
+            long key = encode(isbn);
+            if (key == NO_KEY) {
+                return;
+            }
+            if ((count[0] + 1) * 2 > fresh[0].keys.length) {
+                fresh[0] = fresh[0].resized(fresh[0].keys.length * 2);
+            }
+            if (fresh[0].put(key, id)) {
+                count[0]++;
+            }
+        });
+        long stamp = lock.writeLock();
+        try {
+            table = fresh[0];
+            size = count[0];
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Keys and ids live side by side in one immutable-shape object, so a reader never pairs arrays of
+     * different sizes; growing swaps in a new table.
+     */
+    private static final class Table {
+
+        private final long[] keys;
+        private final String[] ids;
+        private final int shift;
+
+        Table(final int capacity) {
+            keys = new long[capacity];
+            ids = new String[capacity];
+            shift = Long.numberOfLeadingZeros(capacity - 1);
+        }
+
+        /** Fibonacci hashing: the top bits of the product spread sequential ISBNs across the table. */
+        private int slot(final long key) {
+            return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+        }
+
+        String find(final long key) {
+            long[] keys = this.keys;
+            String[] ids = this.ids;
+            int mask = keys.length - 1;
+            int i = slot(key) & mask;
+            // bounded so a reader racing a writer can never spin; validation discards its answer anyway
+            for (int probes = 0; probes < keys.length; probes++, i = (i + 1) & mask) {
+                long candidate = keys[i];
+                if (candidate == key) {
+                    return ids[i];
+                }
+                if (candidate == EMPTY) {
+                    return null;
+                }
+            }
+            return null;
+        }
+
+        /** Returns true if the key was new. */
+        boolean put(final long key, final String id) {
+            int mask = keys.length - 1;
+            int i = slot(key) & mask;
+            while (keys[i] != EMPTY) {
+                if (keys[i] == key) {
+                    ids[i] = id;
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            ids[i] = id;
+            return true;
+        }
+
+        boolean remove(final long key, final String id) {
+            int mask = keys.length - 1;
+            int i = slot(key) & mask;
+            while (keys[i] != key) {
+                if (keys[i] == EMPTY) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            if (!ids[i].equals(id)) {
+                return false;
+            }
+            // backward shift: pull each later entry of the run into the gap unless its home slot lies past the gap
+            int gap = i;
+            for (int j = (i + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+                int home = slot(keys[j]) & mask;
+                if (((j - home) & mask) >= ((j - gap) & mask)) {
+                    keys[gap] = keys[j];
+                    ids[gap] = ids[j];
+                    gap = j;
+                }
+            }
+            keys[gap] = EMPTY;
+            ids[gap] = null;
+            return true;
+        }
+
+        Table resized(final int capacity) {
+            Table bigger = new Table(capacity);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY) {
+                    bigger.put(keys[i], ids[i]);
+                }
+            }
+            return bigger;
+        }
+    }
+}
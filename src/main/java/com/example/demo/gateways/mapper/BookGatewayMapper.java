@@ -3,6 +3,8 @@ package com.example.demo.gateways.mapper;
 import com.example.demo.domain.Book;
 import com.example.demo.gateways.entity.BookEntity;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 
 @Mapper(componentModel = "spring")
 public interface BookGatewayMapper {
@@ -11,4 +13,11 @@ public interface BookGatewayMapper {
 
     Book toBookDomain(BookEntity bookEntity);
 
+    Book copy(Book book);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    void updateBookEntity(Book book, @MappingTarget BookEntity bookEntity);
+
 }
@@ -0,0 +1,267 @@
+package com.example.demo.gateways.replica;
+
+import com.example.demo.domain.Book;
+import com.example.demo.domain.BookVersion;
+import com.example.demo.gateways.index.IsbnIndex;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A read-only copy of the whole catalog in one memory-mapped file, as {@link BookReplicaWriter}
+ * lays it out (all numbers little-endian):
+ * <ul>
+ *     <li>a 64-byte header: magic, format, book count, generation, ISBN slot count and the offsets
+ *     and lengths of the sections below;</li>
+ *     <li>one fixed 56-byte record per book in id order: id, version, updatedAt in epoch
+ *     microseconds, price, stock and heap offsets of isbn, title and author;</li>
+ *     <li>an open-addressing hash table of 12-byte (ISBN key, record index) slots, keyed like
+ *     {@link IsbnIndex};</li>
+ *     <li>the string heap, each string a length followed by its UTF-8 bytes.</li>
+ * </ul>
+ * Lookups by id binary-search the records, lookups by ISBN probe the table, and only the book
+ * being returned is decoded onto the heap. The pages belong to the OS page cache, so every process
+ * mapping the same file shares them and a fresh process serves reads as soon as it has mapped it.
+ * Instances never change and all reads are absolute, so they are safe to share between threads.
+ */
+public final class BookReplica {
+
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+    static final long MAGIC = 0x31_4C_50_52_4B_4F_4F_42L; // "BOOKRPL1"
+    static final int FORMAT = 1;
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 56;
+    static final int ISBN_SLOT_SIZE = 12;
+    static final long NULL_LONG = Long.MIN_VALUE;
+    static final int NULL_STRING = -1;
+    static final int NO_RECORD = -1;
+
+    private static final int VERSION = 16;
+    private static final int UPDATED_AT = 24;
+    private static final int PRICE_IN_CENTS = 32;
+    private static final int STOCK = 40;
+    private static final int ISBN = 44;
+    private static final int TITLE = 48;
+    private static final int AUTHOR = 52;
+
+    private static final BookReplica EMPTY = new BookReplica(ByteBuffer.allocate(HEADER_SIZE).order(ORDER), 0, 0, 0, 0, 0);
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final long generation;
+    private final int isbnSlots;
+    private final int isbnOffset;
+    private final int heapOffset;
+
+    private BookReplica(final ByteBuffer buffer, final int count, final long generation, final int isbnSlots,
+                        final int isbnOffset, final int heapOffset) {
+        this.buffer = buffer;
+        this.count = count;
+        this.generation = generation;
+        this.isbnSlots = isbnSlots;
+        this.isbnOffset = isbnOffset;
+        this.heapOffset = heapOffset;
+    }
+
+    /**
+     * A catalog without books, at generation 0.
+     */
+    public static BookReplica empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Maps {@code file} and checks that its header describes a complete replica.
+     */
+    public static BookReplica open(final Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException(file + " is not a book replica: " + size + " bytes");
+            }
+            // the mapping outlives the channel
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ORDER);
+        }
+        long size = buffer.capacity();
+        int count = buffer.getInt(12);
+        int isbnSlots = buffer.getInt(24);
+        long isbnOffset = buffer.getLong(32);
+        long heapOffset = buffer.getLong(40);
+        long heapLength = buffer.getLong(48);
+        boolean valid = buffer.getLong(0) == MAGIC
+                && buffer.getInt(8) == FORMAT
+                && count >= 0
+                && Integer.bitCount(isbnSlots) == 1
+                && isbnOffset == HEADER_SIZE + (long) count * RECORD_SIZE
+                && heapOffset == isbnOffset + (long) isbnSlots * ISBN_SLOT_SIZE
+                && heapOffset + heapLength == size
+                && buffer.getLong(56) == size;
+        if (!valid) {
+            throw new IOException(file + " is not a complete book replica of format " + FORMAT);
+        }
+        return new BookReplica(buffer, count, buffer.getLong(16), isbnSlots, (int) isbnOffset, (int) heapOffset);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public long generation() {
+        return generation;
+    }
+
+    public Optional<Book> find(final UUID id) {
+        int index = indexOf(id);
+        return index < 0 ? Optional.empty() : Optional.of(book(index));
+    }
+
+    /**
+     * Version and last modification without decoding the strings.
+     */
+    public Optional<BookVersion> findVersion(final UUID id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return Optional.empty();
+        }
+        int record = record(index);
+        long version = buffer.getLong(record + VERSION);
+        // only books never persisted lack a version, and the entity starts counting at 0
+        return Optional.of(new BookVersion(version == NULL_LONG ? 0 : version, instant(buffer.getLong(record + UPDATED_AT))));
+    }
+
+    /**
+     * Probes the ISBN table; values {@link IsbnIndex} cannot encode are compared one by one, as the
+     * database would only find them by an exact match too.
+     */
+    public Optional<Book> findByIsbn(final String isbn) {
+        long key = IsbnIndex.encode(isbn);
+        if (key == IsbnIndex.NO_KEY) {
+            for (int index = 0; index < count; index++) {
+                if (isbn != null && isbn.equals(string(buffer.getInt(record(index) + ISBN)))) {
+                    return Optional.of(book(index));
+                }
+            }
+            return Optional.empty();
+        }
+        int mask = isbnSlots - 1;
+        int slot = slot(key, isbnSlots);
+        for (int probes = 0; probes < isbnSlots; probes++, slot = (slot + 1) & mask) {
+            int position = isbnOffset + slot * ISBN_SLOT_SIZE;
+            int index = buffer.getInt(position + 8);
+            if (index == NO_RECORD) {
+                return Optional.empty();
+            }
+            if (buffer.getLong(position) == key) {
+                return Optional.of(book(index));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Up to {@code limit} books matching {@code filter} in id order, starting after {@code afterId}
+     * (from the first book when null).
+     */
+    public List<Book> scan(final UUID afterId, final int limit, final Predicate<Book> filter) {
+        List<Book> books = new ArrayList<>(Math.min(limit, 256));
+        for (int index = afterId == null ? 0 : indexAfter(afterId); index < count && books.size() < limit; index++) {
+            Book book = book(index);
+            if (filter.test(book)) {
+                books.add(book);
+            }
+        }
+        return books;
+    }
+
+    public void forEach(final Consumer<Book> consumer) {
+        for (int index = 0; index < count; index++) {
+            consumer.accept(book(index));
+        }
+    }
+
+    /** Fibonacci hashing, the same spread {@link IsbnIndex} uses, over a power-of-two table. */
+    static int slot(final long key, final int slots) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> Long.numberOfLeadingZeros(slots - 1)) & (slots - 1);
+    }
+
+    private int indexOf(final UUID id) {
+        int index = indexAfter(id) - 1;
+        return index >= 0 && compare(index, id) == 0 ? index : -1;
+    }
+
+    /** The index of the first record whose id sorts after {@code id}. */
+    private int indexAfter(final UUID id) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(middle, id) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int compare(final int index, final UUID id) {
+        int record = record(index);
+        int result = Long.compareUnsigned(buffer.getLong(record), id.getMostSignificantBits());
+        return result != 0 ? result : Long.compareUnsigned(buffer.getLong(record + 8), id.getLeastSignificantBits());
+    }
+
+    private Book book(final int index) {
+        int record = record(index);
+        Book book = new Book();
+        book.setId(new UUID(buffer.getLong(record), buffer.getLong(record + 8)).toString());
+        book.setIsbn(string(buffer.getInt(record + ISBN)));
+        book.setTitle(string(buffer.getInt(record + TITLE)));
+        book.setAuthor(string(buffer.getInt(record + AUTHOR)));
+        book.setStock(buffer.getInt(record + STOCK));
+        book.setPriceInCents(buffer.getLong(record + PRICE_IN_CENTS));
+        book.setVersion(nullable(buffer.getLong(record + VERSION)));
+        book.setUpdatedAt(instant(buffer.getLong(record + UPDATED_AT)));
+        return book;
+    }
+
+    private String string(final int offset) {
+        if (offset == NULL_STRING) {
+            return null;
+        }
+        int position = heapOffset + offset;
+        byte[] bytes = new byte[buffer.getInt(position)];
+        buffer.get(position + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int record(final int index) {
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    private static Long nullable(final long value) {
+        return value == NULL_LONG ? null : value;
+    }
+
+    private static Instant instant(final long micros) {
+        return micros == NULL_LONG ? null
+                : Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+    }
+
+    @Override
+    public String toString() {
+        return "BookReplica[generation=" + generation + ", books=" + count + "]";
+    }
+}
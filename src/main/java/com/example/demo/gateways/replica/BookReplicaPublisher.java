@@ -0,0 +1,83 @@
+package com.example.demo.gateways.replica;
+
+import com.example.demo.gateways.BookGateway;
+import com.example.demo.repository.BookRepository;
+import com.example.demo.repository.CatalogVersionView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * Writes the {@link BookReplica} file that {@code read-only} nodes serve, from the database of a
+ * writable node, every {@code library.replica.publish.interval}. A run first reads the table's
+ * count, version sum and latest update in one aggregate query and skips the export when none of
+ * them moved. Generations are the publish time in milliseconds, forced to grow. Off unless
+ * {@code library.replica.publish.enabled} is set; run it on one node per shared replica file.
+ */
+@Slf4j
+@Profile("!reactive & !read-only")
+@Component
+@ConditionalOnBooleanProperty("library.replica.publish.enabled")
+public class BookReplicaPublisher {
+
+    private final BookGateway bookGateway;
+    private final BookRepository bookRepository;
+    private final Path file;
+
+    private State published;
+    private long generation;
+
+    public BookReplicaPublisher(final BookGateway bookGateway,
+                                final BookRepository bookRepository,
+                                @Value("${library.replica.file:${java.io.tmpdir}/catalog.replica}") final Path file) {
+        this.bookGateway = bookGateway;
+        this.bookRepository = bookRepository;
+        this.file = file;
+    }
+
+    /**
+     * Publishes a new replica unless the table is unchanged since the last one. Returns whether it did.
+     */
+    @Scheduled(initialDelayString = "${library.replica.publish.initial-delay:0s}",
+            fixedDelayString = "${library.replica.publish.interval:1m}")
+    public synchronized boolean publish() throws IOException {
+        State state = State.of(bookRepository.findCatalogVersion());
+        if (state.equals(published)) {
+            return false;
+        }
+        long started = System.nanoTime();
+        generation = Math.max(System.currentTimeMillis(), generation + 1);
+        try (BookReplicaWriter writer = BookReplicaWriter.create(file, generation)) {
+            bookGateway.exportAll(book -> {
+                try {
+                    writer.write(book);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            int books = writer.publish();
+            log.info("published replica {} generation {} with {} books in {} ms",
+                    file, generation, books, (System.nanoTime() - started) / 1_000_000);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        // the state read before the export: a write racing the export only causes one extra publish
+        published = state;
+        return true;
+    }
+
+    private record State(long books, long versions, Instant updatedAt) {
+
+        static State of(final CatalogVersionView view) {
+            return new State(view.getBooks(), view.getVersions(), view.getUpdatedAt());
+        }
+    }
+}
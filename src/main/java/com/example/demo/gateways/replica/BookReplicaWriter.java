@@ -0,0 +1,198 @@
+package com.example.demo.gateways.replica;
+
+import com.example.demo.domain.Book;
+import com.example.demo.gateways.entity.BookIds;
+import com.example.demo.gateways.index.IsbnIndex;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static com.example.demo.gateways.replica.BookReplica.*;
+
+/**
+ * Writes a {@link BookReplica} file from books handed over in id order. Records go straight to a
+ * temporary file next to the target and strings to a second one, so memory stays flat apart from
+ * twelve bytes per ISBN for the hash table; {@link #publish()} appends table and strings, fills in
+ * the header and moves the result over the target in one atomic rename. Readers that still map the
+ * old file keep their pages until they let go of them.
+ */
+public final class BookReplicaWriter implements Closeable {
+
+    private final Path target;
+    private final long generation;
+    private final Path recordsFile;
+    private final Path heapFile;
+    private final FileChannel records;
+    private final OutputStream heap;
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE).order(ORDER);
+    private final ByteBuffer length = ByteBuffer.allocate(4).order(ORDER);
+
+    private long heapLength;
+    private int count;
+    private UUID last;
+    private long[] isbnKeys = new long[1024];
+
+    private BookReplicaWriter(final Path target, final long generation) throws IOException {
+        this.target = target.toAbsolutePath();
+        this.generation = generation;
+        Path directory = this.target.getParent();
+        Files.createDirectories(directory);
+        this.recordsFile = Files.createTempFile(directory, ".replica-", ".tmp");
+        this.heapFile = Files.createTempFile(directory, ".replica-heap-", ".tmp");
+        this.records = FileChannel.open(recordsFile, StandardOpenOption.WRITE);
+        this.heap = new BufferedOutputStream(Files.newOutputStream(heapFile), 64 * 1024);
+        records.position(HEADER_SIZE);
+    }
+
+    /**
+     * Starts a replica that will replace {@code target} with {@code generation}; readers only swap
+     * to a file whose generation is higher than the one they have.
+     */
+    public static BookReplicaWriter create(final Path target, final long generation) throws IOException {
+        return new BookReplicaWriter(target, generation);
+    }
+
+    /**
+     * Appends {@code book}, whose id must sort after the previous one as the database orders them.
+     */
+    public void write(final Book book) throws IOException {
+        UUID id = UUID.fromString(book.getId());
+        if (last != null && BookIds.ID_ORDER.compare(last, id) >= 0) {
+            throw new IllegalArgumentException("books must come in ascending id order, got " + id + " after " + last);
+        }
+        last = id;
+
+        record.clear();
+        record.putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .putLong(book.getVersion() == null ? NULL_LONG : book.getVersion())
+                .putLong(book.getUpdatedAt() == null ? NULL_LONG : micros(book))
+                .putLong(book.getPriceInCents())
+                .putInt(book.getStock())
+                .putInt(string(book.getIsbn()))
+                .putInt(string(book.getTitle()))
+                .putInt(string(book.getAuthor()));
+        record.flip();
+        while (record.hasRemaining()) {
+            records.write(record);
+        }
+
+        if (count == isbnKeys.length) {
+            isbnKeys = Arrays.copyOf(isbnKeys, count * 2);
+        }
+        isbnKeys[count++] = IsbnIndex.encode(book.getIsbn());
+    }
+
+    /**
+     * Completes the file and atomically replaces the target with it. Returns the number of books.
+     */
+    public int publish() throws IOException {
+        heap.close();
+        long isbnOffset = records.position();
+        int slots = Integer.highestOneBit(Math.max(16, count * 2 - 1)) << 1;
+        long fileLength = isbnOffset + (long) slots * ISBN_SLOT_SIZE + heapLength;
+        if (fileLength > Integer.MAX_VALUE) {
+            throw new IOException("replica of " + count + " books needs " + fileLength + " bytes, more than one mapping holds");
+        }
+        writeFully(isbnTable(slots));
+
+        long heapOffset = records.position();
+        try (FileChannel strings = FileChannel.open(heapFile)) {
+            long copied = 0;
+            while (copied < heapLength) {
+                copied += strings.transferTo(copied, heapLength - copied, records);
+            }
+        }
+        records.position(fileLength);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ORDER)
+                .putLong(MAGIC)
+                .putInt(FORMAT)
+                .putInt(count)
+                .putLong(generation)
+                .putInt(slots)
+                .putInt(0)
+                .putLong(isbnOffset)
+                .putLong(heapOffset)
+                .putLong(heapLength)
+                .putLong(fileLength)
+                .flip();
+        records.position(0);
+        writeFully(header);
+        records.force(true);
+        records.close();
+        Files.deleteIfExists(heapFile);
+        Files.move(recordsFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return count;
+    }
+
+    /**
+     * Drops the temporary files; a no-op after {@link #publish()}.
+     */
+    @Override
+    public void close() throws IOException {
+        heap.close();
+        records.close();
+        Files.deleteIfExists(recordsFile);
+        Files.deleteIfExists(heapFile);
+    }
+
+    /** Linear probing over (key, record index) slots, laid out exactly as {@link BookReplica} probes them. */
+    private ByteBuffer isbnTable(final int slots) {
+        ByteBuffer table = ByteBuffer.allocate(slots * ISBN_SLOT_SIZE).order(ORDER);
+        int mask = slots - 1;
+        for (int slot = 0; slot < slots; slot++) {
+            table.putInt(slot * ISBN_SLOT_SIZE + 8, NO_RECORD);
+        }
+        for (int index = 0; index < count; index++) {
+            long key = isbnKeys[index];
+            if (key == IsbnIndex.NO_KEY) {
+                continue;
+            }
+            int slot = BookReplica.slot(key, slots);
+            while (table.getInt(slot * ISBN_SLOT_SIZE + 8) != NO_RECORD && table.getLong(slot * ISBN_SLOT_SIZE) != key) {
+                slot = (slot + 1) & mask;
+            }
+            table.putLong(slot * ISBN_SLOT_SIZE, key).putInt(slot * ISBN_SLOT_SIZE + 8, index);
+        }
+        return table;
+    }
+
+    /** Appends a length-prefixed UTF-8 string to the heap and returns its offset there, -1 for null. */
+    private int string(final String value) throws IOException {
+        if (value == null) {
+            return NULL_STRING;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (heapLength + 4 + bytes.length > Integer.MAX_VALUE) {
+            throw new IOException("replica string heap exceeds " + Integer.MAX_VALUE + " bytes");
+        }
+        int offset = (int) heapLength;
+        heap.write(length.putInt(0, bytes.length).array());
+        heap.write(bytes);
+        heapLength += 4 + bytes.length;
+        return offset;
+    }
+
+    private void writeFully(final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            records.write(buffer);
+        }
+    }
+
+    private static long micros(final Book book) {
+        return Math.addExact(Math.multiplyExact(book.getUpdatedAt().getEpochSecond(), 1_000_000L),
+                book.getUpdatedAt().getNano() / 1_000);
+    }
+}
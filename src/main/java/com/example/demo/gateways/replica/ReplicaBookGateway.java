@@ -0,0 +1,296 @@
+package com.example.demo.gateways.replica;
+
+import com.example.demo.controller.dtos.BookPutRequestDTO;
+import com.example.demo.domain.Book;
+import com.example.demo.domain.BookChanges;
+import com.example.demo.domain.BookSearchCriteria;
+import com.example.demo.domain.BookVersion;
+import com.example.demo.domain.ExportSnapshot;
+import com.example.demo.domain.StockUpdateStatus;
+import com.example.demo.exceptions.BookNotFoundException;
+import com.example.demo.exceptions.CustomHttpException;
+import com.example.demo.gateways.BookGateway;
+import com.example.demo.gateways.entity.BookEntity;
+import com.example.demo.gateways.entity.BookIds;
+import com.example.demo.gateways.index.BookTextIndex;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * The {@link BookGateway} of the {@code read-only} profile: every read is served from a
+ * {@link BookReplica} file that writable nodes publish (see {@link BookReplicaPublisher}), so the
+ * node needs no database connection, and every write is refused with 405. The file is checked every
+ * {@code library.replica.refresh-interval}; when it has been replaced by a higher generation the new
+ * replica is swapped in with one volatile write and {@link BookTextIndex} is rebuilt from it. Until
+ * the first file shows up the catalog is empty.
+ */
+@Slf4j
+@Profile("read-only")
+@Service
+@Timed("library.gateway")
+public class ReplicaBookGateway implements BookGateway {
+
+    private final Path file;
+    private final BookTextIndex bookTextIndex;
+
+    private volatile BookReplica replica = BookReplica.empty();
+
+    // identity of the file last looked at, so an unchanged file is not mapped again
+    private Object seenFileKey;
+    private long seenModified;
+
+    public ReplicaBookGateway(@Value("${library.replica.file:${java.io.tmpdir}/catalog.replica}") final Path file,
+                              final BookTextIndex bookTextIndex) {
+        this.file = file;
+        this.bookTextIndex = bookTextIndex;
+        BookReplica initial = load();
+        if (initial != null) {
+            replica = initial;
+        }
+    }
+
+    /**
+     * Swaps in the replica file if it now holds a higher generation than the one being served.
+     * Returns whether it did.
+     */
+    @Scheduled(initialDelayString = "${library.replica.refresh-interval:5s}",
+            fixedDelayString = "${library.replica.refresh-interval:5s}")
+    public synchronized boolean refresh() {
+        BookReplica next = load();
+        if (next == null) {
+            return false;
+        }
+        replica = next;
+        bookTextIndex.rebuild(next::forEach);
+        return true;
+    }
+
+    /** The replica being served, for tests and diagnostics. */
+    public BookReplica replica() {
+        return replica;
+    }
+
+    @Override
+    public Book createBook(final Book book) {
+        throw readOnly();
+    }
+
+    @Override
+    public List<Book> createBooks(final List<Book> books) {
+        throw readOnly();
+    }
+
+    @Override
+    public Map<String, Book> updateBooks(final Map<String, BookPutRequestDTO> changes) {
+        throw readOnly();
+    }
+
+    @Override
+    public Set<String> deleteBooksById(final Collection<String> ids) {
+        throw readOnly();
+    }
+
+    @Override
+    public Map<String, String> findIdsByIsbn(final Collection<String> isbns) {
+        BookReplica current = replica;
+        Map<String, String> owners = new HashMap<>();
+        for (String isbn : isbns) {
+            current.findByIsbn(isbn).ifPresent(book -> owners.put(isbn, book.getId()));
+        }
+        return owners;
+    }
+
+    @Override
+    public List<Book> listPage(final String afterId, final int limit) {
+        return replica.scan(afterId == null ? null : cursorId(afterId), limit, book -> true);
+    }
+
+    /**
+     * Filters the records in id order, matching the lower-cased keys the database search uses. No
+     * index narrows the scan, which a catalog held in page cache can afford.
+     */
+    @Override
+    public List<Book> searchBooks(final BookSearchCriteria criteria, final String afterId, final int limit) {
+        return replica.scan(afterId == null ? null : cursorId(afterId), limit, matching(criteria));
+    }
+
+    @Override
+    public List<Book> searchText(final String query, final int limit) {
+        BookReplica current = replica;
+        // the index may still describe the previous replica for a moment after a swap
+        return bookTextIndex.search(query, limit).stream()
+                .map(id -> current.find(UUID.fromString(id)))
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    @Override
+    public int rebuildTextIndex() {
+        BookReplica current = replica;
+        bookTextIndex.rebuild(current::forEach);
+        return bookTextIndex.size();
+    }
+
+    /**
+     * The replica file carries its own ISBN table, so there is nothing to load.
+     */
+    @Override
+    public int rebuildIsbnIndex() {
+        return replica.size();
+    }
+
+    @Override
+    public Optional<Book> findBookByIsbn(final String isbn) {
+        return replica.findByIsbn(isbn);
+    }
+
+    @Override
+    public void exportAll(final Consumer<Book> consumer) {
+        replica.forEach(consumer);
+    }
+
+    @Override
+    public Optional<ExportSnapshot> exportSnapshot() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Book getBookById(final String id) {
+        UUID uuid = BookIds.parse(id);
+        if (uuid == null) {
+            throw new BookNotFoundException("book not found!");
+        }
+        return replica.find(uuid).orElseThrow(() -> new BookNotFoundException("book not found!"));
+    }
+
+    @Override
+    public Optional<BookVersion> findVersion(final String id) {
+        UUID uuid = BookIds.parse(id);
+        return uuid == null ? Optional.empty() : replica.findVersion(uuid);
+    }
+
+    @Override
+    public void deleteBookById(final String id) {
+        throw readOnly();
+    }
+
+    @Override
+    public Book updateBook(final String id, final BookPutRequestDTO bookPutRequestDTO, final Long expectedVersion) {
+        throw readOnly();
+    }
+
+    @Override
+    public StockUpdateStatus reserveStock(final String id, final int quantity) {
+        throw readOnly();
+    }
+
+    @Override
+    public StockUpdateStatus releaseStock(final String id, final int quantity) {
+        throw readOnly();
+    }
+
+    /**
+     * The change log lives in the database, which this node does not reach.
+     */
+    @Override
+    public BookChanges findChanges(final long since, final int limit) {
+        throw new CustomHttpException("the change feed is served by writable nodes", HttpStatus.NOT_IMPLEMENTED.value());
+    }
+
+    @Override
+    public long lastChange() {
+        throw new CustomHttpException("the change feed is served by writable nodes", HttpStatus.NOT_IMPLEMENTED.value());
+    }
+
+    /**
+     * Maps the file if it changed since the last look and holds a newer generation; null otherwise.
+     * A missing or unreadable file keeps the current replica.
+     */
+    private BookReplica load() {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            Object fileKey = attributes.fileKey();
+            long modified = attributes.lastModifiedTime().toMillis();
+            if (fileKey != null && fileKey.equals(seenFileKey) && modified == seenModified) {
+                return null;
+            }
+            BookReplica next = BookReplica.open(file);
+            seenFileKey = fileKey;
+            seenModified = modified;
+            if (next.generation() <= replica.generation()) {
+                log.warn("ignoring replica {} with generation {}, serving generation {}", file, next.generation(), replica.generation());
+                return null;
+            }
+            log.info("serving replica {} generation {} with {} books", file, next.generation(), next.size());
+            return next;
+        } catch (NoSuchFileException e) {
+            if (seenFileKey == null) {
+                log.warn("no replica at {} yet, serving generation {}", file, replica.generation());
+            }
+            return null;
+        } catch (IOException e) {
+            log.warn("could not map replica {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private static Predicate<Book> matching(final BookSearchCriteria criteria) {
+        Predicate<Book> filter = book -> true;
+        if (criteria.title() != null) {
+            filter = filter.and(book -> matches(book.getTitle(), criteria.title(), criteria.match()));
+        }
+        if (criteria.author() != null) {
+            filter = filter.and(book -> matches(book.getAuthor(), criteria.author(), criteria.match()));
+        }
+        if (criteria.minPriceInCents() != null) {
+            filter = filter.and(book -> book.getPriceInCents() >= criteria.minPriceInCents());
+        }
+        if (criteria.maxPriceInCents() != null) {
+            filter = filter.and(book -> book.getPriceInCents() <= criteria.maxPriceInCents());
+        }
+        if (criteria.inStockOnly()) {
+            filter = filter.and(book -> book.getStock() > 0);
+        }
+        return filter;
+    }
+
+    private static boolean matches(final String value, final String term, final BookSearchCriteria.Match match) {
+        String key = BookEntity.searchKey(value);
+        String pattern = Objects.requireNonNull(BookEntity.searchKey(term));
+        return key != null && (match == BookSearchCriteria.Match.CONTAINS ? key.contains(pattern) : key.startsWith(pattern));
+    }
+
+    /** Cursors only ever carry ids this API handed out, so anything else is a malformed cursor. */
+    private static UUID cursorId(final String afterId) {
+        UUID uuid = BookIds.parse(afterId);
+        if (uuid == null) {
+            throw new IllegalArgumentException("invalid cursor");
+        }
+        return uuid;
+    }
+
+    private static CustomHttpException readOnly() {
+        return new CustomHttpException("catalog is read-only on this node", HttpStatus.METHOD_NOT_ALLOWED.value());
+    }
+}
@@ -0,0 +1,551 @@
+package com.example.demo.gateways.snapshot;
+
+import com.example.demo.controller.dtos.BookResponseDTO;
+import com.example.demo.controller.json.BookJsonWriter;
+import com.example.demo.controller.mapper.BookMapper;
+import com.example.demo.domain.ExportSnapshot;
+import com.example.demo.exceptions.CustomHttpException;
+import com.example.demo.gateways.changes.BookChangeLog;
+import com.example.demo.gateways.entity.BookChangeEntity;
+import com.example.demo.gateways.entity.BookEntity;
+import com.example.demo.gateways.entity.BookIds;
+import com.example.demo.gateways.mapper.BookGatewayMapper;
+import com.example.demo.repository.BookRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * The NDJSON catalog export as a gzip file on disk, so a full download is a file transfer instead
+ * of a table scan, serialization and compression per request.
+ * <p>
+ * The catalog is cut into segments of consecutive ids. Each segment is deflated on its own and
+ * ended with a sync flush rather than a final block, so compressed segments can be concatenated
+ * into one deflate stream. The file is the gzip header, the segments, an empty final block and a
+ * trailer whose CRC is combined from the segment CRCs. Gateway writes mark the segment holding the
+ * id stale, and the next {@link #current()} deflates only the stale segments again and reassembles
+ * the file with {@link FileChannel#transferTo}.
+ * <p>
+ * Writes made through other instances' gateways reach this one through the change log: before it
+ * hands out the snapshot, {@link #current()} reads the {@code book_change} rows after the last seq
+ * it has seen and marks their segments stale too, which is one indexed read per download. When that
+ * cursor has been purged, or the backlog is too long to be worth patching, it rebuilds everything.
+ * The nightly {@link #rebuild()} cuts the segments afresh.
+ */
+@Slf4j
+@Profile("!reactive & !read-only")
+@Component
+public class CatalogSnapshot {
+
+    /** Rows exported between persistence context clears, as in {@code JpaBookGateway.exportAll}. */
+    static final int CLEAR_INTERVAL = 500;
+
+    /** Pending stale ids beyond which the next refresh rebuilds everything instead. */
+    static final int MAX_STALE_IDS = 100_000;
+
+    // gzip member header: magic, deflate, no flags, no mtime, no extra flags, unknown OS
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    // empty final block with fixed Huffman codes, closing the deflate stream after the last segment
+    private static final byte[] FINAL_BLOCK = {3, 0};
+
+    private final BookRepository bookRepository;
+    private final BookChangeLog bookChangeLog;
+    private final BookGatewayMapper bookGatewayMapper;
+    private final BookMapper bookMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnly;
+    private final boolean enabled;
+    private final int segmentSize;
+    private final int compressionLevel;
+    private final Path baseDirectory;
+
+    private final Set<UUID> staleIds = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuildAll = true;
+
+    // everything below is guarded by lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private Path directory;
+    private List<Segment> segments = List.of();
+    private Published snapshot;
+    private long changesSeen;
+    private long files;
+
+    public CatalogSnapshot(final BookRepository bookRepository,
+                           final BookChangeLog bookChangeLog,
+                           final BookGatewayMapper bookGatewayMapper,
+                           final BookMapper bookMapper,
+                           final EntityManager entityManager,
+                           final PlatformTransactionManager transactionManager,
+                           @Value("${library.snapshot.enabled:true}") final boolean enabled,
+                           @Value("${library.snapshot.segment-size:10000}") final int segmentSize,
+                           @Value("${library.snapshot.compression-level:9}") final int compressionLevel,
+                           @Value("${library.snapshot.directory:${java.io.tmpdir}}") final Path baseDirectory) {
+        this.bookRepository = bookRepository;
+        this.bookChangeLog = bookChangeLog;
+        this.bookGatewayMapper = bookGatewayMapper;
+        this.bookMapper = bookMapper;
+        this.entityManager = entityManager;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.enabled = enabled;
+        this.segmentSize = segmentSize;
+        this.compressionLevel = compressionLevel;
+        this.baseDirectory = baseDirectory;
+    }
+
+    /**
+     * The snapshot with every logged change applied, refreshing stale segments first; empty when
+     * snapshots are disabled. The file is opened before the lock is let go, so a refresh that
+     * replaces it right after cannot take it away; the caller closes the snapshot.
+     */
+    public Optional<ExportSnapshot> current() {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        lock.lock();
+        try {
+            if (snapshot != null && !rebuildAll) {
+                catchUp();
+            }
+            if (snapshot == null || rebuildAll || !staleIds.isEmpty()) {
+                refresh();
+            }
+            return Optional.of(new ExportSnapshot(FileChannel.open(snapshot.file(), READ), snapshot.length(),
+                    snapshot.version()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks the segments holding these books stale. Inside a transaction this takes effect after
+     * commit, so a refresh never reads the rows before the change is visible.
+     */
+    public void markStale(final Collection<String> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return;
+        }
+        List<UUID> uuids = ids.stream().map(BookIds::parse).filter(Objects::nonNull).toList();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addStale(uuids);
+                }
+            });
+        } else {
+            addStale(uuids);
+        }
+    }
+
+    public void markStale(final String id) {
+        markStale(List.of(id));
+    }
+
+    /**
+     * Cuts and deflates every segment again, for the nightly export. Downloads in the meantime
+     * wait for it and get the new file.
+     */
+    @Scheduled(cron = "${library.snapshot.rebuild-cron:0 0 3 * * *}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        rebuildAll = true;
+        current();
+    }
+
+    /**
+     * Makes the next {@link #current()} rebuild every segment, for changes made behind the gateway.
+     */
+    public void invalidate() {
+        rebuildAll = true;
+    }
+
+    /** Segment files in catalog order, for tests. */
+    List<Path> segmentFiles() {
+        lock.lock();
+        try {
+            return segments.stream().map(Segment::file).toList();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void deleteFiles() throws IOException {
+        lock.lock();
+        try {
+            if (directory != null) {
+                try (Stream<Path> paths = Files.list(directory)) {
+                    for (Path path : paths.toList()) {
+                        Files.deleteIfExists(path);
+                    }
+                }
+                Files.deleteIfExists(directory);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void addStale(final List<UUID> uuids) {
+        staleIds.addAll(uuids);
+        if (staleIds.size() > MAX_STALE_IDS) {
+            rebuildAll = true;
+            staleIds.clear();
+        }
+    }
+
+    /**
+     * Marks the segments of the books logged after {@link #changesSeen} stale, whichever instance
+     * wrote them, or the whole snapshot when the log cannot say.
+     */
+    private void catchUp() {
+        List<BookChangeEntity> changes;
+        try {
+            changes = bookChangeLog.read(changesSeen, MAX_STALE_IDS);
+        } catch (CustomHttpException e) {
+            // purged past our cursor
+            rebuildAll = true;
+            return;
+        }
+        if (changes.size() == MAX_STALE_IDS) {
+            rebuildAll = true;
+        } else if (!changes.isEmpty()) {
+            addStale(changes.stream().map(BookChangeEntity::getBookId).toList());
+            changesSeen = changes.getLast().getSeq();
+        }
+    }
+
+    private void refresh() throws IOException {
+        long started = System.nanoTime();
+        if (directory == null) {
+            // one directory per instance, so several contexts or processes never share files
+            directory = Files.createTempDirectory(Files.createDirectories(baseDirectory), "catalog-snapshot-");
+        }
+        // drained before reading, so a change marked from here on is picked up by the next refresh
+        Set<UUID> stale = new HashSet<>(staleIds);
+        staleIds.removeAll(stale);
+        boolean full = rebuildAll || snapshot == null;
+        rebuildAll = false;
+        try {
+            if (full) {
+                // taken before the rows are read, so a change committed during the rebuild is caught up after it
+                changesSeen = bookChangeLog.last();
+            }
+            int deflated = full ? rebuildSegments() : refreshSegments(stale);
+            publish(assemble());
+            log.info("catalog snapshot {} with {} of {} segments deflated in {} ms", snapshot.file().getFileName(),
+                    deflated, segments.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            // segment files may be half replaced, start over next time
+            rebuildAll = true;
+            throw e;
+        }
+    }
+
+    private int rebuildSegments() throws IOException {
+        List<Segment> rebuilt = build(null, null);
+        Set<Path> kept = rebuilt.stream().map(Segment::file).collect(Collectors.toSet());
+        segments = rebuilt;
+        // also sweeps files left behind by a failed refresh
+        try (Stream<Path> paths = Files.list(directory)) {
+            for (Path path : paths.toList()) {
+                if (path.getFileName().toString().startsWith("segment-") && !kept.contains(path)) {
+                    Files.delete(path);
+                }
+            }
+        }
+        return rebuilt.size();
+    }
+
+    private int refreshSegments(final Set<UUID> stale) throws IOException {
+        boolean[] marked = new boolean[segments.size()];
+        stale.forEach(id -> marked[segmentOf(id)] = true);
+        List<Segment> refreshed = new ArrayList<>(segments.size());
+        List<Segment> replaced = new ArrayList<>();
+        int deflated = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            if (!marked[i]) {
+                refreshed.add(segment);
+                continue;
+            }
+            // same id range as before; one that has outgrown the segment size is split
+            List<Segment> rebuilt = build(i == 0 ? null : segments.get(i - 1).upTo(), segment.upTo());
+            refreshed.addAll(rebuilt);
+            replaced.add(segment);
+            deflated += rebuilt.size();
+        }
+        segments = refreshed;
+        for (Segment segment : replaced) {
+            Files.delete(segment.file());
+        }
+        return deflated;
+    }
+
+    /**
+     * Index of the segment whose id range holds {@code id}. Ranges are contiguous and the last one
+     * is open-ended, so there always is one.
+     */
+    private int segmentOf(final UUID id) {
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (BookIds.ID_ORDER.compare(id, segments.get(middle).upTo()) <= 0) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Deflates the books after {@code afterId} up to {@code upToId} into segments of at most
+     * segment-size books. Always returns at least one segment, the last one ending at {@code upToId},
+     * so the ranges stay contiguous even when books are deleted.
+     */
+    private List<Segment> build(final UUID afterId, final UUID upToId) throws IOException {
+        List<Segment> built = new ArrayList<>();
+        try {
+            readOnly.executeWithoutResult(status -> {
+                try (Stream<BookEntity> entities = bookRepository.streamRange(afterId, upToId)) {
+                    Iterator<BookEntity> iterator = entities.iterator();
+                    SegmentWriter writer = new SegmentWriter(nextFile("segment-", ".deflate"));
+                    try {
+                        int rows = 0;
+                        UUID last = null;
+                        while (iterator.hasNext()) {
+                            BookEntity entity = iterator.next();
+                            if (writer.books == segmentSize) {
+                                built.add(writer.finish(last));
+                                writer.close();
+                                writer = new SegmentWriter(nextFile("segment-", ".deflate"));
+                            }
+                            writer.write(bookMapper.toDTO(bookGatewayMapper.toBookDomain(entity)));
+                            last = entity.getId();
+                            if (++rows % CLEAR_INTERVAL == 0) {
+                                entityManager.clear();
+                            }
+                        }
+                        built.add(writer.finish(upToId));
+                    } finally {
+                        writer.close();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return built;
+    }
+
+    private Published assemble() throws IOException {
+        Path file = nextFile("books-", ".ndjson.gz");
+        long crc = 0;
+        long size = 0;
+        try (FileChannel out = FileChannel.open(file, CREATE_NEW, WRITE)) {
+            writeFully(out, ByteBuffer.wrap(GZIP_HEADER));
+            for (Segment segment : segments) {
+                try (FileChannel in = FileChannel.open(segment.file(), READ)) {
+                    // file to file, copied inside the kernel
+                    long length = in.size();
+                    for (long position = 0; position < length; ) {
+                        position += in.transferTo(position, length - position, out);
+                    }
+                }
+                crc = crc32Combine(crc, segment.crc(), segment.size());
+                size += segment.size();
+            }
+            ByteBuffer trailer = ByteBuffer.allocate(FINAL_BLOCK.length + 8).order(ByteOrder.LITTLE_ENDIAN)
+                    .put(FINAL_BLOCK)
+                    .putInt((int) crc)
+                    // ISIZE is the uncompressed length modulo 2^32
+                    .putInt((int) size);
+            writeFully(out, trailer.flip());
+        }
+        return new Published(file, Files.size(file), String.format("%08x%x", crc, size));
+    }
+
+    private void publish(final Published next) throws IOException {
+        // snapshots handed out by current() hold the file open and keep reading it once it is unlinked
+        if (snapshot != null) {
+            Files.deleteIfExists(snapshot.file());
+        }
+        snapshot = next;
+    }
+
+    private Path nextFile(final String prefix, final String suffix) {
+        return directory.resolve(prefix + ++files + suffix);
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * CRC-32 of two byte sequences concatenated, from the CRC of each and the length of the second
+     * (zlib's {@code crc32_combine}): the first CRC is advanced over {@code length2} zero bytes by
+     * repeated squaring of the one-zero-bit operator, then the second is added.
+     */
+    static long crc32Combine(final long crc1, final long crc2, long length2) {
+        if (length2 <= 0) {
+            return crc1;
+        }
+        long[] even = new long[32];
+        long[] odd = new long[32];
+        // operator for one zero bit: the reflected CRC-32 polynomial, then the identity shifted by one
+        odd[0] = 0xedb88320L;
+        long row = 1;
+        for (int n = 1; n < 32; n++) {
+            odd[n] = row;
+            row <<= 1;
+        }
+        gf2MatrixSquare(even, odd); // two zero bits
+        gf2MatrixSquare(odd, even); // four zero bits
+
+        long crc = crc1;
+        do {
+            // first pass applies one zero byte (eight bits), every pass after that doubles
+            gf2MatrixSquare(even, odd);
+            if ((length2 & 1) != 0) {
+                crc = gf2MatrixTimes(even, crc);
+            }
+            length2 >>= 1;
+            if (length2 == 0) {
+                break;
+            }
+            gf2MatrixSquare(odd, even);
+            if ((length2 & 1) != 0) {
+                crc = gf2MatrixTimes(odd, crc);
+            }
+            length2 >>= 1;
+        } while (length2 != 0);
+        return crc ^ crc2;
+    }
+
+    private static long gf2MatrixTimes(final long[] matrix, long vector) {
+        long sum = 0;
+        for (int i = 0; vector != 0; i++, vector >>>= 1) {
+            if ((vector & 1) != 0) {
+                sum ^= matrix[i];
+            }
+        }
+        return sum;
+    }
+
+    private static void gf2MatrixSquare(final long[] square, final long[] matrix) {
+        for (int n = 0; n < 32; n++) {
+            square[n] = gf2MatrixTimes(matrix, matrix[n]);
+        }
+    }
+
+    /**
+     * A deflated run of NDJSON lines: the last id it covers (null for the open-ended last segment),
+     * and the CRC-32 and length of the uncompressed lines.
+     */
+    private record Segment(UUID upTo, Path file, long crc, long size) {
+    }
+
+    /**
+     * The assembled gzip file that {@link #current()} opens for callers.
+     */
+    private record Published(Path file, long length, String version) {
+    }
+
+    /**
+     * Raw deflate (no zlib or gzip framing) into a segment file, ended by a sync flush so the output
+     * is byte-aligned and the stream stays open for whatever segment follows.
+     */
+    private final class SegmentWriter implements Closeable {
+
+        private final Path file;
+        private final OutputStream fileOut;
+        private final Deflater deflater = new Deflater(compressionLevel, true);
+        private final DeflaterOutputStream deflated;
+        private final CRC32 crc = new CRC32();
+        private final BookJsonWriter json;
+        private int books;
+
+        SegmentWriter(final Path file) throws IOException {
+            this.file = file;
+            this.fileOut = Files.newOutputStream(file, CREATE_NEW, WRITE);
+            this.deflated = new DeflaterOutputStream(fileOut, deflater, 64 * 1024, true);
+            this.json = BookJsonWriter.open(new CheckedOutputStream(deflated, crc));
+        }
+
+        void write(final BookResponseDTO book) throws IOException {
+            json.writeLine(book);
+            books++;
+        }
+
+        Segment finish(final UUID upTo) throws IOException {
+            json.flush();
+            deflated.flush();
+            return new Segment(upTo, file, crc.getValue(), deflater.getBytesRead());
+        }
+
+        /**
+         * Releases the deflater and the file without {@link DeflaterOutputStream#finish()}, which
+         * would write a final block.
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                json.close();
+            } finally {
+                deflater.end();
+                fileOut.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.demo.gateways.stock;
+
+import com.example.demo.domain.StockUpdateStatus;
+import com.example.demo.gateways.changes.BookChangeLog;
+import com.example.demo.repository.BookRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntBiFunction;
+
+import static com.example.demo.domain.StockUpdateStatus.APPLIED;
+import static com.example.demo.domain.StockUpdateStatus.INSUFFICIENT_STOCK;
+import static com.example.demo.domain.StockUpdateStatus.NOT_FOUND;
+import static com.example.demo.domain.StockUpdateStatus.STOCK_LIMIT_EXCEEDED;
+
+/**
+ * Applies stock reservations and releases as conditional UPDATEs, coalescing concurrent requests
+ * for the same book (flat combining). Requests queue on one of a fixed set of stripes; the thread
+ * holding the stripe lock drains the queue and writes one summed UPDATE per book, so a hot title
+ * takes its row lock once per batch instead of once per request. An uncontended request is applied
+ * by its own thread straight away. The database stays the only source of truth for stock, so this
+ * is safe with several application instances.
+ * <p>
+ * Each book's batch runs in one transaction that also logs the change to {@link BookChangeLog}, so
+ * an applied stock change is never committed without its change log row.
+ */
+@Profile("!reactive & !read-only")
+@Component
+public class StockCoalescer {
+
+    static final int STRIPES = 64;
+
+    private final BookRepository bookRepository;
+    private final BookChangeLog bookChangeLog;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public StockCoalescer(final BookRepository bookRepository,
+                          final BookChangeLog bookChangeLog,
+                          final PlatformTransactionManager transactionManager,
+                          @Value("${library.stock.coalescing.enabled:true}") final boolean enabled) {
+        this.bookRepository = bookRepository;
+        this.bookChangeLog = bookChangeLog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public StockUpdateStatus reserve(final UUID id, final int quantity) {
+        return submit(new Request(id, -quantity));
+    }
+
+    public StockUpdateStatus release(final UUID id, final int quantity) {
+        return submit(new Request(id, quantity));
+    }
+
+    private StockUpdateStatus submit(final Request request) {
+        if (!enabled) {
+            apply(request.id, List.of(request));
+            return request.result();
+        }
+
+        Stripe stripe = stripes[Math.floorMod(request.id.hashCode(), STRIPES)];
+        stripe.queue.add(request);
+        stripe.lock.lock();
+        try {
+            // another thread may already have applied this request while we waited for the lock
+            if (!request.isDone()) {
+                drain(stripe.queue);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+        return request.result();
+    }
+
+    private void drain(final Queue<Request> queue) {
+        Map<UUID, List<Request>> byBook = new LinkedHashMap<>();
+        for (Request request; (request = queue.poll()) != null; ) {
+            byBook.computeIfAbsent(request.id, id -> new ArrayList<>()).add(request);
+        }
+        byBook.forEach((id, requests) -> {
+            try {
+                apply(id, requests);
+            } catch (RuntimeException e) {
+                // the whole batch rolled back, including what it had already applied
+                requests.forEach(request -> {
+                    request.status = null;
+                    request.failure = e;
+                });
+            }
+        });
+    }
+
+    private void apply(final UUID id, final List<Request> requests) {
+        List<Request> releases = requests.stream().filter(request -> request.delta > 0).toList();
+        List<Request> reserves = requests.stream().filter(request -> request.delta < 0).toList();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!releases.isEmpty()) {
+                apply(id, releases, bookRepository::incrementStock, STOCK_LIMIT_EXCEEDED);
+            }
+            if (!reserves.isEmpty()) {
+                apply(id, reserves, bookRepository::decrementStock, INSUFFICIENT_STOCK);
+            }
+            if (requests.stream().anyMatch(request -> request.status == APPLIED)) {
+                // one row per book and transaction, however many requests the batch applied
+                bookChangeLog.changed(List.of(id));
+            }
+        });
+    }
+
+    /**
+     * One conditional UPDATE for the summed quantity. When the batch does not fit as a whole (not
+     * enough stock left, or more than the int column holds): first come, first served. A quantity
+     * that did not fit rules out every larger one, so a sold-out title costs a couple of statements
+     * per batch.
+     */
+    private void apply(final UUID id, final List<Request> requests, final ToIntBiFunction<UUID, Long> update,
+                       final StockUpdateStatus doesNotFit) {
+        if (update.applyAsInt(id, total(requests)) == 1) {
+            requests.forEach(request -> request.status = APPLIED);
+            return;
+        }
+        long smallestRejected = Long.MAX_VALUE;
+        List<Request> rejected = new ArrayList<>();
+        for (Request request : requests) {
+            long quantity = Math.abs(request.delta);
+            boolean applied = requests.size() > 1 && quantity < smallestRejected && update.applyAsInt(id, quantity) == 1;
+            if (applied) {
+                request.status = APPLIED;
+            } else {
+                smallestRejected = Math.min(smallestRejected, quantity);
+                rejected.add(request);
+            }
+        }
+        StockUpdateStatus status = bookRepository.existsById(id) ? doesNotFit : NOT_FOUND;
+        rejected.forEach(request -> request.status = status);
+    }
+
+    private static long total(final List<Request> requests) {
+        return Math.abs(requests.stream().mapToLong(request -> request.delta).sum());
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Queue<Request> queue = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * One caller's change. Written by whichever thread drains it, under the stripe lock, and read by
+     * the caller after it has taken that lock itself.
+     */
+    private static final class Request {
+        private final UUID id;
+        private final long delta;
+        private StockUpdateStatus status;
+        private RuntimeException failure;
+
+        private Request(final UUID id, final long delta) {
+            this.id = id;
+            this.delta = delta;
+        }
+
+        private boolean isDone() {
+            return status != null || failure != null;
+        }
+
+        private StockUpdateStatus result() {
+            if (failure != null) {
+                throw failure;
+            }
+            return status;
+        }
+    }
+}
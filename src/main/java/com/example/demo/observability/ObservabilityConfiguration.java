@@ -0,0 +1,27 @@
+package com.example.demo.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Per-request SQL statement counts. Use case and gateway timers come from their {@code @Timed}
+ * annotations; Hikari, Hibernate statistics and second-level cache metrics are bound by Spring Boot.
+ */
+@Profile("!reactive & !read-only")
+@Configuration(proxyBeanMethods = false)
+public class ObservabilityConfiguration {
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter());
+    }
+
+    @Bean
+    public StatementCountFilter statementCountFilter(final MeterRegistry meterRegistry) {
+        return new StatementCountFilter(meterRegistry);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.demo.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Listener on the proxied DataSource: logs statements slower than {@code slowThreshold} with their
+ * bind parameters and timing, and logs a {@code sampleRate} fraction of all other statements at
+ * DEBUG. A JDBC batch is one execution. The per-request count is {@link StatementCounter}'s.
+ * <p>
+ * Entries go to the {@code library.sql} logger as {@code key=value} pairs, for example
+ * {@code elapsedMs=412 batch=false success=true sql=[select ...] params=[[978-...]]}.
+ */
+@Slf4j(topic = "library.sql")
+public class SqlMonitor implements QueryExecutionListener {
+
+    private final long slowThresholdMillis;
+    private final double sampleRate;
+    private final Counter slowStatements;
+
+    public SqlMonitor(final Duration slowThreshold, final double sampleRate, final MeterRegistry meterRegistry) {
+        this.slowThresholdMillis = slowThreshold.toMillis();
+        this.sampleRate = sampleRate;
+        this.slowStatements = Counter.builder("library.sql.slow")
+                .description("JDBC executions slower than library.sql-monitor.slow-threshold")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void beforeQuery(final ExecutionInfo execution, final List<QueryInfo> queries) {
+    }
+
+    @Override
+    public void afterQuery(final ExecutionInfo execution, final List<QueryInfo> queries) {
+        if (execution.getElapsedTime() >= slowThresholdMillis) {
+            slowStatements.increment();
+            log.warn("slow statement {}", describe(execution, queries));
+        } else if (log.isDebugEnabled() && sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.debug("statement {}", describe(execution, queries));
+        }
+    }
+
+    private static String describe(final ExecutionInfo execution, final List<QueryInfo> queries) {
+        List<String> sql = new ArrayList<>(queries.size());
+        List<List<Object>> params = new ArrayList<>();
+        for (QueryInfo query : queries) {
+            sql.add(query.getQuery());
+            for (List<ParameterSetOperation> operations : query.getParametersList()) {
+                List<Object> values = new ArrayList<>(operations.size());
+                // args are (index, value[, type]); the operations are kept in index order
+                operations.forEach(operation -> values.add(operation.getArgs().length > 1 ? operation.getArgs()[1] : null));
+                params.add(values);
+            }
+        }
+        return "elapsedMs=" + execution.getElapsedTime()
+                + " batch=" + execution.isBatch()
+                + " success=" + execution.isSuccess()
+                + " sql=" + sql
+                + " params=" + params;
+    }
+}
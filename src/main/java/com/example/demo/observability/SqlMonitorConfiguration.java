@@ -0,0 +1,60 @@
+package com.example.demo.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Dev and test replacement for {@code spring.jpa.show-sql}: the DataSource behind BookRepository is
+ * wrapped in a datasource-proxy that feeds {@link SqlMonitor}, and {@link SqlMonitorFilter} reports
+ * and budgets the per-request {@link StatementCounter} count. Off unless
+ * {@code library.sql-monitor.enabled} is set; production keeps only the statement count metric.
+ */
+@Profile("!reactive & !read-only")
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnBooleanProperty("library.sql-monitor.enabled")
+public class SqlMonitorConfiguration {
+
+    @Bean
+    public SqlMonitor sqlMonitor(@Value("${library.sql-monitor.slow-threshold:100ms}") final Duration slowThreshold,
+                                 @Value("${library.sql-monitor.sample-rate:0}") final double sampleRate,
+                                 final MeterRegistry meterRegistry) {
+        return new SqlMonitor(slowThreshold, sampleRate, meterRegistry);
+    }
+
+    @Bean
+    public SqlMonitorFilter sqlMonitorFilter(@Value("${library.sql-monitor.statement-budget:10}") final int statementBudget,
+                                             final MeterRegistry meterRegistry) {
+        return new SqlMonitorFilter(statementBudget, meterRegistry);
+    }
+
+    /**
+     * Static, and resolving the monitor lazily, so the post-processor does not pull the metrics
+     * infrastructure into existence before the other post-processors are registered.
+     */
+    @Bean
+    public static BeanPostProcessor sqlMonitorDataSourceProxy(final ObjectProvider<SqlMonitor> sqlMonitor) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(sqlMonitor.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
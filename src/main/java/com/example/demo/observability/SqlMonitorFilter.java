@@ -0,0 +1,113 @@
+package com.example.demo.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Reports the statements {@link StatementCounter} counted for each request in the
+ * {@value #STATEMENT_COUNT_HEADER} response header, so tests can assert on it, and logs a warning
+ * for requests over {@code statementBudget} (a likely N+1). The header is set just before the body
+ * is written; statements issued after that only show up in the log. Runs inside
+ * {@link StatementCountFilter}, whose scope it reads.
+ */
+@Slf4j(topic = "library.sql")
+@RequiredArgsConstructor
+public class SqlMonitorFilter extends OncePerRequestFilter implements Ordered {
+
+    public static final String STATEMENT_COUNT_HEADER = "X-SQL-Statement-Count";
+
+    private final int statementBudget;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        CountingResponse counting = new CountingResponse(response);
+        try {
+            filterChain.doFilter(request, counting);
+        } finally {
+            counting.writeHeader();
+            int statements = StatementCounter.current();
+            if (statements > statementBudget) {
+                Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                String route = uri == null ? "UNKNOWN" : uri.toString();
+                log.warn("{} {} issued {} SQL statements, over the budget of {}",
+                        request.getMethod(), request.getRequestURI(), statements, statementBudget);
+                Counter.builder("library.sql.budget.exceeded")
+                        .description("Requests that issued more SQL statements than library.sql-monitor.statement-budget")
+                        .tag("method", request.getMethod())
+                        .tag("uri", route)
+                        .register(meterRegistry)
+                        .increment();
+            }
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return StatementCountFilter.ORDER + 1;
+    }
+
+    /**
+     * Sets the count header the moment the response is about to commit.
+     */
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private boolean written;
+
+        CountingResponse(final HttpServletResponse response) {
+            super(response);
+        }
+
+        void writeHeader() {
+            if (!written && !isCommitted()) {
+                setHeader(STATEMENT_COUNT_HEADER, Integer.toString(StatementCounter.current()));
+            }
+            written = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(final int status, final String message) throws IOException {
+            writeHeader();
+            super.sendError(status, message);
+        }
+
+        @Override
+        public void sendError(final int status) throws IOException {
+            writeHeader();
+            super.sendError(status);
+        }
+    }
+}
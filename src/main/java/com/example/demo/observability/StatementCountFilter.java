@@ -0,0 +1,57 @@
+package com.example.demo.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements each request issued as {@code library.http.server.statements},
+ * tagged like {@code http.server.requests} with the method and the matched URI template. Work
+ * handed to another thread (the body of a streamed export) is not counted.
+ */
+@RequiredArgsConstructor
+public class StatementCountFilter extends OncePerRequestFilter implements Ordered {
+
+    static final String METRIC = "library.http.server.statements";
+
+    /** Ahead of {@link SqlMonitorFilter}, which reads the count while this filter's scope is open. */
+    static final int ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+    /** Bucket bounds for the histogram, so "requests over N statements" can be queried directly. */
+    private static final double[] STATEMENT_BUCKETS = {1, 2, 5, 10, 25, 50, 100};
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        StatementCounter.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = StatementCounter.close();
+            Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder(METRIC)
+                    .description("SQL statements issued per HTTP request")
+                    .serviceLevelObjectives(STATEMENT_BUCKETS)
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+                    .register(meterRegistry)
+                    .record(statements);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
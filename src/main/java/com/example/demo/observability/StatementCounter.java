@@ -0,0 +1,46 @@
+package com.example.demo.observability;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #open()} and
+ * {@link #close()}. A JDBC batch is prepared once, so it counts as one statement however many rows
+ * it carries. Outside an open scope (startup, scheduled work) statements are not counted.
+ * <p>
+ * The one per-request count: {@link StatementCountFilter} opens the scope and records it, and
+ * {@link SqlMonitorFilter}, running inside it, reads {@link #current()} for its header and budget.
+ */
+public final class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    static void open() {
+        COUNT.set(new int[1]);
+    }
+
+    /**
+     * Ends the scope opened on this thread and returns how many statements it saw.
+     */
+    static int close() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    /**
+     * Statements so far in the scope open on this thread.
+     */
+    static int current() {
+        int[] count = COUNT.get();
+        return count == null ? 0 : count[0];
+    }
+
+    @Override
+    public String inspect(final String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.demo.repository;
+
+import com.example.demo.gateways.entity.BookChangeHeadEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface BookChangeHeadRepository extends JpaRepository<BookChangeHeadEntity, Integer> {
+
+    /**
+     * The head row, locked until the caller's transaction ends, so appends take their seqs one
+     * transaction at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select h from BookChangeHeadEntity h where h.id = " + BookChangeHeadEntity.ID)
+    BookChangeHeadEntity lock();
+
+    @Query("select h from BookChangeHeadEntity h where h.id = " + BookChangeHeadEntity.ID)
+    BookChangeHeadEntity head();
+
+    /**
+     * Moves the purge watermark forward to {@code seq}, never back.
+     */
+    @Modifying
+    @Transactional
+    @Query("update BookChangeHeadEntity h set h.purgedThrough = :seq "
+            + "where h.id = " + BookChangeHeadEntity.ID + " and h.purgedThrough < :seq")
+    int advancePurgedThrough(long seq);
+}
@@ -0,0 +1,31 @@
+package com.example.demo.repository;
+
+import com.example.demo.gateways.entity.BookChangeEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BookChangeRepository extends JpaRepository<BookChangeEntity, Long> {
+
+    List<BookChangeEntity> findBySeqGreaterThanOrderBySeqAsc(long seq, Limit limit);
+
+    /**
+     * The newest seq logged before {@code cutoff}. Rows are appended at commit in seq order, so every
+     * row up to it is at least as old.
+     */
+    @Query("select max(c.seq) from BookChangeEntity c where c.changedAt < :cutoff")
+    Optional<Long> findLastSeqBefore(Instant cutoff);
+
+    @Modifying
+    @Transactional
+    @Query("delete from BookChangeEntity c where c.seq <= :seq")
+    int deleteThrough(long seq);
+}
@@ -0,0 +1,10 @@
+package com.example.demo.repository;
+
+import java.util.UUID;
+
+public interface BookIsbnView {
+
+    UUID getId();
+
+    String getIsbn();
+}
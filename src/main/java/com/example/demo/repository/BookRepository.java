@@ -1,9 +1,70 @@
 package com.example.demo.repository;
 
 import com.example.demo.gateways.entity.BookEntity;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 @Repository
-public interface BookRepository extends JpaRepository<BookEntity, String> {
+public interface BookRepository extends JpaRepository<BookEntity, UUID>, BookRepositoryCustom {
+
+    List<BookEntity> findAllByOrderByIdAsc(Limit limit);
+
+    List<BookEntity> findByIdGreaterThanOrderByIdAsc(UUID id, Limit limit);
+
+    List<BookIsbnView> findByIsbnIn(Collection<String> isbns);
+
+    List<BookIsbnView> findByIdIn(Collection<UUID> ids);
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    Optional<BookEntity> findByIsbn(String isbn);
+
+    /**
+     * The book whose ISBN encodes to {@code isbnKey} ({@link BookEntity#isbnKey}), whichever spelling it was saved with.
+     */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    Optional<BookEntity> findByIsbnKey(long isbnKey);
+
+    @Query("select b.isbn from BookEntity b where b.id = :id")
+    Optional<String> findIsbnById(UUID id);
+
+    @Query("select b.version as version, b.updatedAt as updatedAt from BookEntity b where b.id = :id")
+    Optional<BookVersionView> findVersionById(UUID id);
+
+    @Query("select count(b) as books, coalesce(sum(b.version), 0) as versions, max(b.updatedAt) as updatedAt from BookEntity b")
+    CatalogVersionView findCatalogVersion();
+
+    /**
+     * Forward-only cursor over the whole table. Must be consumed inside a transaction and closed;
+     * the fetch size keeps drivers (Postgres in particular) from buffering the full result set.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            // a full-table pass would otherwise flush the second-level cache with cold rows
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select b from BookEntity b order by b.id")
+    Stream<BookEntity> streamAllByOrderByIdAsc();
+
+    /**
+     * Same forward-only cursor as {@link #streamAllByOrderByIdAsc()}, reading only id and isbn.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select b.id as id, b.isbn as isbn from BookEntity b")
+    Stream<BookIsbnView> streamAllIsbns();
 }
@@ -0,0 +1,44 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.BookSearchCriteria;
+import com.example.demo.gateways.entity.BookEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface BookRepositoryCustom {
+
+    /**
+     * Writes the given attributes and bumps the version in a single UPDATE, without loading the
+     * row. When {@code expectedVersion} is set the row only matches at that version.
+     *
+     * @return the number of rows updated, 0 when the id is unknown or the version is stale
+     */
+    int updateFields(UUID id, Map<String, Object> changes, Long expectedVersion);
+
+    /**
+     * Atomic conditional decrement: updates (and returns 1) only while at least {@code quantity} is left.
+     * Like every bulk update it bumps the version and updatedAt itself, the entity callbacks never run.
+     */
+    int decrementStock(UUID id, long quantity);
+
+    /**
+     * Atomic increment. Matches nothing when the new stock would not fit the int column, as well as
+     * for an unknown id.
+     */
+    int incrementStock(UUID id, long quantity);
+
+    /**
+     * One keyset page of the books matching the criteria, in id order, starting after {@code afterId}.
+     */
+    List<BookEntity> search(BookSearchCriteria criteria, UUID afterId, int limit);
+
+    /**
+     * Forward-only cursor over the ids after {@code afterId} up to and including {@code upToId}, in id
+     * order; a null bound leaves that side open. Same hints and rules as
+     * {@link BookRepository#streamAllByOrderByIdAsc()}.
+     */
+    Stream<BookEntity> streamRange(UUID afterId, UUID upToId);
+}
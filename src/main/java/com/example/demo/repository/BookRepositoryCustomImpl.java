@@ -0,0 +1,200 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.BookSearchCriteria;
+import com.example.demo.gateways.entity.BookEntity;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.CacheMode;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+@RequiredArgsConstructor
+public class BookRepositoryCustomImpl implements BookRepositoryCustom {
+
+    /**
+     * Declared by the native UPDATEs here instead of the book_entity table, so Hibernate does not
+     * answer them by evicting the whole BookEntity region; see {@link #evictAfterCommit}.
+     */
+    static final String UPDATE_QUERY_SPACE = "book_update";
+
+    /** The columns {@link #updateFields} may write, by attribute; nothing else reaches the SQL. */
+    private static final Map<String, String> COLUMNS = Map.of(
+            "title", "title",
+            "author", "author",
+            "isbn", "isbn",
+            "isbnKey", "isbn_key",
+            "stock", "stock",
+            "priceInCents", "price_in_cents",
+            "updatedAt", "updated_at",
+            "titleKey", "title_key",
+            "authorKey", "author_key");
+
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int updateFields(final UUID id, final Map<String, Object> changes, final Long expectedVersion) {
+        Map<String, Object> columns = BookEntity.withDerivedColumns(changes);
+        StringBuilder sql = new StringBuilder("update book_entity set version = version + 1");
+        columns.keySet().forEach(attribute -> sql.append(", ").append(column(attribute)).append(" = :").append(attribute));
+        sql.append(" where id = :id");
+        if (expectedVersion != null) {
+            sql.append(" and version = :expectedVersion");
+        }
+
+        NativeQuery<?> update = entityManager.createNativeQuery(sql.toString())
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(UPDATE_QUERY_SPACE)
+                .setParameter("id", id);
+        columns.forEach(update::setParameter);
+        if (expectedVersion != null) {
+            update.setParameter("expectedVersion", expectedVersion);
+        }
+        int updated = update.executeUpdate();
+        // searches and ISBN lookups are cached by the columns they filter on; stock-filtered ones never are
+        evictAfterCommit(id, updated, !changes.keySet().equals(Set.of("stock")));
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public int decrementStock(final UUID id, final long quantity) {
+        return updateStock("update book_entity set stock = stock - :quantity, version = version + 1, updated_at = :updatedAt "
+                + "where id = :id and stock >= :quantity", id, quantity);
+    }
+
+    @Override
+    @Transactional
+    public int incrementStock(final UUID id, final long quantity) {
+        return updateStock("update book_entity set stock = stock + :quantity, version = version + 1, updated_at = :updatedAt "
+                + "where id = :id and stock <= " + Integer.MAX_VALUE + " - :quantity", id, quantity);
+    }
+
+    /**
+     * Runs a native stock UPDATE. Stock is not part of any cached query (see {@link #search}), so
+     * only this book leaves the cache.
+     */
+    private int updateStock(final String sql, final UUID id, final long quantity) {
+        int updated = entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(UPDATE_QUERY_SPACE)
+                .setParameter("id", id)
+                .setParameter("quantity", quantity)
+                .setParameter("updatedAt", BookEntity.now())
+                .executeUpdate();
+        evictAfterCommit(id, updated, false);
+        return updated;
+    }
+
+    /**
+     * The native UPDATEs declare a query space no cached entity or query uses, so Hibernate leaves
+     * the second-level cache alone; this evicts just the updated book once the transaction has
+     * committed, and the cached query results too when the change can move a book in or out of them.
+     */
+    private void evictAfterCommit(final UUID id, final int updated, final boolean queries) {
+        if (updated == 0) {
+            return;
+        }
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.evict(BookEntity.class, id);
+                if (queries) {
+                    cache.unwrap(org.hibernate.Cache.class).evictQueryRegions();
+                }
+            }
+        });
+    }
+
+    private static String column(final String attribute) {
+        String column = COLUMNS.get(attribute);
+        if (column == null) {
+            throw new IllegalArgumentException("cannot update " + attribute);
+        }
+        return column;
+    }
+
+    @Override
+    public List<BookEntity> search(final BookSearchCriteria criteria, final UUID afterId, final int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookEntity> query = cb.createQuery(BookEntity.class);
+        Root<BookEntity> book = query.from(BookEntity.class);
+
+        // each filter lines up with an index: title_key/author_key for text (trigram on Postgres for
+        // CONTAINS), price_in_cents for ranges, and the primary key for the keyset
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.title() != null) {
+            predicates.add(matches(cb, book.get("titleKey"), criteria.title(), criteria.match()));
+        }
+        if (criteria.author() != null) {
+            predicates.add(matches(cb, book.get("authorKey"), criteria.author(), criteria.match()));
+        }
+        if (criteria.minPriceInCents() != null) {
+            predicates.add(cb.ge(book.get("priceInCents"), criteria.minPriceInCents()));
+        }
+        if (criteria.maxPriceInCents() != null) {
+            predicates.add(cb.le(book.get("priceInCents"), criteria.maxPriceInCents()));
+        }
+        if (criteria.inStockOnly()) {
+            predicates.add(cb.gt(book.get("stock"), 0));
+        }
+        if (afterId != null) {
+            predicates.add(cb.greaterThan(book.<UUID>get("id"), afterId));
+        }
+
+        query.where(predicates.toArray(Predicate[]::new)).orderBy(cb.asc(book.get("id")));
+        // result ids go to the query cache, the rows themselves to the BookEntity region. Stock changes
+        // do not invalidate cached queries, so results that depend on stock are never cached
+        return entityManager.createQuery(query).setMaxResults(limit).setHint(HINT_CACHEABLE, !criteria.inStockOnly()).getResultList();
+    }
+
+    @Override
+    public Stream<BookEntity> streamRange(final UUID afterId, final UUID upToId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookEntity> query = cb.createQuery(BookEntity.class);
+        Root<BookEntity> book = query.from(BookEntity.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (afterId != null) {
+            predicates.add(cb.greaterThan(book.<UUID>get("id"), afterId));
+        }
+        if (upToId != null) {
+            predicates.add(cb.lessThanOrEqualTo(book.<UUID>get("id"), upToId));
+        }
+
+        query.where(predicates.toArray(Predicate[]::new)).orderBy(cb.asc(book.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HINT_FETCH_SIZE, 500)
+                .setHint(HINT_READ_ONLY, true)
+                .setHint(HINT_CACHE_MODE, CacheMode.IGNORE)
+                .getResultStream();
+    }
+
+    private static Predicate matches(final CriteriaBuilder cb, final Path<String> key, final String term,
+                                     final BookSearchCriteria.Match match) {
+        String escaped = BookEntity.searchKey(term).replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        String pattern = match == BookSearchCriteria.Match.CONTAINS ? "%" + escaped + "%" : escaped + "%";
+        return cb.like(key, pattern, '\\');
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.demo.repository;
+
+import java.time.Instant;
+
+public interface BookVersionView {
+
+    long getVersion();
+
+    Instant getUpdatedAt();
+}
@@ -0,0 +1,16 @@
+package com.example.demo.repository;
+
+import java.time.Instant;
+
+/**
+ * Row count, version sum and latest change of the whole table: any insert, update or delete moves
+ * at least one of them.
+ */
+public interface CatalogVersionView {
+
+    long getBooks();
+
+    long getVersions();
+
+    Instant getUpdatedAt();
+}
@@ -0,0 +1,95 @@
+package com.example.demo.repository;
+
+import com.example.demo.gateways.entity.BookEntity;
+import com.example.demo.gateways.entity.BookIds;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+import static org.springframework.data.relational.core.query.Criteria.where;
+
+/**
+ * R2DBC access to the book_entity table. A class over {@link R2dbcEntityTemplate} rather than a
+ * Spring Data interface: BookEntity is also a JPA entity, and JPA's repository scan would claim
+ * a reactive repository interface and fail.
+ */
+@Profile("reactive")
+@Repository
+@RequiredArgsConstructor
+public class ReactiveBookRepository {
+
+    private static final Sort BY_ID = Sort.by("id");
+
+    private final R2dbcEntityTemplate template;
+
+    public Mono<BookEntity> insert(final BookEntity entity) {
+        // same time-ordered ids as @GeneratedBookId on the JPA side, and the timestamp @PrePersist sets there
+        if (entity.getId() == null) {
+            entity.setId(BookIds.newId());
+        }
+        entity.setUpdatedAt(BookEntity.now());
+        return template.insert(entity);
+    }
+
+    /**
+     * Same contract as {@link BookRepositoryCustom#updateFields}: one UPDATE of the given
+     * attributes that bumps the version, guarded by {@code expectedVersion} when set.
+     */
+    public Mono<Long> updateFields(final UUID id, final Map<String, Object> attributes, final Long expectedVersion) {
+        Map<String, Object> changes = BookEntity.withDerivedColumns(attributes);
+        RelationalPersistentEntity<?> book = template.getConverter().getMappingContext().getRequiredPersistentEntity(BookEntity.class);
+        StringJoiner set = new StringJoiner(", ", "UPDATE book_entity SET ", ", version = version + 1 WHERE id = :id");
+        changes.keySet().forEach(attribute ->
+                set.add(book.getRequiredPersistentProperty(attribute).getColumnName().getReference() + " = :" + attribute));
+        String sql = expectedVersion == null ? set.toString() : set + " AND version = :expectedVersion";
+
+        DatabaseClient.GenericExecuteSpec statement = template.getDatabaseClient().sql(sql).bind("id", id);
+        for (Map.Entry<String, Object> change : changes.entrySet()) {
+            // the ISBN key of a value that is no ISBN is null, which R2DBC only binds with its type
+            statement = change.getValue() == null
+                    ? statement.bindNull(change.getKey(), book.getRequiredPersistentProperty(change.getKey()).getType())
+                    : statement.bind(change.getKey(), change.getValue());
+        }
+        if (expectedVersion != null) {
+            statement = statement.bind("expectedVersion", expectedVersion);
+        }
+        return statement.fetch().rowsUpdated();
+    }
+
+    public Mono<Boolean> existsById(final UUID id) {
+        return template.exists(Query.query(where("id").is(id)), BookEntity.class);
+    }
+
+    public Mono<BookEntity> findById(final UUID id) {
+        return template.selectOne(Query.query(where("id").is(id)), BookEntity.class);
+    }
+
+    public Flux<BookEntity> findPage(final UUID afterId, final int limit) {
+        Criteria criteria = afterId == null ? Criteria.empty() : where("id").greaterThan(afterId);
+        return template.select(Query.query(criteria).sort(BY_ID).limit(limit), BookEntity.class);
+    }
+
+    public Flux<BookEntity> findAllOrderById() {
+        return template.select(Query.empty().sort(BY_ID), BookEntity.class);
+    }
+
+    /**
+     * The number of rows deleted, 0 when there was no such book.
+     */
+    public Mono<Long> deleteById(final UUID id) {
+        return template.delete(Query.query(where("id").is(id)), BookEntity.class);
+    }
+
+}
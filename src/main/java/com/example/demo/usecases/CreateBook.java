@@ -2,11 +2,15 @@ package com.example.demo.usecases;
 
 import com.example.demo.domain.Book;
 import com.example.demo.gateways.BookGateway;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+@Profile("!reactive")
 @Service
 @RequiredArgsConstructor
+@Timed("library.usecase")
 public class CreateBook {
 
     private final BookGateway bookGateway;
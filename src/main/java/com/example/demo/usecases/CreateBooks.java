@@ -0,0 +1,87 @@
+package com.example.demo.usecases;
+
+import com.example.demo.controller.dtos.BookPostRequestDTO;
+import com.example.demo.controller.mapper.BookMapper;
+import com.example.demo.domain.BatchItemResult;
+import com.example.demo.domain.Book;
+import com.example.demo.gateways.BookGateway;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.example.demo.domain.BatchItemStatus.CONFLICT;
+import static com.example.demo.domain.BatchItemStatus.CREATED;
+import static com.example.demo.domain.BatchItemStatus.INVALID;
+
+@Profile("!reactive")
+@Service
+@RequiredArgsConstructor
+@Timed("library.usecase")
+public class CreateBooks {
+
+    private final BookGateway bookGateway;
+    private final BookMapper bookMapper;
+    private final Validator validator;
+
+    public List<BatchItemResult> execute(List<BookPostRequestDTO> requests) {
+        if (requests.size() > BatchItemResult.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("batch must not exceed " + BatchItemResult.MAX_BATCH_SIZE + " items");
+        }
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        Map<String, Integer> isbns = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BookPostRequestDTO request = requests.get(i);
+            String violations = violations(request);
+            if (violations != null) {
+                results[i] = BatchItemResult.failure(i, null, INVALID, violations);
+            } else if (isbns.putIfAbsent(request.isbn(), i) != null) {
+                results[i] = BatchItemResult.failure(i, null, CONFLICT, "duplicate isbn in batch");
+            }
+        }
+
+        Map<String, String> taken = bookGateway.findIdsByIsbn(isbns.keySet());
+        List<Integer> indexes = new ArrayList<>();
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            String existingId = taken.get(requests.get(i).isbn());
+            if (existingId != null) {
+                results[i] = BatchItemResult.failure(i, existingId, CONFLICT, "isbn already exists");
+            } else {
+                indexes.add(i);
+                books.add(bookMapper.toDomain(requests.get(i)));
+            }
+        }
+
+        List<Book> created = books.isEmpty() ? List.of() : bookGateway.createBooks(books);
+        for (int k = 0; k < created.size(); k++) {
+            int index = indexes.get(k);
+            results[index] = BatchItemResult.success(index, created.get(k).getId(), CREATED);
+        }
+        return Arrays.asList(results);
+    }
+
+    private String violations(BookPostRequestDTO request) {
+        if (request == null) {
+            return "book is required";
+        }
+        var violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", "));
+    }
+}
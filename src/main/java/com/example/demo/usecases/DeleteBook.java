@@ -4,12 +4,16 @@ import com.example.demo.exceptions.CustomHttpException;
 import com.example.demo.gateways.BookGateway;
 import com.example.demo.gateways.mapper.BookGatewayMapper;
 import com.example.demo.repository.BookRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+@Profile("!reactive")
 @Service
 @RequiredArgsConstructor
+@Timed("library.usecase")
 public class DeleteBook {
 
     private final BookGateway bookGateway;
@@ -0,0 +1,53 @@
+package com.example.demo.usecases;
+
+import com.example.demo.domain.BatchItemResult;
+import com.example.demo.gateways.BookGateway;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.example.demo.domain.BatchItemStatus.DELETED;
+import static com.example.demo.domain.BatchItemStatus.INVALID;
+import static com.example.demo.domain.BatchItemStatus.NOT_FOUND;
+
+@Profile("!reactive")
+@Service
+@RequiredArgsConstructor
+@Timed("library.usecase")
+public class DeleteBooks {
+
+    private final BookGateway bookGateway;
+
+    public List<BatchItemResult> execute(List<String> ids) {
+        if (ids.size() > BatchItemResult.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("batch must not exceed " + BatchItemResult.MAX_BATCH_SIZE + " items");
+        }
+
+        Set<String> requested = new LinkedHashSet<>();
+        for (String id : ids) {
+            if (id != null && !id.isBlank()) {
+                requested.add(id);
+            }
+        }
+        Set<String> deleted = requested.isEmpty() ? Set.of() : bookGateway.deleteBooksById(requested);
+
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
+            if (id == null || id.isBlank()) {
+                results.add(BatchItemResult.failure(i, id, INVALID, "id is required"));
+            } else if (deleted.contains(id)) {
+                results.add(BatchItemResult.success(i, id, DELETED));
+            } else {
+                results.add(BatchItemResult.failure(i, id, NOT_FOUND, "book not found"));
+            }
+        }
+        return results;
+    }
+}
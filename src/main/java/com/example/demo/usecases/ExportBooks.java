@@ -0,0 +1,23 @@
+package com.example.demo.usecases;
+
+import com.example.demo.domain.Book;
+import com.example.demo.gateways.BookGateway;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Consumer;
+
+@Profile("!reactive")
+@Service
+@RequiredArgsConstructor
+@Timed("library.usecase")
+public class ExportBooks {
+
+    private final BookGateway bookGateway;
+
+    public void execute(Consumer<Book> consumer) {
+        bookGateway.exportAll(consumer);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.demo.usecases;
+
+import com.example.demo.domain.Book;
+import com.example.demo.exceptions.CustomHttpException;
+import com.example.demo.gateways.BookGateway;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+@Profile("!reactive")
+@Service
+@RequiredArgsConstructor
+@Timed("library.usecase")
+public class GetBookByIsbn {
+
+    private final BookGateway bookGateway;
+
+    public Book execute(String isbn) {
+        return bookGateway.findBookByIsbn(isbn)
+                .orElseThrow(() -> new CustomHttpException("book not found!", HttpStatus.NOT_FOUND.value()));
+    }
+}
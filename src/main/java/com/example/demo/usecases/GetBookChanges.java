@@ -0,0 +1,37 @@
+package com.example.demo.usecases;
+
+import com.example.demo.domain.BookChanges;
+import com.example.demo.gateways.BookGateway;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Reads the change log after a sequence number. Without one, nothing is read and the answer only
+ * carries the current head, from which a consumer that has just loaded the export starts polling.
+ */
+@Profile("!reactive")
+@Service
+@RequiredArgsConstructor
+@Timed("library.usecase")
+public class GetBookChanges {
+
+    private final BookGateway bookGateway;
+
+    public BookChanges execute(Long since, Integer size) {
+        int pageSize = size == null ? GetBooks.DEFAULT_PAGE_SIZE : size;
+        if (pageSize < 1 || pageSize > GetBooks.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + GetBooks.MAX_PAGE_SIZE);
+        }
+        if (since == null) {
+            return new BookChanges(List.of(), bookGateway.lastChange());
+        }
+        if (since < 0) {
+            throw new IllegalArgumentException("since must not be negative");
+        }
+        return bookGateway.findChanges(since, pageSize);
+    }
+}
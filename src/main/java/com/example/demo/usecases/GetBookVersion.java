@@ -0,0 +1,26 @@
+package com.example.demo.usecases;
+
+import com.example.demo.domain.BookVersion;
+import com.example.demo.gateways.BookGateway;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+@Profile("!reactive")
+@Service
+@RequiredArgsConstructor
+@Timed("library.usecase")
+public class GetBookVersion {
+
+    private final BookGateway bookGateway;
+
+    /**
+     * Empty for unknown ids; the full read that follows reports those.
+     */
+    public Optional<BookVersion> execute(String id) {
+        return bookGateway.findVersion(id);
+    }
+}
@@ -1,20 +1,39 @@
 package com.example.demo.usecases;
 
 import com.example.demo.domain.Book;
+import com.example.demo.domain.BookCursor;
+import com.example.demo.domain.BookPage;
 import com.example.demo.gateways.BookGateway;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
+@Profile("!reactive")
 @Service
 @RequiredArgsConstructor
+@Timed("library.usecase")
 public class GetBooks {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
     private final BookGateway bookGateway;
 
-    public List<Book> execute() {
-        return bookGateway.listAll();
+    public BookPage execute(String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        // one extra row tells us whether another page exists without a count query
+        List<Book> books = bookGateway.listPage(BookCursor.decode(cursor), pageSize + 1);
+        if (books.size() <= pageSize) {
+            return new BookPage(books, null);
+        }
+        List<Book> page = books.subList(0, pageSize);
+        return new BookPage(page, BookCursor.encode(page.get(pageSize - 1).getId()));
     }
 }
-
@@ -0,0 +1,26 @@
+package com.example.demo.usecases;
+
+import com.example.demo.domain.ExportSnapshot;
+import com.example.demo.gateways.BookGateway;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+@Profile("!reactive")
+@Service
+@RequiredArgsConstructor
+@Timed("library.usecase")
+public class GetExportSnapshot {
+
+    private final BookGateway bookGateway;
+
+    /**
+     * Empty when snapshots are turned off; the export is then streamed from the table instead.
+     */
+    public Optional<ExportSnapshot> execute() {
+        return bookGateway.exportSnapshot();
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.demo.usecases;
+
+import com.example.demo.controller.dtos.BookPostRequestDTO;
+import com.example.demo.domain.BatchItemResult;
+import com.example.demo.domain.ImportReport;
+import com.example.demo.domain.ImportRowError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static com.example.demo.domain.BatchItemStatus.CREATED;
+import static com.example.demo.domain.BatchItemStatus.INVALID;
+
+/**
+ * Imports a catalog row by row. Rows are pulled from the source only after the previous chunk has been
+ * written, so a slow database naturally slows down reading the upload instead of buffering it.
+ */
+@Slf4j
+@Profile("!reactive")
+@Service
+@Timed("library.usecase")
+public class ImportBooks {
+
+    static final int IMPORT_CHUNK_SIZE = 1000;
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final CreateBooks createBooks;
+    private final Counter createdRows;
+    private final Counter failedRows;
+
+    public ImportBooks(CreateBooks createBooks, MeterRegistry meterRegistry) {
+        this.createBooks = createBooks;
+        this.createdRows = meterRegistry.counter("library.import.rows", "outcome", "created");
+        this.failedRows = meterRegistry.counter("library.import.rows", "outcome", "failed");
+    }
+
+    /**
+     * A parsed input row; {@code error} is set instead of {@code book} when the row could not be read.
+     */
+    public record Row(long number, BookPostRequestDTO book, String error) {
+    }
+
+    public ImportReport execute(Iterator<Row> rows) {
+        Progress progress = new Progress(System.nanoTime());
+        List<BookPostRequestDTO> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        List<Long> chunkRows = new ArrayList<>(IMPORT_CHUNK_SIZE);
+
+        while (rows.hasNext()) {
+            Row row = rows.next();
+            progress.rows++;
+            if (row.error() != null) {
+                progress.fail(new ImportRowError(row.number(), INVALID, row.error()));
+                continue;
+            }
+            chunk.add(row.book());
+            chunkRows.add(row.number());
+            if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                write(chunk, chunkRows, progress);
+            }
+        }
+        write(chunk, chunkRows, progress);
+
+        long elapsedNanos = Math.max(1, System.nanoTime() - progress.startNanos);
+        double rowsPerSecond = progress.rows * 1_000_000_000d / elapsedNanos;
+        log.info("catalog import finished: {} rows, {} created, {} failed, {} rows/s",
+                progress.rows, progress.created, progress.failed, Math.round(rowsPerSecond));
+        return new ImportReport(progress.rows, progress.created, progress.failed, elapsedNanos / 1_000_000,
+                rowsPerSecond, List.copyOf(progress.errors), progress.failed > progress.errors.size());
+    }
+
+    private void write(List<BookPostRequestDTO> chunk, List<Long> chunkRows, Progress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        for (BatchItemResult result : createBooks.execute(chunk)) {
+            if (result.status() == CREATED) {
+                progress.created++;
+                createdRows.increment();
+            } else {
+                progress.fail(new ImportRowError(chunkRows.get(result.index()), result.status(), result.message()));
+            }
+        }
+        chunk.clear();
+        chunkRows.clear();
+        log.info("catalog import progress: {} rows read, {} created, {} failed", progress.rows, progress.created, progress.failed);
+    }
+
+    private final class Progress {
+        private final long startNanos;
+        private final List<ImportRowError> errors = new ArrayList<>();
+        private long rows;
+        private long created;
+        private long failed;
+
+        private Progress(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        private void fail(ImportRowError error) {
+            failed++;
+            failedRows.increment();
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.demo.usecases;
+
+import com.example.demo.exceptions.CustomHttpException;
+import com.example.demo.gateways.BookGateway;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+@Profile("!reactive")
+@Service
+@RequiredArgsConstructor
+@Timed("library.usecase")
+public class ReleaseStock {
+
+    private final BookGateway bookGateway;
+
+    public void execute(String id, int quantity) {
+        switch (bookGateway.releaseStock(id, quantity)) {
+            case STOCK_LIMIT_EXCEEDED -> throw new CustomHttpException("stock limit exceeded", HttpStatus.CONFLICT.value());
+            case NOT_FOUND -> throw new CustomHttpException("book not found!", HttpStatus.NOT_FOUND.value());
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.usecases;
+
+import com.example.demo.domain.Book;
+import com.example.demo.domain.BookCursor;
+import com.example.demo.domain.BookPage;
+import com.example.demo.domain.BookSearchCriteria;
+import com.example.demo.gateways.BookGateway;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+import static com.example.demo.usecases.GetBooks.DEFAULT_PAGE_SIZE;
+import static com.example.demo.usecases.GetBooks.MAX_PAGE_SIZE;
+
+@Profile("!reactive")
+@Service
+@RequiredArgsConstructor
+@Timed("library.usecase")
+public class SearchBooks {
+
+    private final BookGateway bookGateway;
+
+    public BookPage execute(BookSearchCriteria criteria, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (criteria.minPriceInCents() != null && criteria.maxPriceInCents() != null
+                && criteria.minPriceInCents() > criteria.maxPriceInCents()) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+
+        // same one-extra-row probe as GetBooks
+        List<Book> books = bookGateway.searchBooks(criteria, BookCursor.decode(cursor), pageSize + 1);
+        if (books.size() <= pageSize) {
+            return new BookPage(books, null);
+        }
+        List<Book> page = books.subList(0, pageSize);
+        return new BookPage(page, BookCursor.encode(page.get(pageSize - 1).getId()));
+    }
+}
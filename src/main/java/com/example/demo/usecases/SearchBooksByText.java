@@ -0,0 +1,33 @@
+package com.example.demo.usecases;
+
+import com.example.demo.domain.Book;
+import com.example.demo.gateways.BookGateway;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+import static com.example.demo.usecases.GetBooks.DEFAULT_PAGE_SIZE;
+import static com.example.demo.usecases.GetBooks.MAX_PAGE_SIZE;
+
+@Profile("!reactive")
+@Service
+@RequiredArgsConstructor
+@Timed("library.usecase")
+public class SearchBooksByText {
+
+    private final BookGateway bookGateway;
+
+    public List<Book> execute(String query, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("q must not be blank");
+        }
+        int limit = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return bookGateway.searchText(query, limit);
+    }
+}
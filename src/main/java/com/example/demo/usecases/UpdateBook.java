@@ -3,17 +3,21 @@ package com.example.demo.usecases;
 import com.example.demo.controller.dtos.BookPutRequestDTO;
 import com.example.demo.domain.Book;
 import com.example.demo.gateways.BookGateway;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+@Profile("!reactive")
 @Service
 @RequiredArgsConstructor
+@Timed("library.usecase")
 public class UpdateBook {
 
     private final BookGateway bookGateway;
 
-    public Book execute(String id, BookPutRequestDTO dto) {
-        return bookGateway.updateBook(id, dto);
+    public Book execute(String id, BookPutRequestDTO dto, Long expectedVersion) {
+        return bookGateway.updateBook(id, dto, expectedVersion);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.example.demo.usecases;
+
+import com.example.demo.controller.dtos.BookBatchPutRequestDTO;
+import com.example.demo.controller.dtos.BookPutRequestDTO;
+import com.example.demo.domain.BatchItemResult;
+import com.example.demo.domain.Book;
+import com.example.demo.gateways.BookGateway;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.demo.domain.BatchItemStatus.CONFLICT;
+import static com.example.demo.domain.BatchItemStatus.INVALID;
+import static com.example.demo.domain.BatchItemStatus.NOT_FOUND;
+import static com.example.demo.domain.BatchItemStatus.UPDATED;
+
+@Profile("!reactive")
+@Service
+@RequiredArgsConstructor
+@Timed("library.usecase")
+public class UpdateBooks {
+
+    private final BookGateway bookGateway;
+
+    public List<BatchItemResult> execute(List<BookBatchPutRequestDTO> requests) {
+        if (requests.size() > BatchItemResult.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("batch must not exceed " + BatchItemResult.MAX_BATCH_SIZE + " items");
+        }
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        Map<String, BookPutRequestDTO> changes = new LinkedHashMap<>();
+        Map<String, String> isbns = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BookBatchPutRequestDTO request = requests.get(i);
+            if (request == null || request.id() == null || request.id().isBlank() || request.book() == null) {
+                results[i] = BatchItemResult.failure(i, null, INVALID, "id and book are required");
+            } else if (changes.containsKey(request.id())) {
+                results[i] = BatchItemResult.failure(i, request.id(), CONFLICT, "duplicate id in batch");
+            } else if (request.book().isbn() != null && isbns.putIfAbsent(request.book().isbn(), request.id()) != null) {
+                results[i] = BatchItemResult.failure(i, request.id(), CONFLICT, "duplicate isbn in batch");
+            } else {
+                changes.put(request.id(), request.book());
+            }
+        }
+
+        Map<String, String> owners = bookGateway.findIdsByIsbn(isbns.keySet());
+        for (int i = 0; i < requests.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            String id = requests.get(i).id();
+            String isbn = requests.get(i).book().isbn();
+            String owner = isbn == null ? null : owners.get(isbn);
+            if (owner != null && !owner.equals(id)) {
+                results[i] = BatchItemResult.failure(i, id, CONFLICT, "isbn already exists");
+                changes.remove(id);
+            }
+        }
+
+        Map<String, Book> updated = changes.isEmpty() ? Map.of() : bookGateway.updateBooks(changes);
+        for (int i = 0; i < requests.size(); i++) {
+            if (results[i] == null) {
+                String id = requests.get(i).id();
+                results[i] = updated.containsKey(id)
+                        ? BatchItemResult.success(i, id, UPDATED)
+                        : BatchItemResult.failure(i, id, NOT_FOUND, "book not found");
+            }
+        }
+        return Arrays.asList(results);
+    }
+}
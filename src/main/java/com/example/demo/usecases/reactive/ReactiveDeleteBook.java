@@ -0,0 +1,19 @@
+package com.example.demo.usecases.reactive;
+
+import com.example.demo.gateways.ReactiveBookGateway;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Profile("reactive")
+@Service
+@RequiredArgsConstructor
+public class ReactiveDeleteBook {
+
+    private final ReactiveBookGateway reactiveBookGateway;
+
+    public Mono<Void> execute(String id) {
+        return reactiveBookGateway.deleteBookById(id);
+    }
+}
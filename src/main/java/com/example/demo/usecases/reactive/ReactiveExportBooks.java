@@ -0,0 +1,20 @@
+package com.example.demo.usecases.reactive;
+
+import com.example.demo.domain.Book;
+import com.example.demo.gateways.ReactiveBookGateway;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+@Profile("reactive")
+@Service
+@RequiredArgsConstructor
+public class ReactiveExportBooks {
+
+    private final ReactiveBookGateway reactiveBookGateway;
+
+    public Flux<Book> execute() {
+        return reactiveBookGateway.exportAll();
+    }
+}
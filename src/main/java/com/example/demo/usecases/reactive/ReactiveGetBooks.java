@@ -0,0 +1,44 @@
+package com.example.demo.usecases.reactive;
+
+import com.example.demo.domain.Book;
+import com.example.demo.domain.BookCursor;
+import com.example.demo.domain.BookPage;
+import com.example.demo.gateways.ReactiveBookGateway;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static com.example.demo.usecases.GetBooks.DEFAULT_PAGE_SIZE;
+import static com.example.demo.usecases.GetBooks.MAX_PAGE_SIZE;
+
+@Profile("reactive")
+@Service
+@RequiredArgsConstructor
+public class ReactiveGetBooks {
+
+    private final ReactiveBookGateway reactiveBookGateway;
+
+    public Mono<BookPage> execute(String cursor, Integer size) {
+        // deferred so a bad size or cursor surfaces as an error signal, not a thrown exception
+        return Mono.defer(() -> {
+            int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+            if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+                throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+            }
+            return reactiveBookGateway.listPage(BookCursor.decode(cursor), pageSize + 1)
+                    .collectList()
+                    .map(books -> toPage(books, pageSize));
+        });
+    }
+
+    private static BookPage toPage(List<Book> books, int pageSize) {
+        if (books.size() <= pageSize) {
+            return new BookPage(books, null);
+        }
+        List<Book> page = books.subList(0, pageSize);
+        return new BookPage(page, BookCursor.encode(page.get(pageSize - 1).getId()));
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.demo.usecases.reactive;
+
+import com.example.demo.controller.dtos.BookPutRequestDTO;
+import com.example.demo.domain.Book;
+import com.example.demo.gateways.ReactiveBookGateway;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Profile("reactive")
+@Service
+@RequiredArgsConstructor
+public class ReactiveUpdateBook {
+
+    private final ReactiveBookGateway reactiveBookGateway;
+
+    public Mono<Book> execute(String id, BookPutRequestDTO dto, Long expectedVersion) {
+        return reactiveBookGateway.updateBook(id, dto, expectedVersion);
+    }
+}
@@ -0,0 +1,17 @@
+-- H2 (tests, benchmarks) gets the table and the indexes declared on BookEntity; the Postgres-only
+-- functional and trigram search indexes live in the postgresql migrations.
+CREATE TABLE book_entity (
+    id             uuid PRIMARY KEY,
+    isbn           varchar(17) UNIQUE,
+    title          varchar(255),
+    author         varchar(255),
+    stock          integer NOT NULL,
+    price_in_cents bigint  NOT NULL,
+    version        bigint  DEFAULT 0 NOT NULL,
+    title_key      varchar(255),
+    author_key     varchar(255)
+);
+
+CREATE INDEX idx_book_title_key ON book_entity (title_key, id);
+CREATE INDEX idx_book_author_key ON book_entity (author_key, id);
+CREATE INDEX idx_book_price ON book_entity (price_in_cents, id);
@@ -0,0 +1,3 @@
+-- Last-Modified for conditional GETs, see the postgresql V4 migration.
+
+ALTER TABLE book_entity ADD COLUMN updated_at timestamp(6) with time zone DEFAULT current_timestamp;
@@ -0,0 +1,18 @@
+-- Change log behind GET /api/books/changes, see the postgresql V5 migration.
+
+CREATE TABLE book_change (
+    seq        bigint  PRIMARY KEY,
+    book_id    uuid    NOT NULL,
+    deleted    boolean NOT NULL,
+    changed_at timestamp(6) with time zone NOT NULL
+);
+
+CREATE INDEX idx_book_change_changed_at ON book_change (changed_at);
+
+CREATE TABLE book_change_head (
+    id             integer PRIMARY KEY,
+    seq            bigint NOT NULL,
+    purged_through bigint NOT NULL
+);
+
+INSERT INTO book_change_head (id, seq, purged_through) VALUES (1, 0, 0);
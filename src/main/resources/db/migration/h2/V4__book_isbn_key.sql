@@ -0,0 +1,5 @@
+-- ISBN lookup key, see the postgresql V6 migration. H2 databases start empty, so there is nothing to backfill.
+
+ALTER TABLE book_entity ADD COLUMN isbn_key bigint;
+
+CREATE UNIQUE INDEX uk_book_isbn_key ON book_entity (isbn_key);
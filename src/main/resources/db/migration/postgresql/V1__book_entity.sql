@@ -0,0 +1,24 @@
+-- The book_entity table and the indexes declared on BookEntity. Databases whose table Hibernate's
+-- ddl-auto created before migrations existed are baselined at version 0, so this runs there too:
+-- every statement is idempotent and only fills in what older tables lack.
+CREATE TABLE IF NOT EXISTS book_entity (
+    id             uuid PRIMARY KEY,
+    isbn           varchar(17) UNIQUE,
+    title          varchar(255),
+    author         varchar(255),
+    stock          integer NOT NULL,
+    price_in_cents bigint  NOT NULL,
+    version        bigint  DEFAULT 0 NOT NULL,
+    title_key      varchar(255),
+    author_key     varchar(255)
+);
+
+-- columns added to the entity after the first release
+ALTER TABLE book_entity ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+ALTER TABLE book_entity ADD COLUMN IF NOT EXISTS title_key varchar(255);
+ALTER TABLE book_entity ADD COLUMN IF NOT EXISTS author_key varchar(255);
+
+-- keyset pagination per search field
+CREATE INDEX IF NOT EXISTS idx_book_title_key ON book_entity (title_key, id);
+CREATE INDEX IF NOT EXISTS idx_book_author_key ON book_entity (author_key, id);
+CREATE INDEX IF NOT EXISTS idx_book_price ON book_entity (price_in_cents, id);
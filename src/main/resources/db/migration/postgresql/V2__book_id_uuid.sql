@@ -0,0 +1,16 @@
+-- Tables created before ids became UUIDs hold them as varchar(255). Converts the column in place to the
+-- native 16-byte uuid type; the existing random (v4) values stay valid and keep their identity, and new
+-- rows get time-ordered v7 ids. Rewrites the table and its indexes once, under an ACCESS EXCLUSIVE lock,
+-- so on a large catalog run it in a maintenance window. A no-op on tables V1 created.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1
+               FROM information_schema.columns
+               WHERE table_schema = current_schema()
+                 AND table_name = 'book_entity'
+                 AND column_name = 'id'
+                 AND data_type <> 'uuid') THEN
+        ALTER TABLE book_entity ALTER COLUMN id TYPE uuid USING id::uuid;
+    END IF;
+END
+$$;
@@ -0,0 +1,19 @@
+-- Postgres-only search indexes that JPA @Index cannot express. Every statement is idempotent, so
+-- databases baselined from a ddl-auto schema that already has some of them apply it cleanly.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- rows written before the search key columns existed
+UPDATE book_entity SET title_key = lower(title) WHERE title_key IS NULL AND title IS NOT NULL;
+UPDATE book_entity SET author_key = lower(author) WHERE author_key IS NULL AND author IS NOT NULL;
+
+-- prefix LIKE under a non-C collation needs the pattern operator class
+CREATE INDEX IF NOT EXISTS idx_book_title_key_pattern ON book_entity (title_key text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_book_author_key_pattern ON book_entity (author_key text_pattern_ops);
+
+-- contains ('%term%') matching
+CREATE INDEX IF NOT EXISTS idx_book_title_key_trgm ON book_entity USING gin (title_key gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_book_author_key_trgm ON book_entity USING gin (author_key gin_trgm_ops);
+
+-- in-stock price browsing
+CREATE INDEX IF NOT EXISTS idx_book_in_stock_price ON book_entity (price_in_cents, id) WHERE stock > 0;
@@ -0,0 +1,5 @@
+-- Last-Modified for conditional GETs. Existing rows get the migration time, which is later than
+-- any real change and so only costs clients one full response.
+
+ALTER TABLE book_entity ADD COLUMN IF NOT EXISTS updated_at timestamp(6) with time zone DEFAULT current_timestamp;
+UPDATE book_entity SET updated_at = current_timestamp WHERE updated_at IS NULL;
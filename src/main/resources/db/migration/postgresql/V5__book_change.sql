@@ -0,0 +1,23 @@
+-- Change log behind GET /api/books/changes: every gateway write adds one row per book, appended in
+-- its transaction just before it commits. Writers take their seqs from the single book_change_head
+-- row under its lock, so seqs become visible in the order they are handed out: the log has no gaps
+-- and a consumer's cursor only moves forward. purged_through is the newest seq the retention purge
+-- has dropped; a cursor below it gets 410.
+
+CREATE TABLE IF NOT EXISTS book_change (
+    seq        bigint  PRIMARY KEY,
+    book_id    uuid    NOT NULL,
+    deleted    boolean NOT NULL,
+    changed_at timestamp(6) with time zone NOT NULL
+);
+
+-- retention purge
+CREATE INDEX IF NOT EXISTS idx_book_change_changed_at ON book_change (changed_at);
+
+CREATE TABLE IF NOT EXISTS book_change_head (
+    id             integer PRIMARY KEY,
+    seq            bigint NOT NULL,
+    purged_through bigint NOT NULL
+);
+
+INSERT INTO book_change_head (id, seq, purged_through) VALUES (1, 0, 0) ON CONFLICT (id) DO NOTHING;
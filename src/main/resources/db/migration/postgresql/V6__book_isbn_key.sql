@@ -0,0 +1,26 @@
+-- isbn_key is the ISBN as IsbnIndex.encode reads it: the ISBN-13 digits as a number, hyphens and
+-- spaces ignored, ISBN-10s converted to their 978-prefixed ISBN-13. ISBN lookups go by it, so every
+-- spelling of an ISBN finds the book; values that are not ISBNs have none. Every statement is
+-- idempotent, like V1.
+
+ALTER TABLE book_entity ADD COLUMN IF NOT EXISTS isbn_key bigint;
+
+WITH digits AS (
+    SELECT id, translate(isbn, '- ', '') AS d FROM book_entity WHERE isbn_key IS NULL
+), isbn13 AS (
+    SELECT id, d FROM digits WHERE d ~ '^[0-9]{13}$'
+    UNION ALL
+    -- ISBN-10: its first nine digits behind 978, then the ISBN-13 check digit (weights 1, 3, 1, ...)
+    SELECT id, b || (10 - (SELECT sum(substr(b, i, 1)::int * CASE WHEN i % 2 = 0 THEN 3 ELSE 1 END)
+                           FROM generate_series(1, 12) AS i) % 10) % 10
+    FROM (SELECT id, '978' || left(d, 9) AS b FROM digits WHERE d ~ '^[0-9]{9}[0-9Xx]$') AS isbn10
+), keys AS (
+    -- rows that spell one ISBN differently cannot share the unique key; the oldest id keeps it
+    SELECT id, d::bigint AS isbn_key, row_number() OVER (PARTITION BY d ORDER BY id) AS n FROM isbn13
+)
+UPDATE book_entity SET isbn_key = keys.isbn_key
+FROM keys
+WHERE book_entity.id = keys.id AND keys.n = 1 AND keys.isbn_key <> 0
+  AND NOT EXISTS (SELECT 1 FROM book_entity taken WHERE taken.isbn_key = keys.isbn_key);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_book_isbn_key ON book_entity (isbn_key);
@@ -0,0 +1,45 @@
+package com.example.demo;
+
+import com.example.demo.controller.dtos.BookPostRequestDTO;
+import com.example.demo.gateways.entity.BookChangeEntity;
+import com.example.demo.gateways.entity.BookChangeHeadEntity;
+import com.example.demo.gateways.entity.BookEntity;
+import com.example.demo.gateways.entity.BookIdGenerator;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LibraryRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void setUp() {
+        new LibraryRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void shouldRegisterReflectionForHibernateManagedTypes() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(BookEntity.class)
+                .withMemberCategories(MemberCategory.DECLARED_FIELDS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(BookChangeEntity.class)
+                .withMemberCategories(MemberCategory.DECLARED_FIELDS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(BookChangeHeadEntity.class)
+                .withMemberCategories(MemberCategory.DECLARED_FIELDS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(BookIdGenerator.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(CaffeineCachingProvider.class)).accepts(hints);
+    }
+
+    @Test
+    void shouldRegisterJsonBindingAndMigrations() throws NoSuchMethodException {
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(BookPostRequestDTO.class.getMethod("title"))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/migration/postgresql/V1__book_entity.sql")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/migration/h2/V1__book_entity.sql")).accepts(hints);
+    }
+}
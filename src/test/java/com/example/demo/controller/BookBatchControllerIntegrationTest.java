@@ -0,0 +1,97 @@
+package com.example.demo.controller;
+
+import com.example.demo.controller.dtos.BatchItemResponseDTO;
+import com.example.demo.controller.dtos.BookPostRequestDTO;
+import com.example.demo.controller.mapper.BookMapper;
+import com.example.demo.domain.BatchItemResult;
+import com.example.demo.usecases.CreateBooks;
+import com.example.demo.usecases.DeleteBooks;
+import com.example.demo.usecases.UpdateBooks;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static com.example.demo.domain.BatchItemStatus.CREATED;
+import static com.example.demo.domain.BatchItemStatus.DELETED;
+import static com.example.demo.domain.BatchItemStatus.INVALID;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BookBatchController.class)
+class BookBatchControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private CreateBooks createBooks;
+
+    @MockBean
+    private UpdateBooks updateBooks;
+
+    @MockBean
+    private DeleteBooks deleteBooks;
+
+    @MockBean
+    private BookMapper bookMapper;
+
+    @Test
+    void shouldReturnPerItemResultsForBatchCreate() throws Exception {
+        BatchItemResult created = BatchItemResult.success(0, "1", CREATED);
+        BatchItemResult invalid = BatchItemResult.failure(1, null, INVALID, "Title is required");
+        when(createBooks.execute(anyList())).thenReturn(List.of(created, invalid));
+        when(bookMapper.toDTO(created)).thenReturn(new BatchItemResponseDTO(0, "1", "CREATED", null));
+        when(bookMapper.toDTO(invalid)).thenReturn(new BatchItemResponseDTO(1, null, "INVALID", "Title is required"));
+
+        List<BookPostRequestDTO> body = List.of(
+                new BookPostRequestDTO("Title", "Author", "978-0000000001", 1, 100L),
+                new BookPostRequestDTO("", "Author", "978-0000000002", 1, 100L));
+
+        mockMvc.perform(post("/api/books/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[0].id").value("1"))
+                .andExpect(jsonPath("$[1].status").value("INVALID"))
+                .andExpect(jsonPath("$[1].message").value("Title is required"));
+    }
+
+    @Test
+    void shouldReturnBadRequestForOversizedBatch() throws Exception {
+        when(createBooks.execute(anyList())).thenThrow(new IllegalArgumentException("batch must not exceed 10000 items"));
+
+        mockMvc.perform(post("/api/books/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldDeleteBatchById() throws Exception {
+        BatchItemResult deleted = BatchItemResult.success(0, "1", DELETED);
+        when(deleteBooks.execute(List.of("1"))).thenReturn(List.of(deleted));
+        when(bookMapper.toDTO(deleted)).thenReturn(new BatchItemResponseDTO(0, "1", "DELETED", null));
+
+        mockMvc.perform(delete("/api/books/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"1\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("DELETED"));
+
+        verify(deleteBooks).execute(List.of("1"));
+    }
+}
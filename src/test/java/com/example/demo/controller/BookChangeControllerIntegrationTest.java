@@ -0,0 +1,71 @@
+package com.example.demo.controller;
+
+import com.example.demo.controller.dtos.BookResponseDTO;
+import com.example.demo.controller.mapper.BookMapper;
+import com.example.demo.domain.Book;
+import com.example.demo.domain.BookChange;
+import com.example.demo.domain.BookChanges;
+import com.example.demo.exceptions.CustomHttpException;
+import com.example.demo.usecases.GetBookChanges;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(BookChangeController.class)
+class BookChangeControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private GetBookChanges getBookChanges;
+
+    @MockBean
+    private BookMapper bookMapper;
+
+    @Test
+    void shouldReturnChangesAndTombstones() throws Exception {
+        Book book = new Book();
+        book.setId("1");
+        when(getBookChanges.execute(10L, 2)).thenReturn(new BookChanges(
+                List.of(new BookChange(11, "1", book), new BookChange(12, "2", null)), 12));
+        when(bookMapper.toDTO(book)).thenReturn(new BookResponseDTO("1", "978-0123456789", "Title", "Author", 3, 1000L));
+
+        mockMvc.perform(get("/api/books/changes").param("since", "10").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(2)))
+                .andExpect(jsonPath("$.changes[0].seq").value(11))
+                .andExpect(jsonPath("$.changes[0].deleted").value(false))
+                .andExpect(jsonPath("$.changes[0].book.title").value("Title"))
+                .andExpect(jsonPath("$.changes[1].id").value("2"))
+                .andExpect(jsonPath("$.changes[1].deleted").value(true))
+                .andExpect(jsonPath("$.changes[1].book").doesNotExist())
+                .andExpect(jsonPath("$.next").value(12));
+    }
+
+    @Test
+    void shouldAnswerGoneForAPurgedCursor() throws Exception {
+        when(getBookChanges.execute(1L, null)).thenThrow(new CustomHttpException("changes after 1 have been purged", 410));
+
+        mockMvc.perform(get("/api/books/changes").param("since", "1"))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    void shouldRejectInvalidSize() throws Exception {
+        when(getBookChanges.execute(0L, 0)).thenThrow(new IllegalArgumentException("size must be between 1 and 500"));
+
+        mockMvc.perform(get("/api/books/changes").param("since", "0").param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.demo.controller;
+
+import com.example.demo.controller.dtos.ImportReportResponseDTO;
+import com.example.demo.controller.dtos.ImportRowErrorDTO;
+import com.example.demo.controller.importer.BookImportReader;
+import com.example.demo.controller.mapper.BookMapper;
+import com.example.demo.domain.ImportReport;
+import com.example.demo.usecases.ImportBooks;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BookImportController.class)
+@Import(BookImportReader.class)
+class BookImportControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ImportBooks importBooks;
+
+    @MockBean
+    private BookMapper bookMapper;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldImportCsvUpload() throws Exception {
+        List<ImportBooks.Row> received = new ArrayList<>();
+        ImportReport report = new ImportReport(1, 1, 0, 5, 200.0, List.of(), false);
+        when(importBooks.execute(any(Iterator.class))).thenAnswer(invocation -> {
+            Iterator<ImportBooks.Row> rows = invocation.getArgument(0);
+            rows.forEachRemaining(received::add);
+            return report;
+        });
+        when(bookMapper.toDTO(report)).thenReturn(new ImportReportResponseDTO(1, 1, 0, 5, 200.0, List.of(), false));
+
+        mockMvc.perform(post("/api/books/import")
+                        .contentType(BookImportController.TEXT_CSV_VALUE)
+                        .content("isbn,title,author,stock,priceInCents\n978-0000000001,Title,Author,1,100\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(1))
+                .andExpect(jsonPath("$.created").value(1));
+
+        assertThat(received).hasSize(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldImportNdjsonUploadAndReturnRowErrors() throws Exception {
+        ImportReport report = new ImportReport(1, 0, 1, 5, 200.0, List.of(), false);
+        when(importBooks.execute(any(Iterator.class))).thenReturn(report);
+        when(bookMapper.toDTO(report)).thenReturn(new ImportReportResponseDTO(1, 0, 1, 5, 200.0,
+                List.of(new ImportRowErrorDTO(1, "INVALID", "malformed row")), false));
+
+        mockMvc.perform(post("/api/books/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"isbn\":\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(1))
+                .andExpect(jsonPath("$.errors[0].message").value("malformed row"));
+    }
+}
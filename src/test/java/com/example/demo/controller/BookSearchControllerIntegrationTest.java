@@ -0,0 +1,78 @@
+package com.example.demo.controller;
+
+import com.example.demo.controller.dtos.BookResponseDTO;
+import com.example.demo.controller.mapper.BookMapper;
+import com.example.demo.domain.Book;
+import com.example.demo.domain.BookPage;
+import com.example.demo.domain.BookSearchCriteria;
+import com.example.demo.usecases.SearchBooks;
+import com.example.demo.usecases.SearchBooksByText;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static com.example.demo.domain.BookSearchCriteria.Match.CONTAINS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BookSearchController.class)
+class BookSearchControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SearchBooks searchBooks;
+
+    @MockBean
+    private SearchBooksByText searchBooksByText;
+
+    @MockBean
+    private BookMapper bookMapper;
+
+    @Test
+    void shouldTranslateQueryParametersIntoCriteria() throws Exception {
+        Book book = new Book();
+        BookSearchCriteria expected = new BookSearchCriteria("dune", null, CONTAINS, 100L, 2000L, true);
+        when(searchBooks.execute(expected, "abc", 10)).thenReturn(new BookPage(List.of(book), "next"));
+        when(bookMapper.toDTO(book)).thenReturn(new BookResponseDTO("1", "978-0000000001", "Dune", "Frank Herbert", 3, 1500L));
+
+        mockMvc.perform(get("/api/books/search")
+                        .param("title", "dune")
+                        .param("author", " ")
+                        .param("match", "contains")
+                        .param("minPrice", "100")
+                        .param("maxPrice", "2000")
+                        .param("inStock", "true")
+                        .param("cursor", "abc")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Dune"))
+                .andExpect(jsonPath("$.next").value("next"));
+    }
+
+    @Test
+    void shouldReturnRankedTextMatches() throws Exception {
+        Book book = new Book();
+        when(searchBooksByText.execute("frank herbert", 5)).thenReturn(List.of(book));
+        when(bookMapper.toDTO(book)).thenReturn(new BookResponseDTO("1", "978-0000000001", "Dune", "Frank Herbert", 3, 1500L));
+
+        mockMvc.perform(get("/api/books/search/text").param("q", "frank herbert").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].author").value("Frank Herbert"));
+    }
+
+    @Test
+    void shouldRejectUnknownMatchMode() throws Exception {
+        mockMvc.perform(get("/api/books/search").param("title", "dune").param("match", "fuzzy"))
+                .andExpect(status().isBadRequest());
+
+        verify(searchBooks, never()).execute(any(), any(), any());
+    }
+}
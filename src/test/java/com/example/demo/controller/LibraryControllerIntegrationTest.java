@@ -1,24 +1,48 @@
 package com.example.demo.controller;
 
+import com.example.demo.controller.codec.ProtobufJacksonHttpMessageConverter;
+import com.example.demo.controller.dtos.BookPageResponseDTO;
 import com.example.demo.controller.dtos.BookPostRequestDTO;
 import com.example.demo.controller.dtos.BookPutRequestDTO;
 import com.example.demo.controller.dtos.BookResponseDTO;
 import com.example.demo.controller.mapper.BookMapper;
 import com.example.demo.domain.Book;
+import com.example.demo.domain.BookPage;
+import com.example.demo.domain.BookVersion;
+import com.example.demo.domain.ExportSnapshot;
 import com.example.demo.exceptions.BookNotFoundException;
+import com.example.demo.exceptions.CustomHttpException;
 import com.example.demo.usecases.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
-
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -26,6 +50,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @WebMvcTest(LibraryController.class)
 class LibraryControllerIntegrationTest {
 
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private static final Instant UPDATED_AT = Instant.parse("2026-10-17T10:15:30.123456Z");
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -41,12 +69,24 @@ class LibraryControllerIntegrationTest {
     @MockBean
     private GetBook getBook;
 
+    @MockBean
+    private GetBookVersion getBookVersion;
+
+    @MockBean
+    private GetBookByIsbn getBookByIsbn;
+
     @MockBean
     private UpdateBook updateBook;
 
     @MockBean
     private DeleteBook deleteBook;
 
+    @MockBean
+    private ExportBooks exportBooks;
+
+    @MockBean
+    private GetExportSnapshot getExportSnapshot;
+
     @MockBean
     private BookMapper bookMapper;
 
@@ -151,33 +191,124 @@ class LibraryControllerIntegrationTest {
                 1999L
         );
 
-        List<Book> books = Arrays.asList(book, book2);
-        when(getBooks.execute()).thenReturn(books);
+        BookPage page = new BookPage(Arrays.asList(book, book2), "next-cursor");
+        when(getBooks.execute("cursor", 2)).thenReturn(page);
         when(bookMapper.toDTO(book)).thenReturn(bookResponse);
         when(bookMapper.toDTO(book2)).thenReturn(bookResponse2);
 
-        mockMvc.perform(get("/api/books"))
+        mockMvc.perform(get("/api/books").param("cursor", "cursor").param("size", "2"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].id").value("1"))
-                .andExpect(jsonPath("$[0].title").value("Test Title"))
-                .andExpect(jsonPath("$[1].id").value("2"))
-                .andExpect(jsonPath("$[1].title").value("Book Two"));
-
-        verify(getBooks).execute();
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value("1"))
+                .andExpect(jsonPath("$.items[0].title").value("Test Title"))
+                .andExpect(jsonPath("$.items[1].id").value("2"))
+                .andExpect(jsonPath("$.items[1].title").value("Book Two"))
+                .andExpect(jsonPath("$.next").value("next-cursor"));
+
+        verify(getBooks).execute("cursor", 2);
         verify(bookMapper, times(2)).toDTO(any(Book.class));
     }
 
+    @Test
+    void shouldReturnBadRequestWhenPageSizeIsInvalid() throws Exception {
+        when(getBooks.execute(null, 0)).thenThrow(new IllegalArgumentException("size must be between 1 and 500"));
+
+        mockMvc.perform(get("/api/books").param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldExportBooksAsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Book> consumer = invocation.getArgument(0);
+            consumer.accept(book);
+            consumer.accept(book);
+            return null;
+        }).when(exportBooks).execute(any(Consumer.class));
+        when(bookMapper.toDTO(book)).thenReturn(bookResponse);
+
+        MvcResult result = mockMvc.perform(get("/api/books/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String line = objectMapper.writeValueAsString(bookResponse);
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(line + "\n" + line + "\n"));
+    }
+
+    @Test
+    void shouldServeTheExportSnapshotToGzipClients(@TempDir Path directory) throws Exception {
+        byte[] gzip = gzip("{\"id\":\"1\"}\n");
+        Path file = Files.write(directory.resolve("books.ndjson.gz"), gzip);
+        List<ExportSnapshot> opened = new ArrayList<>();
+        when(getExportSnapshot.execute()).thenAnswer(invocation -> {
+            opened.add(snapshot(file));
+            return Optional.of(opened.getLast());
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/books/export").header("Accept-Encoding", "br, gzip;q=0.8"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("ETag", "\"s1a2b\""))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andExpect(header().longValue("Content-Length", gzip.length))
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().bytes(gzip));
+
+        mockMvc.perform(get("/api/books/export").header("Accept-Encoding", "gzip").header("If-None-Match", "\"s1a2b\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+        assertThat(opened).hasSize(2).noneMatch(snapshot -> snapshot.content().isOpen());
+        verifyNoInteractions(exportBooks);
+    }
+
+    @Test
+    void shouldStreamTheExportWhenGzipIsNotAccepted() throws Exception {
+        mockMvc.perform(get("/api/books/export").header("Accept-Encoding", "gzip;q=0, br"))
+                .andExpect(request().asyncStarted());
+        mockMvc.perform(get("/api/books/export").header("Accept-Encoding", "gzip;q=0, *"))
+                .andExpect(request().asyncStarted());
+        mockMvc.perform(get("/api/books/export").header("Accept-Encoding", "identity, *;q=0"))
+                .andExpect(request().asyncStarted());
+
+        verifyNoInteractions(getExportSnapshot);
+    }
+
+    @Test
+    void shouldServeTheExportSnapshotWhenOnlyTheWildcardIsRefused(@TempDir Path directory) throws Exception {
+        byte[] gzip = gzip("{\"id\":\"1\"}\n");
+        Path file = Files.write(directory.resolve("books.ndjson.gz"), gzip);
+        when(getExportSnapshot.execute()).thenAnswer(invocation -> Optional.of(snapshot(file)));
+
+        for (String acceptEncoding : List.of("*;q=0, gzip", "br;q=1.0, *;q=0.5")) {
+            MvcResult result = mockMvc.perform(get("/api/books/export").header("Accept-Encoding", acceptEncoding))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(header().string("Content-Encoding", "gzip"))
+                    .andExpect(content().bytes(gzip));
+        }
+        verifyNoInteractions(exportBooks);
+    }
+
     @Test
     void shouldGetBookByIdAndReturn200() throws Exception {
         String bookId = "1";
+        book.setVersion(4L);
         when(getBook.execute(bookId)).thenReturn(book);
         when(bookMapper.toDTO(book)).thenReturn(bookResponse);
 
         mockMvc.perform(get("/api/books/{id}", bookId))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.id").value("1"))
                 .andExpect(jsonPath("$.title").value("Test Title"))
@@ -187,6 +318,88 @@ class LibraryControllerIntegrationTest {
         verify(bookMapper).toDTO(book);
     }
 
+    @Test
+    void shouldAnswerMatchingIfNoneMatchWith304WithoutReadingTheBook() throws Exception {
+        when(getBookVersion.execute("1")).thenReturn(Optional.of(new BookVersion(4L, UPDATED_AT)));
+
+        mockMvc.perform(get("/api/books/{id}", "1").header("If-None-Match", "\"4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(content().string(""));
+
+        verify(getBook, never()).execute(any());
+        verify(bookMapper, never()).toDTO(any(Book.class));
+    }
+
+    @Test
+    void shouldAnswerIfModifiedSinceWith304WhenUnchanged() throws Exception {
+        when(getBookVersion.execute("1")).thenReturn(Optional.of(new BookVersion(4L, UPDATED_AT)));
+
+        mockMvc.perform(get("/api/books/{id}", "1").header("If-Modified-Since", "Sat, 17 Oct 2026 10:15:30 GMT"))
+                .andExpect(status().isNotModified());
+
+        verify(getBook, never()).execute(any());
+    }
+
+    @Test
+    void shouldReturnBookWithValidatorsWhenETagIsStale() throws Exception {
+        book.setVersion(5L);
+        book.setUpdatedAt(UPDATED_AT);
+        when(getBookVersion.execute("1")).thenReturn(Optional.of(new BookVersion(5L, UPDATED_AT)));
+        when(getBook.execute("1")).thenReturn(book);
+        when(bookMapper.toDTO(book)).thenReturn(bookResponse);
+
+        mockMvc.perform(get("/api/books/{id}", "1").header("If-None-Match", "\"4\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"5\""))
+                .andExpect(header().string("Last-Modified", "Sat, 17 Oct 2026 10:15:30 GMT"))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(jsonPath("$.id").value("1"));
+    }
+
+    @Test
+    void shouldAnswerUnchangedPageWith304() throws Exception {
+        book.setVersion(1L);
+        when(getBooks.execute(null, null)).thenReturn(new BookPage(List.of(book), null));
+        when(bookMapper.toDTO(book)).thenReturn(bookResponse);
+
+        String eTag = mockMvc.perform(get("/api/books"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(header().string("ETag", startsWith("W/\"p")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/books").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        book.setVersion(2L);
+        mockMvc.perform(get("/api/books").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value("1"));
+    }
+
+    @Test
+    void shouldGetBookByIsbnAndReturn200() throws Exception {
+        book.setVersion(2L);
+        when(getBookByIsbn.execute("9780123456789")).thenReturn(book);
+        when(bookMapper.toDTO(book)).thenReturn(bookResponse);
+
+        mockMvc.perform(get("/api/books/isbn/{isbn}", "9780123456789"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""))
+                .andExpect(jsonPath("$.isbn").value("978-0123456789"));
+    }
+
+    @Test
+    void shouldReturn404WhenIsbnIsUnknown() throws Exception {
+        when(getBookByIsbn.execute("9780000000000")).thenThrow(new CustomHttpException("book not found!", 404));
+
+        mockMvc.perform(get("/api/books/isbn/{isbn}", "9780000000000"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void shouldReturn500WhenBookNotFound() throws Exception {
         String bookId = "nonexistent";
@@ -218,22 +431,49 @@ class LibraryControllerIntegrationTest {
                 3999L
         );
 
-        when(updateBook.execute(eq(bookId), any(BookPutRequestDTO.class))).thenReturn(updatedBook);
+        updatedBook.setVersion(3L);
+        when(updateBook.execute(eq(bookId), any(BookPutRequestDTO.class), eq(2L))).thenReturn(updatedBook);
         when(bookMapper.toDTO(updatedBook)).thenReturn(updatedResponse);
 
         mockMvc.perform(put("/api/books/{id}", bookId)
+                        .header("If-Match", "\"2\"")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(bookPutRequest)))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.id").value("1"))
                 .andExpect(jsonPath("$.title").value("Updated Title"))
                 .andExpect(jsonPath("$.author").value("Updated Author"));
 
-        verify(updateBook).execute(eq(bookId), any(BookPutRequestDTO.class));
+        verify(updateBook).execute(eq(bookId), any(BookPutRequestDTO.class), eq(2L));
         verify(bookMapper).toDTO(updatedBook);
     }
 
+    @Test
+    void shouldReturn412WhenIfMatchIsStale() throws Exception {
+        String bookId = "1";
+        when(updateBook.execute(eq(bookId), any(BookPutRequestDTO.class), eq(1L)))
+                .thenThrow(new OptimisticLockingFailureException("book 1 was modified concurrently"));
+
+        mockMvc.perform(put("/api/books/{id}", bookId)
+                        .header("If-Match", "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookPutRequest)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void shouldReturn412ForWeakOrForeignIfMatch() throws Exception {
+        mockMvc.perform(put("/api/books/{id}", "1")
+                        .header("If-Match", "W/\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookPutRequest)))
+                .andExpect(status().isPreconditionFailed());
+
+        verifyNoInteractions(updateBook);
+    }
+
     @Test
     void shouldDeleteBookAndReturn200() throws Exception {
         String bookId = "1";
@@ -255,4 +495,101 @@ class LibraryControllerIntegrationTest {
 
         verify(deleteBook).execute(bookId);
     }
+
+    @Test
+    void shouldNegotiateCborAndSmile() throws Exception {
+        book.setVersion(4L);
+        when(getBook.execute("1")).thenReturn(book);
+        when(bookMapper.toDTO(book)).thenReturn(bookResponse);
+
+        for (ObjectMapper mapper : List.of(new CBORMapper(), new SmileMapper())) {
+            MediaType format = mapper instanceof CBORMapper ? MediaType.APPLICATION_CBOR : SMILE;
+            String eTag = mapper instanceof CBORMapper ? "\"4+cbor\"" : "\"4+smile\"";
+            byte[] body = mockMvc.perform(get("/api/books/{id}", "1").accept(format))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(format))
+                    .andExpect(header().string("Vary", "Accept"))
+                    .andExpect(header().string("ETag", eTag))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            assertThat(mapper.readValue(body, BookResponseDTO.class)).isEqualTo(bookResponse);
+        }
+    }
+
+    @Test
+    void shouldKeepETagsApartPerRepresentation() throws Exception {
+        when(getBookVersion.execute("1")).thenReturn(Optional.of(new BookVersion(4L, UPDATED_AT)));
+        book.setVersion(4L);
+        when(getBook.execute("1")).thenReturn(book);
+        when(bookMapper.toDTO(book)).thenReturn(bookResponse);
+
+        mockMvc.perform(get("/api/books/{id}", "1").accept(MediaType.APPLICATION_CBOR).header("If-None-Match", "\"4+cbor\""))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/books/{id}", "1").accept(MediaType.APPLICATION_JSON).header("If-None-Match", "\"4+cbor\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+        mockMvc.perform(get("/api/books/{id}", "1").header("Accept", "application/json;q=0.5, application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("ETag", "\"4+cbor\""));
+
+        when(updateBook.execute(eq("1"), any(BookPutRequestDTO.class), eq(4L))).thenReturn(book);
+        mockMvc.perform(put("/api/books/{id}", "1")
+                        .header("If-Match", "\"4+smile\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookPutRequest)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldExchangeProtobufGeneratedFromTheRecords() throws Exception {
+        ProtobufMapper protobuf = new ProtobufMapper();
+        byte[] request = protobuf.writer(protobuf.generateSchemaFor(BookPostRequestDTO.class)).writeValueAsBytes(bookPostRequest);
+        when(bookMapper.toDomain(bookPostRequest)).thenReturn(book);
+        when(createBook.execute(book)).thenReturn(book);
+        when(bookMapper.toDTO(book)).thenReturn(bookResponse);
+
+        byte[] response = mockMvc.perform(post("/api/books")
+                        .contentType(ProtobufJacksonHttpMessageConverter.APPLICATION_PROTOBUF)
+                        .accept(ProtobufJacksonHttpMessageConverter.APPLICATION_PROTOBUF)
+                        .content(request))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(ProtobufJacksonHttpMessageConverter.APPLICATION_PROTOBUF))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(protobuf.readerFor(BookResponseDTO.class).with(protobuf.generateSchemaFor(BookResponseDTO.class))
+                .<BookResponseDTO>readValue(response)).isEqualTo(bookResponse);
+        verify(bookMapper).toDomain(bookPostRequest);
+    }
+
+    @Test
+    void shouldWritePagesAsProtobufAndDefaultToJson() throws Exception {
+        when(getBooks.execute(null, null)).thenReturn(new BookPage(List.of(book, book), "next"));
+        when(bookMapper.toDTO(book)).thenReturn(bookResponse);
+
+        byte[] response = mockMvc.perform(get("/api/books").accept(ProtobufJacksonHttpMessageConverter.APPLICATION_PROTOBUF))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ProtobufMapper protobuf = new ProtobufMapper();
+        BookPageResponseDTO page = protobuf.readerFor(BookPageResponseDTO.class)
+                .with(protobuf.generateSchemaFor(BookPageResponseDTO.class)).readValue(response);
+        assertThat(page).isEqualTo(new BookPageResponseDTO(List.of(bookResponse, bookResponse), "next"));
+
+        mockMvc.perform(get("/api/books").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    private static ExportSnapshot snapshot(final Path file) throws Exception {
+        return new ExportSnapshot(FileChannel.open(file), Files.size(file), "1a2b");
+    }
+
+    private static byte[] gzip(final String content) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
 }
@@ -1,10 +1,12 @@
 package com.example.demo.controller;
 
+import com.example.demo.controller.dtos.BookPageResponseDTO;
 import com.example.demo.controller.dtos.BookPostRequestDTO;
 import com.example.demo.controller.dtos.BookPutRequestDTO;
 import com.example.demo.controller.dtos.BookResponseDTO;
 import com.example.demo.controller.mapper.BookMapper;
 import com.example.demo.domain.Book;
+import com.example.demo.domain.BookPage;
 import com.example.demo.exceptions.BookNotFoundException;
 import com.example.demo.usecases.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,9 +15,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.Arrays;
-import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -33,12 +36,24 @@ class LibraryControllerTest {
     @Mock
     private GetBook getBook;
 
+    @Mock
+    private GetBookVersion getBookVersion;
+
+    @Mock
+    private GetBookByIsbn getBookByIsbn;
+
     @Mock
     private UpdateBook updateBook;
 
     @Mock
     private DeleteBook deleteBook;
 
+    @Mock
+    private ExportBooks exportBooks;
+
+    @Mock
+    private GetExportSnapshot getExportSnapshot;
+
     @Mock
     private BookMapper bookMapper;
 
@@ -126,21 +141,22 @@ class LibraryControllerTest {
                 1999L
         );
 
-        List<Book> books = Arrays.asList(book, book2);
-        
-        when(getBooks.execute()).thenReturn(books);
+        BookPage page = new BookPage(Arrays.asList(book, book2), "next-cursor");
+
+        when(getBooks.execute(null, null)).thenReturn(page);
         when(bookMapper.toDTO(book)).thenReturn(bookResponse);
         when(bookMapper.toDTO(book2)).thenReturn(bookResponse2);
 
-        List<BookResponseDTO> result = libraryController.getBooks();
+        BookPageResponseDTO result = libraryController.getBooks(null, null).getBody();
 
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0).id()).isEqualTo("1");
-        assertThat(result.get(0).title()).isEqualTo("Test Title");
-        assertThat(result.get(1).id()).isEqualTo("2");
-        assertThat(result.get(1).title()).isEqualTo("Book Two");
+        assertThat(result.items()).hasSize(2);
+        assertThat(result.items().get(0).id()).isEqualTo("1");
+        assertThat(result.items().get(0).title()).isEqualTo("Test Title");
+        assertThat(result.items().get(1).id()).isEqualTo("2");
+        assertThat(result.items().get(1).title()).isEqualTo("Book Two");
+        assertThat(result.next()).isEqualTo("next-cursor");
 
-        verify(getBooks).execute();
+        verify(getBooks).execute(null, null);
         verify(bookMapper, times(2)).toDTO(any(Book.class));
     }
 
@@ -150,7 +166,7 @@ class LibraryControllerTest {
         when(getBook.execute(bookId)).thenReturn(book);
         when(bookMapper.toDTO(book)).thenReturn(bookResponse);
 
-        BookResponseDTO result = libraryController.getBook(bookId);
+        BookResponseDTO result = libraryController.getBook(bookId, null, new ServletWebRequest(new MockHttpServletRequest())).getBody();
 
         assertThat(result).isNotNull();
         assertThat(result.id()).isEqualTo("1");
@@ -166,7 +182,7 @@ class LibraryControllerTest {
         String bookId = "nonexistent";
         when(getBook.execute(bookId)).thenThrow(new BookNotFoundException("book not found!"));
 
-        assertThatThrownBy(() -> libraryController.getBook(bookId))
+        assertThatThrownBy(() -> libraryController.getBook(bookId, null, new ServletWebRequest(new MockHttpServletRequest())))
                 .isInstanceOf(BookNotFoundException.class)
                 .hasMessage("book not found!");
 
@@ -194,10 +210,10 @@ class LibraryControllerTest {
                 3999L
         );
 
-        when(updateBook.execute(bookId, bookPutRequest)).thenReturn(updatedBook);
+        when(updateBook.execute(bookId, bookPutRequest, null)).thenReturn(updatedBook);
         when(bookMapper.toDTO(updatedBook)).thenReturn(updatedResponse);
 
-        BookResponseDTO result = libraryController.updateBook(bookId, bookPutRequest);
+        BookResponseDTO result = libraryController.updateBook(bookId, null, null, bookPutRequest).getBody();
 
         assertThat(result).isNotNull();
         assertThat(result.id()).isEqualTo("1");
@@ -207,7 +223,7 @@ class LibraryControllerTest {
         assertThat(result.stock()).isEqualTo(15);
         assertThat(result.priceInCents()).isEqualTo(3999L);
 
-        verify(updateBook).execute(bookId, bookPutRequest);
+        verify(updateBook).execute(bookId, bookPutRequest, null);
         verify(bookMapper).toDTO(updatedBook);
     }
 
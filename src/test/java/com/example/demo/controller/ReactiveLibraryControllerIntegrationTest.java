@@ -0,0 +1,182 @@
+package com.example.demo.controller;
+
+import com.example.demo.controller.dtos.BookPageResponseDTO;
+import com.example.demo.controller.dtos.BookPostRequestDTO;
+import com.example.demo.controller.dtos.BookPutRequestDTO;
+import com.example.demo.controller.dtos.BookResponseDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+@ActiveProfiles({"reactive", "reactive-test"})
+class ReactiveLibraryControllerIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private R2dbcEntityTemplate template;
+
+    @AfterEach
+    void tearDown() {
+        template.getDatabaseClient().sql("DELETE FROM book_entity").then().block();
+        template.getDatabaseClient().sql("DELETE FROM book_change").then().block();
+        template.getDatabaseClient().sql("UPDATE book_change_head SET seq = 0").then().block();
+    }
+
+    @Test
+    void shouldCreateGetUpdateAndDeleteBook() {
+        BookResponseDTO created = create("978-0000000001", "Reactive Title");
+        assertThat(created.id()).isNotBlank();
+
+        webTestClient.get().uri("/api/books/{id}", created.id())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(BookResponseDTO.class)
+                .value(book -> assertThat(book.title()).isEqualTo("Reactive Title"));
+
+        webTestClient.put().uri("/api/books/{id}", created.id())
+                .header("If-Match", "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new BookPutRequestDTO("Updated Title", null, null, 3, null))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"1\"")
+                .expectBody(BookResponseDTO.class)
+                .value(book -> {
+                    assertThat(book.title()).isEqualTo("Updated Title");
+                    assertThat(book.author()).isEqualTo("Author");
+                    assertThat(book.stock()).isEqualTo(3);
+                });
+
+        webTestClient.put().uri("/api/books/{id}", created.id())
+                .header("If-Match", "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new BookPutRequestDTO("Lost Update", null, null, null, null))
+                .exchange()
+                .expectStatus().isEqualTo(412);
+
+        webTestClient.delete().uri("/api/books/{id}", created.id())
+                .exchange()
+                .expectStatus().isOk();
+
+        // same mapping as LibraryController: BookNotFoundException falls through to 500
+        webTestClient.get().uri("/api/books/{id}", created.id())
+                .exchange()
+                .expectStatus().is5xxServerError();
+    }
+
+    @Test
+    void shouldLogEveryWriteInTheChangeLog() {
+        BookResponseDTO created = create("978-0000000002", "Logged");
+
+        webTestClient.put().uri("/api/books/{id}", created.id())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new BookPutRequestDTO("Logged Again", null, null, null, null))
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.put().uri("/api/books/{id}", created.id())
+                .header("If-Match", "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new BookPutRequestDTO("Lost Update", null, null, null, null))
+                .exchange()
+                .expectStatus().isEqualTo(412);
+        webTestClient.delete().uri("/api/books/{id}", created.id())
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.delete().uri("/api/books/{id}", created.id())
+                .exchange()
+                .expectStatus().isOk();
+
+        // one row per write that took effect, seqs handed out in order by the head row
+        List<String> changes = template.getDatabaseClient()
+                .sql("SELECT seq, book_id, deleted FROM book_change ORDER BY seq")
+                .map(row -> row.get("seq", Long.class) + " " + row.get("book_id", UUID.class) + " " + row.get("deleted", Boolean.class))
+                .all().collectList().block();
+        assertThat(changes).containsExactly(
+                "1 " + created.id() + " false",
+                "2 " + created.id() + " false",
+                "3 " + created.id() + " true");
+        assertThat(template.getDatabaseClient().sql("SELECT seq FROM book_change_head")
+                .map(row -> row.get("seq", Long.class)).one().block()).isEqualTo(3L);
+    }
+
+    @Test
+    void shouldPageByCursorAndExportNdjson() {
+        for (int i = 0; i < 3; i++) {
+            create("978-000000001" + i, "Title " + i);
+        }
+
+        BookPageResponseDTO first = webTestClient.get().uri("/api/books?size=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(BookPageResponseDTO.class)
+                .returnResult().getResponseBody();
+        assertThat(first.items()).hasSize(2);
+        assertThat(first.next()).isNotNull();
+
+        BookPageResponseDTO second = webTestClient.get().uri("/api/books?size=2&cursor={cursor}", first.next())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(BookPageResponseDTO.class)
+                .returnResult().getResponseBody();
+        assertThat(second.items()).hasSize(1);
+        assertThat(second.next()).isNull();
+
+        List<BookResponseDTO> exported = webTestClient.get().uri("/api/books/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(BookResponseDTO.class)
+                .returnResult().getResponseBody();
+        List<String> pagedIds = new ArrayList<>();
+        first.items().forEach(book -> pagedIds.add(book.id()));
+        second.items().forEach(book -> pagedIds.add(book.id()));
+        assertThat(exported).extracting(BookResponseDTO::id).containsExactlyElementsOf(pagedIds);
+    }
+
+    @Test
+    void shouldMapErrorsLikeTheServletStack() {
+        webTestClient.post().uri("/api/books")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new BookPostRequestDTO("", "", "invalid-isbn", -1, -1L))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        webTestClient.get().uri("/api/books?size=0")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        create("978-0000000099", "Original");
+        webTestClient.post().uri("/api/books")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new BookPostRequestDTO("Duplicate", "Author", "978-0000000099", 1, 100L))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    private BookResponseDTO create(String isbn, String title) {
+        return webTestClient.post().uri("/api/books")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new BookPostRequestDTO(title, "Author", isbn, 10, 2999L))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(BookResponseDTO.class)
+                .returnResult().getResponseBody();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.controller;
+
+import com.example.demo.exceptions.CustomHttpException;
+import com.example.demo.usecases.ReleaseStock;
+import com.example.demo.usecases.ReserveStock;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(StockController.class)
+class StockControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReserveStock reserveStock;
+
+    @MockBean
+    private ReleaseStock releaseStock;
+
+    @Test
+    void shouldReserveAndReleaseWithNoContent() throws Exception {
+        mockMvc.perform(post("/api/books/{id}/stock/reserve", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\":2}"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(post("/api/books/{id}/stock/release", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\":2}"))
+                .andExpect(status().isNoContent());
+
+        verify(reserveStock).execute("1", 2);
+        verify(releaseStock).execute("1", 2);
+    }
+
+    @Test
+    void shouldReturnConflictWhenStockIsInsufficient() throws Exception {
+        doThrow(new CustomHttpException("insufficient stock", 409)).when(reserveStock).execute("1", 5);
+
+        mockMvc.perform(post("/api/books/{id}/stock/reserve", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\":5}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void shouldRejectNonPositiveQuantity() throws Exception {
+        mockMvc.perform(post("/api/books/{id}/stock/reserve", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\":0}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(reserveStock);
+    }
+}
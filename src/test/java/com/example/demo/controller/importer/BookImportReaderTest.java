@@ -0,0 +1,107 @@
+package com.example.demo.controller.importer;
+
+import com.example.demo.usecases.ImportBooks.Row;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookImportReaderTest {
+
+    private final BookImportReader bookImportReader = new BookImportReader(new ObjectMapper());
+
+    @Test
+    void shouldReadCsvRowsByHeader() throws IOException {
+        List<Row> rows = drain(bookImportReader.csv(input("""
+                isbn,title,author,stock,priceInCents
+                978-0000000001,Title One,Author One,3,1999
+                978-0000000002,"Title, Two",Author Two,,2999
+                """)));
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).number()).isEqualTo(1);
+        assertThat(rows.get(0).book().title()).isEqualTo("Title One");
+        assertThat(rows.get(0).book().stock()).isEqualTo(3);
+        assertThat(rows.get(1).book().title()).isEqualTo("Title, Two");
+        assertThat(rows.get(1).book().stock()).isNull();
+    }
+
+    @Test
+    void shouldReportMalformedCsvRowsAndContinue() throws IOException {
+        List<Row> rows = drain(bookImportReader.csv(input("""
+                isbn,title,author,stock,priceInCents
+                978-0000000001,Title One,Author One,many,1999
+                978-0000000002,Title Two,Author Two,2,2999
+                """)));
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).error()).isEqualTo("malformed row");
+        assertThat(rows.get(1).book().isbn()).isEqualTo("978-0000000002");
+    }
+
+    @Test
+    void shouldReportCsvRowsTheParserRejectsAndResync() throws IOException {
+        List<Row> rows = drain(bookImportReader.csv(input("""
+                isbn,title,author,stock,priceInCents
+                978-0000000001,"Title" One,Author One,1,1999
+                978-0000000002,Title Two,Author Two,2,2999
+                978-0000000003,Title Three,Author Three,3,3999,extra
+                978-0000000004,Title Four,Author Four,4,4999
+                """)));
+
+        assertThat(rows).extracting(Row::number).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(rows.get(0).error()).isEqualTo("malformed row");
+        assertThat(rows.get(1).book().isbn()).isEqualTo("978-0000000002");
+        assertThat(rows.get(2).error()).isEqualTo("malformed row");
+        assertThat(rows.get(3).book().isbn()).isEqualTo("978-0000000004");
+    }
+
+    @Test
+    void shouldFailTheImportWhenAnUnclosedQuoteSwallowsTheRest() throws IOException {
+        Iterator<Row> rows = bookImportReader.csv(input("""
+                isbn,title,author,stock,priceInCents
+                978-0000000001,Title One,Author One,1,1999
+                978-0000000002,"Title Two,Author Two,2,2999
+                978-0000000003,Title Three,Author Three,3,3999
+                """));
+
+        assertThat(rows.next().book().isbn()).isEqualTo("978-0000000001");
+        assertThatThrownBy(rows::hasNext)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("row 2");
+    }
+
+    @Test
+    void shouldReadNdjsonLinesAndReportMalformedOnes() {
+        List<Row> rows = drain(bookImportReader.ndjson(input("""
+                {"isbn":"978-0000000001","title":"One","author":"A","stock":1,"priceInCents":100}
+
+                {"isbn":
+                {"isbn":"978-0000000002","title":"Two","author":"B","stock":2,"priceInCents":200}
+                """)));
+
+        assertThat(rows).extracting(Row::number).containsExactly(1L, 3L, 4L);
+        assertThat(rows.get(0).book().title()).isEqualTo("One");
+        assertThat(rows.get(1).error()).isEqualTo("malformed row");
+        assertThat(rows.get(2).book().title()).isEqualTo("Two");
+    }
+
+    private static InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Row> drain(Iterator<Row> iterator) {
+        List<Row> rows = new ArrayList<>();
+        iterator.forEachRemaining(rows::add);
+        return rows;
+    }
+}
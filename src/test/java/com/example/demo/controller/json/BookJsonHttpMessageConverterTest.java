@@ -0,0 +1,66 @@
+package com.example.demo.controller.json;
+
+import com.example.demo.controller.dtos.BookPageResponseDTO;
+import com.example.demo.controller.dtos.BookResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookJsonHttpMessageConverterTest {
+
+    private final BookJsonHttpMessageConverter converter = new BookJsonHttpMessageConverter();
+
+    @Test
+    void shouldOnlyWriteBookPagesAndBookLists() {
+        assertThat(converter.canWrite(BookPageResponseDTO.class, BookPageResponseDTO.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canWrite(listOf(BookResponseDTO.class), List.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canWrite(listOf(BookResponseDTO.class), List.class, MediaType.APPLICATION_XML)).isFalse();
+        assertThat(converter.canWrite(listOf(String.class), List.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canWrite(BookResponseDTO.class, BookResponseDTO.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canRead(BookPageResponseDTO.class, null, MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+    @Test
+    void shouldWriteJsonWithoutCharsetParameter() throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(List.of(new BookResponseDTO("1", null, "Title", "Author", 1, 2L)), listOf(BookResponseDTO.class),
+                MediaType.APPLICATION_JSON, output);
+
+        assertThat(output.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(output.getBodyAsString())
+                .isEqualTo("[{\"id\":\"1\",\"isbn\":null,\"title\":\"Title\",\"author\":\"Author\",\"stock\":1,\"priceInCents\":2}]");
+    }
+
+    @Test
+    void shouldSetContentLengthOnlyWhenTheBodyFitsTheBuffer() throws IOException {
+        MockHttpOutputMessage small = new MockHttpOutputMessage();
+        converter.write(new BookPageResponseDTO(books(3), null), BookPageResponseDTO.class, MediaType.APPLICATION_JSON, small);
+
+        assertThat(small.getHeaders().getContentLength()).isEqualTo(small.getBodyAsBytes().length);
+
+        MockHttpOutputMessage large = new MockHttpOutputMessage();
+        converter.write(new BookPageResponseDTO(books(500), null), BookPageResponseDTO.class, MediaType.APPLICATION_JSON, large);
+
+        assertThat(large.getBodyAsBytes().length).isGreaterThan(BookJsonWriter.BUFFER_SIZE);
+        assertThat(large.getHeaders().getContentLength()).isEqualTo(-1);
+    }
+
+    private static List<BookResponseDTO> books(final int count) {
+        return IntStream.range(0, count)
+                .mapToObj(n -> new BookResponseDTO("id-" + n, "978-" + n, "Title " + n, "Author " + n, n, 100L * n))
+                .toList();
+    }
+
+    private static Type listOf(final Class<?> element) {
+        return ResolvableType.forClassWithGenerics(List.class, element).getType();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.controller.json;
+
+import com.example.demo.controller.dtos.BookPageResponseDTO;
+import com.example.demo.controller.dtos.BookResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookJsonWriterTest {
+
+    // same configuration Spring Boot applies to the MVC message converter
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void shouldWritePagesExactlyLikeJackson() throws IOException {
+        BookPageResponseDTO page = new BookPageResponseDTO(List.of(
+                new BookResponseDTO("01a1", "978-0000000001", "Plain", "Author", 3, 1999L),
+                new BookResponseDTO("01a2", null, "Quote \" back\\slash /slash", "Tab\tNew\nline\r\b\f\u0000\u001f\u007f", null, null),
+                new BookResponseDTO("01a3", "978-0000000003", "Ünïcödé €uro 日本語 📚", " ", -42, Long.MIN_VALUE),
+                new BookResponseDTO("01a4", "", "", "", Integer.MAX_VALUE, Long.MAX_VALUE)), "next-cursor");
+
+        assertThat(write(page)).isEqualTo(objectMapper.writeValueAsBytes(page));
+        assertThat(write(new BookPageResponseDTO(List.of(), null)))
+                .isEqualTo(objectMapper.writeValueAsBytes(new BookPageResponseDTO(List.of(), null)));
+        assertThat(write(new BookPageResponseDTO(null, null)))
+                .isEqualTo(objectMapper.writeValueAsBytes(new BookPageResponseDTO(null, null)));
+    }
+
+    @Test
+    void shouldFlushAcrossBufferBoundaries() throws IOException {
+        // long multi-byte strings make escapes and code points straddle the buffer end
+        String title = "é\"".repeat(BookJsonWriter.BUFFER_SIZE / 3);
+        List<BookResponseDTO> books = IntStream.range(0, 500)
+                .mapToObj(n -> new BookResponseDTO("id-" + n, "978-" + n, n % 50 == 0 ? title : "Title " + n, "Author", n, 1000L * n))
+                .toList();
+
+        assertThat(write(new BookPageResponseDTO(books, null)))
+                .isEqualTo(objectMapper.writeValueAsBytes(new BookPageResponseDTO(books, null)));
+    }
+
+    @Test
+    void shouldWriteNdjsonLines() throws IOException {
+        BookResponseDTO book = new BookResponseDTO("1", "978-0000000001", "Title", "Author", 1, 100L);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BookJsonWriter writer = BookJsonWriter.open(out)) {
+            writer.writeLine(book);
+            writer.writeLine(book);
+        }
+
+        String line = objectMapper.writeValueAsString(book);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(line + "\n" + line + "\n");
+    }
+
+    @Test
+    void shouldEscapeUnpairedSurrogatesLikeJackson() throws IOException {
+        BookPageResponseDTO page = new BookPageResponseDTO(
+                List.of(new BookResponseDTO("1", null, "broken \uD83D", "\uDCDA reversed \uDCDA\uD83D", null, null)), null);
+
+        assertThat(write(page)).isEqualTo(objectMapper.writeValueAsBytes(page));
+    }
+
+    private static byte[] write(final BookPageResponseDTO page) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BookJsonWriter writer = BookJsonWriter.open(out)) {
+            writer.writePage(page);
+        }
+        return out.toByteArray();
+    }
+}
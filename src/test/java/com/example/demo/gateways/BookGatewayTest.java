@@ -0,0 +1,280 @@
+package com.example.demo.gateways;
+
+import com.example.demo.controller.dtos.BookPutRequestDTO;
+import com.example.demo.domain.Book;
+import com.example.demo.domain.BookVersion;
+import com.example.demo.domain.StockUpdateStatus;
+import com.example.demo.exceptions.BookNotFoundException;
+import com.example.demo.gateways.entity.BookEntity;
+import com.example.demo.gateways.index.BookTextIndex;
+import com.example.demo.gateways.index.IsbnIndex;
+import com.example.demo.repository.BookRepository;
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static com.example.demo.gateways.TestBooks.book;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BookGatewayTest {
+
+    @Autowired
+    private BookGateway bookGateway;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private IsbnIndex isbnIndex;
+
+    @Autowired
+    private BookTextIndex bookTextIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void shouldCreateUpdateAndDeleteInBatches() {
+        List<Book> books = IntStream.range(0, 1200).mapToObj(TestBooks::book).toList();
+
+        List<Book> created = bookGateway.createBooks(books);
+
+        assertThat(created).hasSize(1200).allSatisfy(book -> assertThat(book.getId()).isNotNull());
+        assertThat(bookRepository.count()).isEqualTo(1200);
+
+        String firstId = created.get(0).getId();
+        Map<String, Book> updated = bookGateway.updateBooks(Map.of(
+                firstId, new BookPutRequestDTO("Renamed", null, null, 99, null),
+                "missing", new BookPutRequestDTO("Nope", null, null, null, null)));
+
+        assertThat(updated).containsOnlyKeys(firstId);
+        Book reloaded = bookGateway.getBookById(firstId);
+        assertThat(reloaded.getTitle()).isEqualTo("Renamed");
+        assertThat(reloaded.getStock()).isEqualTo(99);
+        assertThat(reloaded.getAuthor()).isEqualTo("Author 0");
+
+        List<String> ids = new ArrayList<>(created.stream().map(Book::getId).toList());
+        ids.add("missing");
+        Set<String> deleted = bookGateway.deleteBooksById(ids);
+
+        assertThat(deleted).hasSize(1200).doesNotContain("missing");
+        assertThat(bookRepository.count()).isZero();
+    }
+
+    @Test
+    void shouldFindOwnersOfTakenIsbns() {
+        Book created = bookGateway.createBook(book(1));
+
+        Map<String, String> owners = bookGateway.findIdsByIsbn(List.of(created.getIsbn(), "978-9999999999"));
+
+        assertThat(owners).containsExactly(Map.entry(created.getIsbn(), created.getId()));
+    }
+
+    @Test
+    void shouldPatchOnlyGivenFieldsAndBumpVersion() {
+        Book created = bookGateway.createBook(book(1));
+        assertThat(created.getVersion()).isZero();
+
+        Book updated = bookGateway.updateBook(created.getId(), new BookPutRequestDTO("Patched", null, null, 7, null), 0L);
+
+        assertThat(updated.getVersion()).isEqualTo(1L);
+        assertThat(updated.getTitle()).isEqualTo("Patched");
+        assertThat(updated.getStock()).isEqualTo(7);
+        assertThat(updated.getAuthor()).isEqualTo("Author 1");
+        assertThat(bookGateway.getBookById(created.getId()).getTitle()).isEqualTo("Patched");
+    }
+
+    @Test
+    void shouldRejectStaleVersionAndReportMissingBook() {
+        Book created = bookGateway.createBook(book(1));
+        bookGateway.updateBook(created.getId(), new BookPutRequestDTO("First", null, null, null, null), null);
+
+        assertThatThrownBy(() -> bookGateway.updateBook(created.getId(), new BookPutRequestDTO("Lost", null, null, null, null), 0L))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(bookGateway.getBookById(created.getId()).getTitle()).isEqualTo("First");
+
+        assertThatThrownBy(() -> bookGateway.updateBook("missing", new BookPutRequestDTO("Nope", null, null, null, null), null))
+                .isInstanceOf(BookNotFoundException.class);
+    }
+
+    @Test
+    void shouldReserveAndReleaseStockAtomically() {
+        Book three = book(3);
+        three.setStock(3);
+        Book created = bookGateway.createBook(three);
+
+        assertThat(bookGateway.reserveStock(created.getId(), 2)).isEqualTo(StockUpdateStatus.APPLIED);
+        assertThat(bookGateway.reserveStock(created.getId(), 2)).isEqualTo(StockUpdateStatus.INSUFFICIENT_STOCK);
+        assertThat(bookGateway.releaseStock(created.getId(), 5)).isEqualTo(StockUpdateStatus.APPLIED);
+        assertThat(bookGateway.reserveStock("missing", 1)).isEqualTo(StockUpdateStatus.NOT_FOUND);
+
+        Book reloaded = bookGateway.getBookById(created.getId());
+        assertThat(reloaded.getStock()).isEqualTo(6);
+        assertThat(reloaded.getVersion()).isEqualTo(2L);
+
+        assertThat(bookGateway.releaseStock(created.getId(), Integer.MAX_VALUE)).isEqualTo(StockUpdateStatus.STOCK_LIMIT_EXCEEDED);
+        assertThat(bookGateway.releaseStock(created.getId(), Integer.MAX_VALUE - 6)).isEqualTo(StockUpdateStatus.APPLIED);
+        assertThat(bookGateway.getBookById(created.getId()).getStock()).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void shouldTrackVersionAndLastModificationAcrossWrites() {
+        Book created = bookGateway.createBook(book(3));
+        assertThat(created.getUpdatedAt()).isNotNull();
+        assertThat(bookGateway.findVersion(created.getId())).contains(new BookVersion(0L, created.getUpdatedAt()));
+
+        Book updated = bookGateway.updateBook(created.getId(), new BookPutRequestDTO("Patched", null, null, null, null), null);
+        assertThat(updated.getUpdatedAt()).isAfter(created.getUpdatedAt());
+        assertThat(bookGateway.findVersion(created.getId())).contains(new BookVersion(1L, updated.getUpdatedAt()));
+
+        bookGateway.reserveStock(created.getId(), 1);
+        Book reloaded = bookGateway.getBookById(created.getId());
+        assertThat(reloaded.getUpdatedAt()).isNotNull();
+        // answered from the cache getBookById just filled
+        assertThat(bookGateway.findVersion(created.getId())).contains(new BookVersion(2L, reloaded.getUpdatedAt()));
+
+        assertThat(bookGateway.findVersion("missing")).isEmpty();
+    }
+
+    @Test
+    void shouldKeepTextIndexInSyncWithWrites() {
+        Book first = bookGateway.createBook(book(1));
+        Book second = bookGateway.createBook(book(2));
+
+        bookGateway.updateBook(first.getId(), new BookPutRequestDTO("Zanzibar Nights", null, null, null, null), null);
+        bookGateway.deleteBookById(second.getId());
+
+        assertThat(bookGateway.searchText("zanzibar", 10)).extracting(Book::getId).containsExactly(first.getId());
+        assertThat(bookGateway.searchText("author 2", 10)).isEmpty();
+
+        bookRepository.deleteAllInBatch();
+        bookGateway.rebuildTextIndex();
+        Book third = bookGateway.createBook(book(3));
+
+        assertThat(bookGateway.searchText("zanzibar", 10)).isEmpty();
+        assertThat(bookGateway.searchText("title 3", 10)).extracting(Book::getId).containsExactly(third.getId());
+    }
+
+    @Test
+    void shouldKeepIsbnIndexInSyncWithWrites() {
+        Book first = bookGateway.createBook(book(1));
+        Book second = bookGateway.createBook(book(2));
+
+        assertThat(bookGateway.findBookByIsbn("9780000000001")).map(Book::getId).contains(first.getId());
+
+        bookGateway.updateBook(first.getId(), new BookPutRequestDTO(null, null, "978-0000000011", null, null), null);
+        bookGateway.deleteBookById(second.getId());
+
+        assertThat(bookGateway.findBookByIsbn("978-0000000001")).isEmpty();
+        assertThat(bookGateway.findBookByIsbn("978-0000000011")).map(Book::getId).contains(first.getId());
+        assertThat(bookGateway.findBookByIsbn("978-0000000002")).isEmpty();
+
+        bookGateway.updateBooks(Map.of(first.getId(), new BookPutRequestDTO(null, null, "978-0000000021", null, null)));
+        assertThat(bookGateway.findBookByIsbn("978-0000000021")).map(Book::getId).contains(first.getId());
+
+        bookGateway.deleteBooksById(List.of(first.getId()));
+        assertThat(bookGateway.findBookByIsbn("978-0000000021")).isEmpty();
+    }
+
+    @Test
+    void shouldFindBooksWrittenPastTheIsbnIndex() {
+        // as if another instance had written it: straight to the table, the index never hears of it
+        BookEntity entity = new BookEntity();
+        entity.setIsbn("978-0000000077");
+        entity.setTitle("Elsewhere");
+        entity.setAuthor("Other Node");
+        entity.setStock(1);
+        entity.setPriceInCents(100L);
+        String id = bookRepository.save(entity).getId().toString();
+        assertThat(isbnIndex.get(IsbnIndex.encode("978-0000000077"))).isNull();
+
+        assertThat(bookGateway.findBookByIsbn("978-0000000077")).map(Book::getId).contains(id);
+        assertThat(isbnIndex.get(IsbnIndex.encode("978-0000000077"))).isEqualTo(id);
+        assertThat(bookGateway.findBookByIsbn("978-0000000078")).isEmpty();
+    }
+
+    @Test
+    void shouldFindABookByAnySpellingOfItsIsbn() {
+        BookEntity entity = new BookEntity();
+        entity.setIsbn("0-306-40615-2");
+        entity.setTitle("Spelled Apart");
+        entity.setStock(1);
+        String id = bookRepository.save(entity).getId().toString();
+
+        assertThat(bookGateway.findBookByIsbn("978-0-306-40615-7")).map(Book::getId).contains(id);
+        isbnIndex.remove("0-306-40615-2", id);
+        assertThat(bookGateway.findBookByIsbn("9780306406157")).map(Book::getId).contains(id);
+        Book sameIsbn = book(1);
+        sameIsbn.setIsbn("9780306406157");
+        assertThatThrownBy(() -> bookGateway.createBook(sameIsbn)).isInstanceOf(PersistenceException.class);
+    }
+
+    @Test
+    void shouldRememberIsbnMissesUntilTheIsbnIsWritten() {
+        assertThat(bookGateway.findBookByIsbn("978-0000000099")).isEmpty();
+
+        // behind this node's back, so the cached miss still answers
+        BookEntity entity = new BookEntity();
+        entity.setIsbn("978-0000000099");
+        entity.setStock(1);
+        bookRepository.save(entity);
+        assertThat(bookGateway.findBookByIsbn("978-0000000099")).isEmpty();
+
+        bookRepository.deleteAllInBatch();
+        Book created = bookGateway.createBook(book(99));
+        assertThat(bookGateway.findBookByIsbn("9780000000099")).map(Book::getId).contains(created.getId());
+    }
+
+    @Test
+    void shouldLeaveIndexesUntouchedWhenABatchRollsBack() {
+        List<Book> books = IntStream.range(0, 600).mapToObj(TestBooks::book).toList();
+        books.get(1).setTitle("Quokka Rollback");
+        // the second chunk repeats an ISBN of the first, so its flush fails after the first went out
+        books.get(599).setIsbn(books.get(0).getIsbn());
+
+        assertThatThrownBy(() -> bookGateway.createBooks(books)).isInstanceOf(PersistenceException.class);
+
+        assertThat(bookRepository.count()).isZero();
+        assertThat(isbnIndex.get(IsbnIndex.encode(books.get(1).getIsbn()))).isNull();
+        assertThat(bookTextIndex.search("quokka", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldLeaveIndexesUntouchedWhenASingleWriteRollsBack() {
+        Book wombat = book(1);
+        wombat.setTitle("Wombat Kept");
+        Book kept = bookGateway.createBook(wombat);
+        Book book = book(2);
+        book.setTitle("Quokka Rollback");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            bookGateway.createBook(book);
+            bookGateway.deleteBookById(kept.getId());
+            status.setRollbackOnly();
+        });
+
+        assertThat(isbnIndex.get(IsbnIndex.encode(book.getIsbn()))).isNull();
+        assertThat(bookTextIndex.search("quokka", 10)).isEmpty();
+        assertThat(isbnIndex.get(IsbnIndex.encode(kept.getIsbn()))).isEqualTo(kept.getId());
+        assertThat(bookTextIndex.search("wombat", 10)).containsExactly(kept.getId());
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.demo.gateways;
+
+import com.example.demo.domain.Book;
+
+/**
+ * Books for gateway tests to create: title, author and ISBN numbered by {@code n}, so each {@code n}
+ * is a distinct book, with 10 in stock.
+ */
+public final class TestBooks {
+
+    private TestBooks() {
+    }
+
+    public static Book book(final int n) {
+        Book book = new Book();
+        book.setTitle("Title " + n);
+        book.setAuthor("Author " + n);
+        book.setIsbn(String.format("978-%010d", n));
+        book.setStock(10);
+        book.setPriceInCents(1000L + n);
+        return book;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.demo.gateways.cache;
+
+import com.example.demo.domain.Book;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookCache bookCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bookCache = new BookCache(100, Duration.ofMinutes(10), Duration.ofSeconds(30), meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void shouldLoadOnceAndServeHitsFromTheCache() {
+        Book book = new Book();
+        book.setId("1");
+
+        bookCache.get("1", id -> load(book));
+        Optional<Book> result = bookCache.get("1", id -> load(book));
+
+        assertThat(result).containsSame(book);
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "books").tag("result", "hit").functionCounter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldCacheNegativeLookups() {
+        bookCache.get("missing", id -> load(null));
+        Optional<Book> result = bookCache.get("missing", id -> load(null));
+
+        assertThat(result).isEmpty();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void shouldReloadAfterInvalidation() {
+        Book book = new Book();
+        book.setId("1");
+
+        bookCache.get("1", id -> load(book));
+        bookCache.invalidate("1");
+        bookCache.get("1", id -> load(book));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shouldNotStoreALoadThatAnInvalidationOvertook() {
+        Book stale = new Book();
+        stale.setId("1");
+
+        // a writer commits and invalidates while the reader is still loading the old row
+        Optional<Book> result = bookCache.get("1", id -> {
+            bookCache.invalidate("1");
+            return load(stale);
+        });
+
+        assertThat(result).containsSame(stale);
+        assertThat(bookCache.getIfPresent("1")).isNull();
+    }
+
+    private Optional<Book> load(Book book) {
+        loads.incrementAndGet();
+        return Optional.ofNullable(book);
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.demo.gateways.changes;
+
+import com.example.demo.controller.dtos.BookPutRequestDTO;
+import com.example.demo.domain.Book;
+import com.example.demo.domain.BookChange;
+import com.example.demo.domain.BookChanges;
+import com.example.demo.exceptions.CustomHttpException;
+import com.example.demo.gateways.BookGateway;
+import com.example.demo.gateways.TestBooks;
+import com.example.demo.gateways.entity.BookChangeEntity;
+import com.example.demo.repository.BookChangeRepository;
+import com.example.demo.repository.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static com.example.demo.gateways.TestBooks.book;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BookChangeLogTest {
+
+    @Autowired
+    private BookGateway bookGateway;
+
+    @Autowired
+    private BookChangeLog bookChangeLog;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookChangeRepository bookChangeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void shouldLogEveryWriteAndCollapseItToTheCurrentState() {
+        long since = bookGateway.lastChange();
+        List<Book> created = bookGateway.createBooks(IntStream.range(0, 3).mapToObj(TestBooks::book).toList());
+        String first = created.get(0).getId();
+        String second = created.get(1).getId();
+        String third = created.get(2).getId();
+
+        bookGateway.updateBook(first, new BookPutRequestDTO("Renamed", null, null, null, null), null);
+        bookGateway.updateBooks(Map.of(first, new BookPutRequestDTO(null, null, null, 7, null)));
+        bookGateway.reserveStock(second, 2);
+        bookGateway.deleteBookById(third);
+        Book single = bookGateway.createBook(book(3));
+
+        BookChanges changes = bookGateway.findChanges(since, 50);
+
+        assertThat(changes.next()).isEqualTo(bookGateway.lastChange()).isEqualTo(since + 8);
+        assertThat(changes.changes()).extracting(BookChange::id).containsExactly(first, second, third, single.getId());
+        assertThat(changes.changes()).extracting(BookChange::seq).containsExactly(since + 5, since + 6, since + 7, since + 8);
+        assertThat(changes.changes().get(0).book().getTitle()).isEqualTo("Renamed");
+        assertThat(changes.changes().get(0).book().getStock()).isEqualTo(7);
+        assertThat(changes.changes().get(1).book().getStock()).isEqualTo(8);
+        assertThat(changes.changes().get(2).deleted()).isTrue();
+
+        assertThat(bookGateway.findChanges(changes.next(), 50).changes()).isEmpty();
+        assertThat(bookGateway.findChanges(changes.next(), 50).next()).isEqualTo(changes.next());
+        assertThat(bookGateway.findChanges(since, 2).changes()).extracting(BookChange::id).containsExactly(first, second);
+    }
+
+    @Test
+    void shouldHandOutSeqsInCommitOrder() throws Exception {
+        long since = bookGateway.lastChange();
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        // a long write: its book is in, its transaction still open
+        CompletableFuture<Book> slow = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            Book book = bookGateway.createBook(book(0));
+            written.countDown();
+            await(commit);
+            return book;
+        }));
+        written.await();
+
+        Book fast = bookGateway.createBook(book(1));
+        BookChanges changes = bookGateway.findChanges(since, 50);
+        assertThat(changes.changes()).extracting(BookChange::id).containsExactly(fast.getId());
+        assertThat(changes.next()).isEqualTo(bookGateway.lastChange()).isEqualTo(since + 1);
+
+        commit.countDown();
+        Book late = slow.get();
+        assertThat(bookGateway.findChanges(changes.next(), 50).changes()).extracting(BookChange::seq, BookChange::id)
+                .containsExactly(tuple(since + 2, late.getId()));
+    }
+
+    @Test
+    void shouldNotSpendASeqOnARolledBackWrite() {
+        long since = bookGateway.lastChange();
+        transactionTemplate.executeWithoutResult(status -> {
+            bookGateway.createBook(book(0));
+            status.setRollbackOnly();
+        });
+        Book created = bookGateway.createBook(book(1));
+
+        assertThat(bookGateway.findChanges(since, 50).changes()).extracting(BookChange::seq, BookChange::id)
+                .containsExactly(tuple(since + 1, created.getId()));
+    }
+
+    @Test
+    void shouldAnswerGoneOnceTheCursorIsPurged() {
+        long since = bookGateway.lastChange();
+        bookGateway.createBooks(IntStream.range(0, 3).mapToObj(TestBooks::book).toList());
+        // every row, including other tests', so that the whole log is purged
+        List<BookChangeEntity> rows = bookChangeRepository.findAll();
+        rows.forEach(row -> row.setChangedAt(row.getChangedAt().minus(Duration.ofDays(30))));
+        bookChangeRepository.saveAll(rows);
+
+        bookChangeLog.purge();
+
+        assertThat(bookChangeRepository.count()).isZero();
+        assertThat(bookGateway.lastChange()).isEqualTo(since + 3);
+        assertThatThrownBy(() -> bookGateway.findChanges(since + 2, 50))
+                .isInstanceOfSatisfying(CustomHttpException.class, e -> assertThat(e.getStatusCode()).isEqualTo(410));
+        assertThat(bookGateway.findChanges(since + 3, 50).changes()).isEmpty();
+
+        Book created = bookGateway.createBook(book(3));
+        assertThat(bookGateway.findChanges(since + 3, 50).changes()).extracting(BookChange::id).containsExactly(created.getId());
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.demo.gateways.index;
+
+import com.example.demo.domain.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookTextIndexTest {
+
+    private BookTextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookTextIndex();
+    }
+
+    @Test
+    void shouldNormalizeCaseAccentsAndPunctuation() {
+        assertThat(BookTextIndex.tokens("The Count of Monte-Cristo, Édition 2")).containsExactly("count", "monte", "cristo", "edition", "2");
+    }
+
+    @Test
+    void shouldMatchAllTermsAndRankTitleHitsFirst() {
+        index.put(book("1", "Dune", "Frank Herbert"));
+        index.put(book("2", "Frank Herbert: a life", "Tim O'Reilly"));
+        index.put(book("3", "Children of Dune", "Frank Herbert"));
+
+        assertThat(index.search("herbert", 10)).containsExactly("2", "1", "3");
+        assertThat(index.search("DUNE herbert", 10)).containsExactly("1", "3");
+        assertThat(index.search("dune reilly", 10)).isEmpty();
+        assertThat(index.search("the", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldReplaceAndRemoveDocuments() {
+        index.put(book("1", "Dune", "Frank Herbert"));
+        index.put(book("1", "Dune Messiah", "Frank Herbert"));
+        index.put(book("2", "Dune", "Brian Herbert"));
+
+        assertThat(index.search("messiah", 10)).containsExactly("1");
+        assertThat(index.search("dune", 10)).containsExactlyInAnyOrder("1", "2");
+
+        index.remove("2");
+
+        assertThat(index.search("dune", 10)).containsExactly("1");
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepOnlyTheBestHitsUpToTheLimit() {
+        IntStream.range(0, 100).forEach(n -> index.put(book("p" + n, "Poems " + n, "Anonymous")));
+        index.put(book("best", "Poems poems poems", "Anonymous"));
+
+        assertThat(index.search("poems", 3)).hasSize(3).first().isEqualTo("best");
+    }
+
+    @Test
+    void shouldStillAnswerAfterCompaction() {
+        IntStream.range(0, 5000).forEach(n -> index.put(book("b" + n, "Book " + n, "Author " + n % 7)));
+        IntStream.range(0, 4000).forEach(n -> index.remove("b" + n));
+
+        assertThat(index.size()).isEqualTo(1000);
+        assertThat(index.search("book 4321", 10)).containsExactly("b4321");
+        assertThat(index.search("author 3", 2000)).hasSize(143);
+    }
+
+    @Test
+    void shouldSwapInRebuiltIndex() {
+        index.put(book("old", "Stale", "Nobody"));
+
+        index.rebuild(sink -> sink.accept(book("new", "Fresh", "Somebody")));
+
+        assertThat(index.search("stale", 10)).isEmpty();
+        assertThat(index.search("fresh", 10)).containsExactly("new");
+    }
+
+    private static Book book(String id, String title, String author) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor(author);
+        return book;
+    }
+}
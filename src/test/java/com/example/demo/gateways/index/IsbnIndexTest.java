@@ -0,0 +1,75 @@
+package com.example.demo.gateways.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IsbnIndexTest {
+
+    private IsbnIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new IsbnIndex();
+    }
+
+    @Test
+    void shouldEncodeIsbn13AndConvertIsbn10() {
+        assertThat(IsbnIndex.encode("978-0-306-40615-7")).isEqualTo(9780306406157L);
+        assertThat(IsbnIndex.encode("0-306-40615-2")).isEqualTo(9780306406157L);
+        assertThat(IsbnIndex.encode("0-8044-2957-X")).isEqualTo(9780804429573L);
+        assertThat(IsbnIndex.encode("978-0306406157")).isEqualTo(IsbnIndex.encode("9780306406157"));
+    }
+
+    @Test
+    void shouldRejectValuesThatAreNotIsbns() {
+        assertThat(IsbnIndex.encode(null)).isEqualTo(IsbnIndex.NO_KEY);
+        assertThat(IsbnIndex.encode("978-03064061")).isEqualTo(IsbnIndex.NO_KEY);
+        assertThat(IsbnIndex.encode("97803064061571")).isEqualTo(IsbnIndex.NO_KEY);
+        assertThat(IsbnIndex.encode("ISBN 9780306406157")).isEqualTo(IsbnIndex.NO_KEY);
+        assertThat(IsbnIndex.encode("030640615X2")).isEqualTo(IsbnIndex.NO_KEY);
+    }
+
+    @Test
+    void shouldPutReplaceAndRemoveOnlyTheCurrentOwner() {
+        index.put("978-0306406157", "a");
+        index.put("0-306-40615-2", "b");
+
+        assertThat(index.get(9780306406157L)).isEqualTo("b");
+
+        index.remove("978-0306406157", "a");
+        assertThat(index.get(9780306406157L)).isEqualTo("b");
+
+        index.remove("978-0306406157", "b");
+        assertThat(index.get(9780306406157L)).isNull();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void shouldGrowAndKeepProbeChainsIntactAcrossRemovals() {
+        IntStream.range(0, 10_000).forEach(n -> index.put(isbn(n), "id" + n));
+        IntStream.range(0, 10_000).filter(n -> n % 3 == 0).forEach(n -> index.remove(isbn(n), "id" + n));
+
+        assertThat(index.size()).isEqualTo(6_666);
+        IntStream.range(0, 10_000).forEach(n -> assertThat(index.get(IsbnIndex.encode(isbn(n))))
+                .isEqualTo(n % 3 == 0 ? null : "id" + n));
+    }
+
+    @Test
+    void shouldSwapInRebuiltIndex() {
+        index.put("9780306406157", "old");
+
+        index.rebuild(sink -> IntStream.range(0, 3_000).forEach(n -> sink.accept(isbn(n), "id" + n)));
+
+        assertThat(index.get(9780306406157L)).isNull();
+        assertThat(index.get(IsbnIndex.encode(isbn(2_999)))).isEqualTo("id2999");
+        assertThat(index.size()).isEqualTo(3_000);
+    }
+
+    private static String isbn(int n) {
+        return String.format("979-%010d", n);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.demo.gateways.replica;
+
+import com.example.demo.domain.Book;
+import com.example.demo.gateways.BookGateway;
+import com.example.demo.gateways.TestBooks;
+import com.example.demo.repository.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"library.replica.publish.enabled=true", "library.replica.publish.initial-delay=1h"})
+@ActiveProfiles("test")
+class BookReplicaPublisherTest {
+
+    private static final Path FILE = replicaFile();
+
+    @DynamicPropertySource
+    static void replicaProperties(final DynamicPropertyRegistry registry) {
+        registry.add("library.replica.file", FILE::toString);
+    }
+
+    @Autowired
+    private BookReplicaPublisher publisher;
+
+    @Autowired
+    private BookGateway bookGateway;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void shouldPublishTheTableOnlyWhenItChanged() throws IOException {
+        List<Book> created = bookGateway.createBooks(IntStream.range(0, 20).mapToObj(TestBooks::book).toList());
+        publisher.publish();
+
+        BookReplica first = BookReplica.open(FILE);
+        assertThat(read(first)).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(export());
+        assertThat(publisher.publish()).isFalse();
+
+        bookGateway.reserveStock(created.get(3).getId(), 1);
+        assertThat(publisher.publish()).isTrue();
+        BookReplica second = BookReplica.open(FILE);
+        assertThat(second.generation()).isGreaterThan(first.generation());
+        assertThat(second.find(UUID.fromString(created.get(3).getId()))).get().extracting(Book::getStock).isEqualTo(9);
+
+        bookGateway.deleteBookById(created.get(0).getId());
+        assertThat(publisher.publish()).isTrue();
+        assertThat(read(BookReplica.open(FILE))).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(export());
+    }
+
+    private List<Book> export() {
+        List<Book> books = new ArrayList<>();
+        bookGateway.exportAll(books::add);
+        return books;
+    }
+
+    private static List<Book> read(final BookReplica replica) {
+        List<Book> books = new ArrayList<>();
+        replica.forEach(books::add);
+        return books;
+    }
+
+    private static Path replicaFile() {
+        try {
+            Path directory = Files.createTempDirectory("replica-publisher-test");
+            directory.toFile().deleteOnExit();
+            return directory.resolve("catalog.replica");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.demo.gateways.replica;
+
+import com.example.demo.domain.Book;
+import com.example.demo.domain.BookVersion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookReplicaTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void shouldReadBackEveryFieldInIdOrder() throws IOException {
+        Path file = directory.resolve("catalog.replica");
+        List<Book> books = IntStream.range(0, 100).mapToObj(this::book).toList();
+        books.get(3).setTitle("Ünïcödé \"title\" ✓ 📚");
+        books.get(4).setIsbn(null);
+        books.get(4).setAuthor(null);
+        books.get(5).setIsbn("not-an-isbn");
+        books.get(6).setUpdatedAt(null);
+
+        write(file, 7, books);
+        BookReplica replica = BookReplica.open(file);
+
+        assertThat(replica.size()).isEqualTo(100);
+        assertThat(replica.generation()).isEqualTo(7);
+        List<Book> read = new ArrayList<>();
+        replica.forEach(read::add);
+        assertThat(read).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(books);
+        for (Book book : books) {
+            assertThat(replica.find(UUID.fromString(book.getId()))).get().usingRecursiveComparison().isEqualTo(book);
+        }
+        assertThat(replica.find(new UUID(2, 0))).isEmpty();
+        assertThat(replica.find(new UUID(-1, -1))).isEmpty();
+    }
+
+    @Test
+    void shouldFindBooksByIsbn() throws IOException {
+        Path file = directory.resolve("catalog.replica");
+        List<Book> books = IntStream.range(0, 1000).mapToObj(this::book).toList();
+        books.get(5).setIsbn("not-an-isbn");
+        write(file, 1, books);
+        BookReplica replica = BookReplica.open(file);
+
+        for (Book book : books) {
+            assertThat(replica.findByIsbn(book.getIsbn()).map(Book::getId)).contains(book.getId());
+        }
+        // the same ISBN in another notation, as IsbnIndex normalizes it
+        assertThat(replica.findByIsbn("9780000000042").map(Book::getTitle)).contains("Title 42");
+        assertThat(replica.findByIsbn("978-9999999999")).isEmpty();
+        assertThat(replica.findByIsbn("unknown")).isEmpty();
+    }
+
+    @Test
+    void shouldScanPagesAfterACursor() throws IOException {
+        Path file = directory.resolve("catalog.replica");
+        List<Book> books = IntStream.range(0, 10).mapToObj(this::book).toList();
+        write(file, 1, books);
+        BookReplica replica = BookReplica.open(file);
+
+        assertThat(replica.scan(null, 3, book -> true)).extracting(Book::getId)
+                .containsExactly(books.get(0).getId(), books.get(1).getId(), books.get(2).getId());
+        assertThat(replica.scan(UUID.fromString(books.get(7).getId()), 5, book -> true)).extracting(Book::getId)
+                .containsExactly(books.get(8).getId(), books.get(9).getId());
+        assertThat(replica.scan(null, 10, book -> book.getPriceInCents() % 2 == 0)).hasSize(5);
+        assertThat(replica.findVersion(UUID.fromString(books.get(2).getId())))
+                .contains(new BookVersion(2, books.get(2).getUpdatedAt()));
+    }
+
+    @Test
+    void shouldReplaceTheFileAtomicallyAndRejectBrokenOnes() throws IOException {
+        Path file = directory.resolve("catalog.replica");
+        write(file, 1, List.of(book(0)));
+        BookReplica first = BookReplica.open(file);
+
+        write(file, 2, List.of(book(0), book(1)));
+
+        assertThat(first.size()).isEqualTo(1);
+        assertThat(first.find(UUID.fromString(book(0).getId()))).isPresent();
+        assertThat(BookReplica.open(file).size()).isEqualTo(2);
+        try (var stream = Files.list(directory)) {
+            assertThat(stream).containsExactly(file);
+        }
+
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThatThrownBy(() -> BookReplica.open(file)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void shouldRefuseBooksOutOfIdOrder() throws IOException {
+        try (BookReplicaWriter writer = BookReplicaWriter.create(directory.resolve("catalog.replica"), 1)) {
+            writer.write(book(1));
+            assertThatThrownBy(() -> writer.write(book(0))).isInstanceOf(IllegalArgumentException.class);
+        }
+        try (var stream = Files.list(directory)) {
+            assertThat(stream).isEmpty();
+        }
+    }
+
+    private static void write(final Path file, final long generation, final List<Book> books) throws IOException {
+        try (BookReplicaWriter writer = BookReplicaWriter.create(file, generation)) {
+            for (Book book : books) {
+                writer.write(book);
+            }
+            writer.publish();
+        }
+    }
+
+    /** Ids grow with {@code n}, with the top bit set from n = 5 on to exercise the unsigned order. */
+    private Book book(final int n) {
+        Book book = new Book();
+        book.setId(new UUID(n < 5 ? n : Long.MIN_VALUE + n, n).toString());
+        book.setIsbn("978-" + String.format("%010d", n));
+        book.setTitle("Title " + n);
+        book.setAuthor("Author " + n);
+        book.setStock(n % 3);
+        book.setPriceInCents(1000L + n);
+        book.setVersion((long) n);
+        book.setUpdatedAt(Instant.parse("2024-05-01T10:15:30.123456Z").plusSeconds(n));
+        return book;
+    }
+}
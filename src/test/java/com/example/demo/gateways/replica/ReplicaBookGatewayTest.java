@@ -0,0 +1,162 @@
+package com.example.demo.gateways.replica;
+
+import com.example.demo.controller.dtos.BookPostRequestDTO;
+import com.example.demo.domain.Book;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("read-only")
+class ReplicaBookGatewayTest {
+
+    private static final Path FILE = replicaFile();
+
+    @DynamicPropertySource
+    static void replicaProperties(final DynamicPropertyRegistry registry) {
+        registry.add("library.replica.file", FILE::toString);
+        registry.add("library.replica.refresh-interval", () -> "1h");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ReplicaBookGateway replicaBookGateway;
+
+    @Autowired
+    private ApplicationContext context;
+
+    private static long generation;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        publish(++generation, List.of());
+        replicaBookGateway.refresh();
+    }
+
+    @Test
+    void shouldServeReadsFromTheReplicaWithoutADatabase() throws Exception {
+        assertThat(context.getBeanNamesForType(DataSource.class)).isEmpty();
+        Book book = book(1, "Replicated Title");
+        publish(++generation, List.of(book, book(2, "Other")));
+        assertThat(replicaBookGateway.refresh()).isTrue();
+
+        mockMvc.perform(get("/api/books/{id}", book.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Replicated Title"))
+                .andExpect(jsonPath("$.stock").value(4));
+        mockMvc.perform(get("/api/books/isbn/{isbn}", book.getIsbn()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(book.getId()));
+        mockMvc.perform(get("/api/books").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id").value(book.getId()));
+        mockMvc.perform(get("/api/books/search").param("title", "replicated"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)));
+        mockMvc.perform(get("/api/books/search/text").param("q", "other"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+        assertThat(replicaBookGateway.findVersion(new UUID(9, 9).toString())).isEmpty();
+    }
+
+    @Test
+    void shouldRefuseWrites() throws Exception {
+        Book book = book(1, "Title");
+        publish(++generation, List.of(book));
+        replicaBookGateway.refresh();
+
+        mockMvc.perform(post("/api/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookPostRequestDTO("New", "Author", "978-0000000100", 1, 100L))))
+                .andExpect(status().isMethodNotAllowed());
+        mockMvc.perform(delete("/api/books/{id}", book.getId()))
+                .andExpect(status().isMethodNotAllowed());
+        mockMvc.perform(get("/api/books/{id}", book.getId()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldSwapInOnlyNewerGenerations() throws Exception {
+        Book book = book(1, "First Title");
+        publish(++generation, List.of(book));
+        assertThat(replicaBookGateway.refresh()).isTrue();
+        assertThat(replicaBookGateway.refresh()).isFalse();
+
+        long newer = ++generation;
+        publish(newer, List.of(book(1, "Second Title")));
+        assertThat(replicaBookGateway.refresh()).isTrue();
+        mockMvc.perform(get("/api/books/{id}", book.getId()))
+                .andExpect(jsonPath("$.title").value("Second Title"));
+
+        publish(newer - 1, List.of(book(1, "Stale Title")));
+        assertThat(replicaBookGateway.refresh()).isFalse();
+        assertThat(replicaBookGateway.replica().generation()).isEqualTo(newer);
+        mockMvc.perform(get("/api/books/{id}", book.getId()))
+                .andExpect(jsonPath("$.title").value("Second Title"));
+    }
+
+    private static void publish(final long generation, final List<Book> books) throws IOException {
+        try (BookReplicaWriter writer = BookReplicaWriter.create(FILE, generation)) {
+            for (Book book : books) {
+                writer.write(book);
+            }
+            writer.publish();
+        }
+    }
+
+    private static Book book(final int n, final String title) {
+        Book book = new Book();
+        book.setId(new UUID(1, n).toString());
+        book.setIsbn("978-" + String.format("%010d", n));
+        book.setTitle(title);
+        book.setAuthor("Author");
+        book.setStock(4);
+        book.setPriceInCents(1000L);
+        book.setVersion(0L);
+        book.setUpdatedAt(Instant.parse("2024-05-01T10:15:30Z"));
+        return book;
+    }
+
+    private static Path replicaFile() {
+        try {
+            Path directory = Files.createTempDirectory("replica-test");
+            directory.toFile().deleteOnExit();
+            return directory.resolve("catalog.replica");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
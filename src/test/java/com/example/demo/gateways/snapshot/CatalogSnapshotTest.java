@@ -0,0 +1,213 @@
+package com.example.demo.gateways.snapshot;
+
+import com.example.demo.controller.json.BookJsonWriter;
+import com.example.demo.controller.mapper.BookMapper;
+import com.example.demo.domain.Book;
+import com.example.demo.domain.ExportSnapshot;
+import com.example.demo.gateways.BookGateway;
+import com.example.demo.gateways.TestBooks;
+import com.example.demo.gateways.changes.BookChangeLog;
+import com.example.demo.repository.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "library.snapshot.segment-size=4")
+@ActiveProfiles("test")
+class CatalogSnapshotTest {
+
+    @Autowired
+    private CatalogSnapshot catalogSnapshot;
+
+    @Autowired
+    private BookGateway bookGateway;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookChangeLog bookChangeLog;
+
+    @Autowired
+    private BookMapper bookMapper;
+
+    @BeforeEach
+    void setUp() {
+        catalogSnapshot.invalidate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void shouldWriteTheExportAsOneGzipMember() throws Exception {
+        bookGateway.createBooks(IntStream.range(0, 10).mapToObj(TestBooks::book).toList());
+
+        try (ExportSnapshot snapshot = catalogSnapshot.current().orElseThrow();
+             ExportSnapshot again = catalogSnapshot.current().orElseThrow()) {
+            assertThat(snapshot.length()).isEqualTo(snapshot.content().size());
+            assertThat(gunzip(snapshot)).isEqualTo(export());
+            assertThat(catalogSnapshot.segmentFiles()).hasSize(3);
+            assertThat(again.version()).isEqualTo(snapshot.version());
+        }
+    }
+
+    @Test
+    void shouldKeepAHandedOutSnapshotReadableAfterRefreshesReplaceIt() throws Exception {
+        List<Book> created = bookGateway.createBooks(IntStream.range(0, 10).mapToObj(TestBooks::book).toList());
+        try (ExportSnapshot snapshot = catalogSnapshot.current().orElseThrow()) {
+            String exported = export();
+
+            for (Book book : created.subList(0, 3)) {
+                bookGateway.reserveStock(book.getId(), 1);
+                catalogSnapshot.current().orElseThrow().close();
+            }
+
+            assertThat(gunzip(snapshot)).isEqualTo(exported);
+        }
+    }
+
+    @Test
+    void shouldDeflateOnlyTheSegmentsGatewayWritesTouched() throws Exception {
+        List<Book> created = bookGateway.createBooks(IntStream.range(0, 10).mapToObj(TestBooks::book).toList());
+        String before = version();
+        List<Path> segments = catalogSnapshot.segmentFiles();
+
+        bookGateway.reserveStock(created.get(5).getId(), 1);
+        try (ExportSnapshot after = catalogSnapshot.current().orElseThrow()) {
+            assertThat(after.version()).isNotEqualTo(before);
+            assertThat(gunzip(after)).isEqualTo(export());
+        }
+        List<Path> refreshed = catalogSnapshot.segmentFiles();
+        assertThat(refreshed).hasSize(3);
+        assertThat(refreshed.get(0)).isEqualTo(segments.get(0));
+        assertThat(refreshed.get(1)).isNotEqualTo(segments.get(1));
+        assertThat(refreshed.get(2)).isEqualTo(segments.get(2));
+    }
+
+    @Test
+    void shouldApplyChangesOtherInstancesLogged() throws Exception {
+        List<Book> created = bookGateway.createBooks(IntStream.range(0, 10).mapToObj(TestBooks::book).toList());
+        String before = version();
+
+        // what another instance's gateway leaves behind: the row changed and the change logged
+        UUID id = UUID.fromString(created.get(7).getId());
+        bookRepository.decrementStock(id, 1);
+        bookChangeLog.changed(List.of(id));
+
+        try (ExportSnapshot after = catalogSnapshot.current().orElseThrow()) {
+            assertThat(after.version()).isNotEqualTo(before);
+            assertThat(gunzip(after)).isEqualTo(export());
+        }
+    }
+
+    @Test
+    void shouldSplitGrownSegmentsAndKeepEmptiedOnes() throws Exception {
+        List<Book> created = bookGateway.createBooks(IntStream.range(0, 6).mapToObj(TestBooks::book).toList());
+        version();
+
+        // new ids sort last, so they all land in the open-ended last segment
+        bookGateway.createBooks(IntStream.range(6, 16).mapToObj(TestBooks::book).toList());
+        bookGateway.deleteBooksById(created.subList(0, 4).stream().map(Book::getId).toList());
+        try (ExportSnapshot snapshot = catalogSnapshot.current().orElseThrow()) {
+            assertThat(gunzip(snapshot)).isEqualTo(export());
+        }
+        assertThat(catalogSnapshot.segmentFiles()).hasSize(4);
+
+        bookRepository.deleteAllInBatch();
+        catalogSnapshot.invalidate();
+        try (ExportSnapshot snapshot = catalogSnapshot.current().orElseThrow()) {
+            assertThat(gunzip(snapshot)).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldCombineCrcsOfConcatenatedData() {
+        Random random = new Random(7);
+        byte[] data = new byte[100_000];
+        random.nextBytes(data);
+
+        for (int split : new int[]{0, 1, 7, 8, 4096, 65_537, data.length}) {
+            CRC32 first = new CRC32();
+            first.update(data, 0, split);
+            CRC32 second = new CRC32();
+            second.update(data, split, data.length - split);
+            CRC32 whole = new CRC32();
+            whole.update(data);
+
+            assertThat(CatalogSnapshot.crc32Combine(first.getValue(), second.getValue(), data.length - split))
+                    .isEqualTo(whole.getValue());
+        }
+    }
+
+    private String version() throws IOException {
+        try (ExportSnapshot snapshot = catalogSnapshot.current().orElseThrow()) {
+            return snapshot.version();
+        }
+    }
+
+    /**
+     * Inflates a snapshot that must hold exactly one gzip member, checking its trailer along the way.
+     */
+    private static String gunzip(final ExportSnapshot snapshot) throws IOException, DataFormatException {
+        ByteBuffer content = ByteBuffer.allocate(Math.toIntExact(snapshot.length()));
+        while (content.hasRemaining() && snapshot.content().read(content, content.position()) >= 0) {
+            // positional reads, the channel is read again by the next call
+        }
+        byte[] bytes = content.array();
+        assertThat(bytes[0] & 0xff).isEqualTo(0x1f);
+        assertThat(bytes[1] & 0xff).isEqualTo(0x8b);
+
+        Inflater inflater = new Inflater(true);
+        inflater.setInput(bytes, 10, bytes.length - 10);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        while (!inflater.finished()) {
+            int inflated = inflater.inflate(buffer);
+            assertThat(inflated > 0 || !inflater.needsInput()).isTrue();
+            out.write(buffer, 0, inflated);
+        }
+        assertThat(inflater.getRemaining()).isEqualTo(8);
+        inflater.end();
+
+        CRC32 crc = new CRC32();
+        crc.update(out.toByteArray());
+        ByteBuffer trailer = ByteBuffer.wrap(bytes, bytes.length - 8, 8).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(trailer.getInt() & 0xffffffffL).isEqualTo(crc.getValue());
+        assertThat(trailer.getInt()).isEqualTo(out.size());
+        return out.toString();
+    }
+
+    private String export() throws IOException {
+        List<Book> books = new ArrayList<>();
+        bookGateway.exportAll(books::add);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BookJsonWriter writer = BookJsonWriter.open(out)) {
+            for (Book book : books) {
+                writer.writeLine(bookMapper.toDTO(book));
+            }
+        }
+        return out.toString();
+    }
+}
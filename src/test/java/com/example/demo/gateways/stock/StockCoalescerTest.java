@@ -0,0 +1,160 @@
+package com.example.demo.gateways.stock;
+
+import com.example.demo.domain.StockUpdateStatus;
+import com.example.demo.gateways.changes.BookChangeLog;
+import com.example.demo.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.example.demo.domain.StockUpdateStatus.APPLIED;
+import static com.example.demo.domain.StockUpdateStatus.INSUFFICIENT_STOCK;
+import static com.example.demo.domain.StockUpdateStatus.NOT_FOUND;
+import static com.example.demo.domain.StockUpdateStatus.STOCK_LIMIT_EXCEEDED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StockCoalescerTest {
+
+    private static final UUID BOOK_ID = UUID.randomUUID();
+    private static final UUID MISSING_ID = UUID.randomUUID();
+    private static final UUID BROKEN_ID = UUID.randomUUID();
+
+    private final AtomicLong stock = new AtomicLong();
+    private BookRepository bookRepository;
+    private BookChangeLog bookChangeLog;
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        // the mock behaves like the conditional UPDATEs against a single row
+        bookRepository = mock(BookRepository.class);
+        bookChangeLog = mock(BookChangeLog.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(bookRepository.decrementStock(eq(BOOK_ID), anyLong())).thenAnswer(invocation -> {
+            long quantity = invocation.getArgument(1);
+            synchronized (stock) {
+                if (stock.get() < quantity) {
+                    return 0;
+                }
+                stock.addAndGet(-quantity);
+                return 1;
+            }
+        });
+        when(bookRepository.incrementStock(eq(BOOK_ID), anyLong())).thenAnswer(invocation -> {
+            long quantity = invocation.getArgument(1);
+            synchronized (stock) {
+                if (stock.get() > Integer.MAX_VALUE - quantity) {
+                    return 0;
+                }
+                stock.addAndGet(quantity);
+                return 1;
+            }
+        });
+        when(bookRepository.existsById(BOOK_ID)).thenReturn(true);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void shouldNeverOversellUnderContention(boolean coalescing) throws Exception {
+        stock.set(100);
+        StockCoalescer coalescer = new StockCoalescer(bookRepository, bookChangeLog, transactionManager, coalescing);
+
+        List<StockUpdateStatus> results = concurrently(200, () -> coalescer.reserve(BOOK_ID, 1));
+
+        assertThat(results).filteredOn(APPLIED::equals).hasSize(100);
+        assertThat(results).filteredOn(INSUFFICIENT_STOCK::equals).hasSize(100);
+        assertThat(stock.get()).isZero();
+    }
+
+    @Test
+    void shouldServeSmallerReservationsWhenBatchDoesNotFit() {
+        stock.set(3);
+        StockCoalescer coalescer = new StockCoalescer(bookRepository, bookChangeLog, transactionManager, true);
+
+        assertThat(coalescer.reserve(BOOK_ID, 5)).isEqualTo(INSUFFICIENT_STOCK);
+        assertThat(coalescer.reserve(BOOK_ID, 2)).isEqualTo(APPLIED);
+        assertThat(coalescer.release(BOOK_ID, 4)).isEqualTo(APPLIED);
+        assertThat(stock.get()).isEqualTo(5);
+        // logged in each applied batch's own transaction, before it commits
+        verify(bookChangeLog, times(2)).changed(List.of(BOOK_ID));
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void shouldRejectReleasesThatWouldOverflowTheStockColumn() throws Exception {
+        stock.set(Integer.MAX_VALUE - 1000);
+        StockCoalescer coalescer = new StockCoalescer(bookRepository, bookChangeLog, transactionManager, true);
+
+        List<StockUpdateStatus> results = concurrently(20, () -> coalescer.release(BOOK_ID, 100));
+
+        assertThat(results).filteredOn(APPLIED::equals).hasSize(10);
+        assertThat(results).filteredOn(STOCK_LIMIT_EXCEEDED::equals).hasSize(10);
+        assertThat(stock.get()).isEqualTo(Integer.MAX_VALUE);
+        assertThat(coalescer.release(BOOK_ID, Integer.MAX_VALUE)).isEqualTo(STOCK_LIMIT_EXCEEDED);
+    }
+
+    @Test
+    void shouldReportUnknownBook() {
+        StockCoalescer coalescer = new StockCoalescer(bookRepository, bookChangeLog, transactionManager, true);
+
+        assertThat(coalescer.reserve(MISSING_ID, 1)).isEqualTo(NOT_FOUND);
+        assertThat(coalescer.release(MISSING_ID, 1)).isEqualTo(NOT_FOUND);
+        verifyNoInteractions(bookChangeLog);
+    }
+
+    @Test
+    void shouldRethrowRepositoryFailuresToEveryCaller() throws Exception {
+        when(bookRepository.decrementStock(eq(BROKEN_ID), anyLong())).thenThrow(new IllegalStateException("db down"));
+        StockCoalescer coalescer = new StockCoalescer(bookRepository, bookChangeLog, transactionManager, true);
+
+        List<String> failures = concurrently(20, () -> {
+            try {
+                coalescer.reserve(BROKEN_ID, 1);
+                return "ok";
+            } catch (IllegalStateException e) {
+                return e.getMessage();
+            }
+        });
+
+        assertThat(failures).containsOnly("db down");
+        verify(transactionManager, never()).commit(any());
+        verifyNoInteractions(bookChangeLog);
+    }
+
+    private static <T> List<T> concurrently(int callers, Callable<T> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.demo.observability;
+
+import com.example.demo.controller.dtos.BookPostRequestDTO;
+import com.example.demo.controller.dtos.BookResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class ObservabilityIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldTimeUseCasesAndGatewayAndCountStatementsPerRequest() throws Exception {
+        String created = mockMvc.perform(post("/api/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BookPostRequestDTO("Observed", "Author", "978-0000000777", 3, 1200L))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String id = objectMapper.readValue(created, BookResponseDTO.class).id();
+        mockMvc.perform(get("/api/books/{id}", id)).andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("library.usecase").tag("class", "com.example.demo.usecases.CreateBook").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("library.gateway").tag("method", "getBookById").timer().count())
+                .isEqualTo(1);
+        DistributionSummary inserts = meterRegistry.get(StatementCountFilter.METRIC)
+                .tag("method", "POST").tag("uri", "/api/books").summary();
+        assertThat(inserts.count()).isEqualTo(1);
+        assertThat(inserts.max()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void shouldExposePrometheusScrape() throws Exception {
+        mockMvc.perform(get("/api/books")).andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("library_usecase_seconds_bucket{class=\"com.example.demo.usecases.GetBooks\"")
+                .contains("library_gateway_seconds_count{class=\"com.example.demo.gateways.JpaBookGateway\"")
+                .contains("library_http_server_statements_bucket{")
+                .contains("hikaricp_connections_active")
+                .contains("hibernate_statements_total");
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.demo.observability;
+
+import com.example.demo.controller.dtos.BookPutRequestDTO;
+import com.example.demo.gateways.entity.BookEntity;
+import com.example.demo.repository.BookRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.IntStream;
+
+import static com.example.demo.observability.SqlMonitorFilter.STATEMENT_COUNT_HEADER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "library.sql-monitor.statement-budget=1",
+        "library.sql-monitor.slow-threshold=0ms"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SqlMonitorIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private BookEntity first;
+
+    @BeforeEach
+    void setUp() {
+        first = IntStream.range(0, 3)
+                .mapToObj(n -> {
+                    BookEntity entity = new BookEntity();
+                    entity.setIsbn("978-00000009" + n + "0");
+                    entity.setTitle("Monitored " + n);
+                    entity.setAuthor("Author");
+                    entity.setStock(1);
+                    entity.setPriceInCents(100L);
+                    return bookRepository.save(entity);
+                })
+                .toList()
+                .get(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void shouldListAPageInOneStatement() throws Exception {
+        mockMvc.perform(get("/api/books").param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(STATEMENT_COUNT_HEADER, "1"));
+    }
+
+    @Test
+    void shouldFlagRequestsOverTheBudget() throws Exception {
+        double exceeded = budgetExceeded();
+
+        mockMvc.perform(put("/api/books/{id}", first.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookPutRequestDTO("Renamed", null, null, null, null))))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(STATEMENT_COUNT_HEADER));
+
+        assertThat(budgetExceeded()).isEqualTo(exceeded + 1);
+    }
+
+    @Test
+    void shouldRecordSlowStatements() throws Exception {
+        double slow = meterRegistry.get("library.sql.slow").counter().count();
+
+        mockMvc.perform(get("/api/books")).andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("library.sql.slow").counter().count()).isGreaterThan(slow);
+    }
+
+    private double budgetExceeded() {
+        var counter = meterRegistry.find("library.sql.budget.exceeded").tag("uri", "/api/books/{id}").counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.BookSearchCriteria;
+import com.example.demo.gateways.cache.SecondLevelCacheConfiguration;
+import com.example.demo.gateways.entity.BookEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static com.example.demo.domain.BookSearchCriteria.Match.CONTAINS;
+import static com.example.demo.domain.BookSearchCriteria.Match.PREFIX;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// slices skip @Configuration classes, and Hibernate refuses cache regions nobody configured
+@Import(SecondLevelCacheConfiguration.class)
+@DataJpaTest
+class BookRepositoryTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            BookEntity entity = new BookEntity();
+            entity.setIsbn("978-000000000" + i);
+            entity.setTitle("Title " + i);
+            entity.setAuthor("Author " + i);
+            entity.setStock(i);
+            entity.setPriceInCents(1000L + i);
+            bookRepository.save(entity);
+        }
+    }
+
+    @Test
+    void shouldWalkTheWholeTableByKeyset() {
+        List<UUID> seen = new ArrayList<>();
+        List<BookEntity> page = bookRepository.findAllByOrderByIdAsc(Limit.of(2));
+        while (!page.isEmpty()) {
+            page.forEach(entity -> seen.add(entity.getId()));
+            page = bookRepository.findByIdGreaterThanOrderByIdAsc(page.get(page.size() - 1).getId(), Limit.of(2));
+        }
+
+        assertThat(seen).hasSize(5).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void shouldAssignTimeOrderedIdsInInsertionOrder() {
+        List<BookEntity> inserted = bookRepository.findAllByOrderByIdAsc(Limit.of(10));
+
+        assertThat(inserted).extracting(entity -> entity.getId().version()).containsOnly(7);
+        assertThat(inserted).extracting(BookEntity::getTitle)
+                .containsExactly("Title 0", "Title 1", "Title 2", "Title 3", "Title 4");
+    }
+
+    @Test
+    void shouldStreamTheWholeTableInIdOrder() {
+        try (Stream<BookEntity> stream = bookRepository.streamAllByOrderByIdAsc()) {
+            assertThat(stream.map(BookEntity::getId).toList()).hasSize(5).isSorted();
+        }
+    }
+
+    @Test
+    void shouldSearchByPrefixContainsPriceAndStock() {
+        BookEntity special = new BookEntity();
+        special.setIsbn("978-0000000099");
+        special.setTitle("100% Pure_Java");
+        special.setAuthor("Jane Doe");
+        special.setStock(0);
+        special.setPriceInCents(5000L);
+        bookRepository.save(special);
+
+        assertThat(titles(new BookSearchCriteria("title", null, PREFIX, null, null, false))).hasSize(5);
+        assertThat(titles(new BookSearchCriteria("ITLE 3", null, CONTAINS, null, null, false))).containsExactly("Title 3");
+        assertThat(titles(new BookSearchCriteria("100% pure_", null, PREFIX, null, null, false))).containsExactly("100% Pure_Java");
+        assertThat(titles(new BookSearchCriteria("0%", null, CONTAINS, null, null, false))).containsExactly("100% Pure_Java");
+        assertThat(titles(new BookSearchCriteria(null, "doe", CONTAINS, null, null, false))).containsExactly("100% Pure_Java");
+        assertThat(titles(new BookSearchCriteria(null, null, PREFIX, 1002L, 1003L, false)))
+                .containsExactlyInAnyOrder("Title 2", "Title 3");
+        assertThat(titles(new BookSearchCriteria(null, null, PREFIX, 1000L, null, true)))
+                .containsExactlyInAnyOrder("Title 1", "Title 2", "Title 3", "Title 4");
+    }
+
+    @Test
+    void shouldPageSearchResultsByKeyset() {
+        BookSearchCriteria criteria = new BookSearchCriteria("title", null, PREFIX, null, null, false);
+        List<UUID> seen = new ArrayList<>();
+        List<BookEntity> page = bookRepository.search(criteria, null, 2);
+        while (!page.isEmpty()) {
+            page.forEach(entity -> seen.add(entity.getId()));
+            page = bookRepository.search(criteria, page.get(page.size() - 1).getId(), 2);
+        }
+
+        assertThat(seen).hasSize(5).isSorted().doesNotHaveDuplicates();
+    }
+
+    private List<String> titles(BookSearchCriteria criteria) {
+        return bookRepository.search(criteria, null, 50).stream().map(BookEntity::getTitle).toList();
+    }
+}
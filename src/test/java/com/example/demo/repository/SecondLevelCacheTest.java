@@ -0,0 +1,128 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.BookSearchCriteria;
+import com.example.demo.gateways.entity.BookEntity;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static com.example.demo.domain.BookSearchCriteria.Match.PREFIX;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private BookEntity book;
+
+    @BeforeEach
+    void setUp() {
+        BookEntity entity = new BookEntity();
+        entity.setIsbn("978-0000000042");
+        entity.setTitle("Cached Title");
+        entity.setAuthor("Cached Author");
+        entity.setStock(5);
+        entity.setPriceInCents(1500L);
+        book = bookRepository.save(entity);
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void shouldServeRepeatedFindByIdWithoutSql() {
+        bookRepository.findById(book.getId());
+        bookRepository.findById(book.getId());
+        bookRepository.findById(book.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(2);
+        assertThat(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("region", BookEntity.class.getName()).tag("result", "hit").functionCounter().count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    void shouldServeRepeatedSearchAndIsbnQueriesFromTheQueryCache() {
+        BookSearchCriteria criteria = new BookSearchCriteria("cached", null, PREFIX, null, null, false);
+
+        bookRepository.search(criteria, null, 10);
+        bookRepository.findByIsbn("978-0000000042");
+        assertThat(bookRepository.search(criteria, null, 10)).extracting(BookEntity::getId).containsExactly(book.getId());
+        assertThat(bookRepository.findByIsbn("978-0000000042")).isPresent();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotServeStaleRowsAfterBulkUpdates() {
+        bookRepository.findById(book.getId());
+
+        bookRepository.updateFields(book.getId(), Map.of("title", "Renamed"), null);
+        bookRepository.decrementStock(book.getId(), 2);
+
+        BookEntity reloaded = bookRepository.findById(book.getId()).orElseThrow();
+        assertThat(reloaded.getTitle()).isEqualTo("Renamed");
+        assertThat(reloaded.getStock()).isEqualTo(3);
+        assertThat(reloaded.getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldUpdateInOneStatementAndDropCachedSearchesItAffects() {
+        BookSearchCriteria criteria = new BookSearchCriteria("cached", null, PREFIX, null, null, false);
+        assertThat(bookRepository.search(criteria, null, 10)).hasSize(1);
+        statistics.clear();
+
+        assertThat(bookRepository.updateFields(book.getId(), Map.of("title", "Renamed"), 1L)).isZero();
+        assertThat(bookRepository.updateFields(book.getId(), Map.of("title", "Renamed"), 0L)).isEqualTo(1);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(bookRepository.search(criteria, null, 10)).isEmpty();
+        assertThat(bookRepository.findById(book.getId())).get().extracting(BookEntity::getTitleKey).isEqualTo("renamed");
+    }
+
+    @Test
+    void shouldKeepOtherBooksCachedAcrossWrites() {
+        BookEntity entity = new BookEntity();
+        entity.setIsbn("978-0000000043");
+        entity.setTitle("Other Title");
+        entity.setAuthor("Other Author");
+        entity.setStock(1);
+        entity.setPriceInCents(900L);
+        BookEntity other = bookRepository.save(entity);
+        bookRepository.findById(other.getId());
+
+        bookRepository.updateFields(book.getId(), Map.of("title", "Renamed"), null);
+        bookRepository.decrementStock(book.getId(), 2);
+        bookRepository.incrementStock(book.getId(), 1);
+
+        assertThat(entityManagerFactory.getCache().contains(BookEntity.class, other.getId())).isTrue();
+        assertThat(bookRepository.findById(book.getId())).get().extracting(BookEntity::getStock).isEqualTo(4);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.demo.usecases;
+
+import com.example.demo.controller.dtos.BookPostRequestDTO;
+import com.example.demo.controller.mapper.BookMapper;
+import com.example.demo.domain.BatchItemResult;
+import com.example.demo.domain.Book;
+import com.example.demo.gateways.BookGateway;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.demo.domain.BatchItemStatus.CONFLICT;
+import static com.example.demo.domain.BatchItemStatus.CREATED;
+import static com.example.demo.domain.BatchItemStatus.INVALID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CreateBooksTest {
+
+    @Mock
+    private BookGateway bookGateway;
+
+    @Mock
+    private BookMapper bookMapper;
+
+    private CreateBooks createBooks;
+
+    private BookPostRequestDTO first;
+    private BookPostRequestDTO second;
+
+    @BeforeEach
+    void setUp() {
+        createBooks = new CreateBooks(bookGateway, bookMapper, Validation.buildDefaultValidatorFactory().getValidator());
+        first = new BookPostRequestDTO("Title One", "Author One", "978-0000000001", 1, 100L);
+        second = new BookPostRequestDTO("Title Two", "Author Two", "978-0000000002", 2, 200L);
+    }
+
+    @Test
+    void shouldCreateAllValidBooksInOneGatewayCall() {
+        Book firstBook = book("1");
+        Book secondBook = book("2");
+        when(bookGateway.findIdsByIsbn(anyCollection())).thenReturn(Map.of());
+        when(bookMapper.toDomain(first)).thenReturn(firstBook);
+        when(bookMapper.toDomain(second)).thenReturn(secondBook);
+        when(bookGateway.createBooks(List.of(firstBook, secondBook))).thenReturn(List.of(firstBook, secondBook));
+
+        List<BatchItemResult> results = createBooks.execute(List.of(first, second));
+
+        assertThat(results).extracting(BatchItemResult::status).containsExactly(CREATED, CREATED);
+        assertThat(results).extracting(BatchItemResult::id).containsExactly("1", "2");
+        verify(bookGateway, times(1)).createBooks(any());
+    }
+
+    @Test
+    void shouldReportInvalidAndConflictingItemsWithoutFailingTheBatch() {
+        BookPostRequestDTO invalid = new BookPostRequestDTO("", "Author", "978-0000000003", 1, 100L);
+        BookPostRequestDTO duplicate = new BookPostRequestDTO("Copy", "Author", "978-0000000001", 1, 100L);
+        BookPostRequestDTO existing = new BookPostRequestDTO("Old", "Author", "978-0000000009", 1, 100L);
+        Book firstBook = book("1");
+        when(bookGateway.findIdsByIsbn(anyCollection())).thenReturn(Map.of("978-0000000009", "old-id"));
+        when(bookMapper.toDomain(first)).thenReturn(firstBook);
+        when(bookGateway.createBooks(List.of(firstBook))).thenReturn(List.of(firstBook));
+
+        List<BatchItemResult> results = createBooks.execute(List.of(first, invalid, duplicate, existing));
+
+        assertThat(results).extracting(BatchItemResult::status).containsExactly(CREATED, INVALID, CONFLICT, CONFLICT);
+        assertThat(results.get(1).message()).isEqualTo("Title is required");
+        assertThat(results.get(3).id()).isEqualTo("old-id");
+    }
+
+    @Test
+    void shouldNotCallGatewayWhenNothingIsValid() {
+        when(bookGateway.findIdsByIsbn(anyCollection())).thenReturn(Map.of());
+
+        List<BatchItemResult> results = createBooks.execute(Collections.singletonList(null));
+
+        assertThat(results).extracting(BatchItemResult::status).containsExactly(INVALID);
+        verify(bookGateway, never()).createBooks(any());
+    }
+
+    @Test
+    void shouldRejectOversizedBatches() {
+        List<BookPostRequestDTO> requests = Collections.nCopies(BatchItemResult.MAX_BATCH_SIZE + 1, first);
+
+        assertThatThrownBy(() -> createBooks.execute(requests)).isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(bookGateway);
+    }
+
+    private Book book(String id) {
+        Book book = new Book();
+        book.setId(id);
+        return book;
+    }
+}
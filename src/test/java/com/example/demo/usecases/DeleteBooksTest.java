@@ -0,0 +1,46 @@
+package com.example.demo.usecases;
+
+import com.example.demo.domain.BatchItemResult;
+import com.example.demo.gateways.BookGateway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static com.example.demo.domain.BatchItemStatus.DELETED;
+import static com.example.demo.domain.BatchItemStatus.INVALID;
+import static com.example.demo.domain.BatchItemStatus.NOT_FOUND;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeleteBooksTest {
+
+    @Mock
+    private BookGateway bookGateway;
+
+    @InjectMocks
+    private DeleteBooks deleteBooks;
+
+    @Test
+    void shouldReportDeletedMissingAndInvalidIds() {
+        when(bookGateway.deleteBooksById(Set.of("1", "2"))).thenReturn(Set.of("1"));
+
+        List<BatchItemResult> results = deleteBooks.execute(Arrays.asList("1", "2", "", null));
+
+        assertThat(results).extracting(BatchItemResult::status).containsExactly(DELETED, NOT_FOUND, INVALID, INVALID);
+        verify(bookGateway, times(1)).deleteBooksById(Set.of("1", "2"));
+    }
+
+    @Test
+    void shouldNotCallGatewayForAnEmptyBatch() {
+        assertThat(deleteBooks.execute(List.of())).isEmpty();
+
+        verifyNoInteractions(bookGateway);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.demo.usecases;
+
+import com.example.demo.domain.Book;
+import com.example.demo.gateways.BookGateway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportBooksTest {
+
+    @Mock
+    private BookGateway bookGateway;
+
+    @InjectMocks
+    private ExportBooks exportBooks;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldForwardEveryExportedBookToTheConsumer() {
+        Book book = new Book();
+        book.setId("1");
+        doAnswer(invocation -> {
+            Consumer<Book> consumer = invocation.getArgument(0);
+            consumer.accept(book);
+            consumer.accept(book);
+            return null;
+        }).when(bookGateway).exportAll(any(Consumer.class));
+
+        List<Book> received = new ArrayList<>();
+        exportBooks.execute(received::add);
+
+        assertThat(received).containsExactly(book, book);
+        verify(bookGateway, times(1)).exportAll(any(Consumer.class));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.demo.usecases;
+
+import com.example.demo.domain.Book;
+import com.example.demo.exceptions.CustomHttpException;
+import com.example.demo.gateways.BookGateway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GetBookByIsbnTest {
+
+    @Mock
+    private BookGateway bookGateway;
+
+    @InjectMocks
+    private GetBookByIsbn getBookByIsbn;
+
+    @Test
+    void shouldReturnBookForKnownIsbn() {
+        Book book = new Book();
+        when(bookGateway.findBookByIsbn("9780306406157")).thenReturn(Optional.of(book));
+
+        assertThat(getBookByIsbn.execute("9780306406157")).isSameAs(book);
+    }
+
+    @Test
+    void shouldReturn404ForUnknownIsbn() {
+        when(bookGateway.findBookByIsbn("9780306406157")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> getBookByIsbn.execute("9780306406157"))
+                .isInstanceOfSatisfying(CustomHttpException.class, e -> assertThat(e.getStatusCode()).isEqualTo(404));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.usecases;
+
+import com.example.demo.domain.Book;
+import com.example.demo.domain.BookChange;
+import com.example.demo.domain.BookChanges;
+import com.example.demo.gateways.BookGateway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetBookChangesTest {
+
+    @Mock
+    private BookGateway bookGateway;
+
+    @InjectMocks
+    private GetBookChanges getBookChanges;
+
+    @Test
+    void shouldReturnOnlyTheHeadWithoutACursor() {
+        when(bookGateway.lastChange()).thenReturn(42L);
+
+        BookChanges result = getBookChanges.execute(null, null);
+
+        assertThat(result.changes()).isEmpty();
+        assertThat(result.next()).isEqualTo(42L);
+        verify(bookGateway, never()).findChanges(anyLong(), anyInt());
+    }
+
+    @Test
+    void shouldReadChangesAfterTheCursor() {
+        Book book = new Book();
+        book.setId("1");
+        BookChanges changes = new BookChanges(List.of(new BookChange(8, "1", book), new BookChange(9, "2", null)), 9);
+        when(bookGateway.findChanges(7, GetBooks.DEFAULT_PAGE_SIZE)).thenReturn(changes);
+
+        BookChanges result = getBookChanges.execute(7L, null);
+
+        assertThat(result).isEqualTo(changes);
+        assertThat(result.changes().get(1).deleted()).isTrue();
+    }
+
+    @Test
+    void shouldRejectInvalidArguments() {
+        assertThatThrownBy(() -> getBookChanges.execute(-1L, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> getBookChanges.execute(0L, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> getBookChanges.execute(0L, GetBooks.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(bookGateway);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.demo.usecases;
+
+import com.example.demo.domain.BookVersion;
+import com.example.demo.gateways.BookGateway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetBookVersionTest {
+
+    @Mock
+    private BookGateway bookGateway;
+
+    @InjectMocks
+    private GetBookVersion getBookVersion;
+
+    @Test
+    void shouldReturnVersionFromGateway() {
+        BookVersion version = new BookVersion(3L, Instant.parse("2026-10-17T10:15:30Z"));
+        when(bookGateway.findVersion("1")).thenReturn(Optional.of(version));
+
+        assertThat(getBookVersion.execute("1")).contains(version);
+
+        verify(bookGateway).findVersion("1");
+    }
+
+    @Test
+    void shouldReturnEmptyForUnknownBook() {
+        when(bookGateway.findVersion("missing")).thenReturn(Optional.empty());
+
+        assertThat(getBookVersion.execute("missing")).isEmpty();
+    }
+}
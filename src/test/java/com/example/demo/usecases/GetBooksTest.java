@@ -1,6 +1,8 @@
 package com.example.demo.usecases;
 
 import com.example.demo.domain.Book;
+import com.example.demo.domain.BookCursor;
+import com.example.demo.domain.BookPage;
 import com.example.demo.gateways.BookGateway;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +16,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -49,39 +52,66 @@ class GetBooksTest {
     }
 
     @Test
-    void shouldGetAllBooksSuccessfully() {
-        when(bookGateway.listAll()).thenReturn(expectedBooks);
+    void shouldGetFirstPageWithoutNextCursor() {
+        when(bookGateway.listPage(null, GetBooks.DEFAULT_PAGE_SIZE + 1)).thenReturn(expectedBooks);
 
-        List<Book> result = getBooks.execute();
+        BookPage result = getBooks.execute(null, null);
 
-        assertThat(result).isNotNull();
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0).getId()).isEqualTo("1");
-        assertThat(result.get(0).getTitle()).isEqualTo("Book One");
-        assertThat(result.get(1).getId()).isEqualTo("2");
-        assertThat(result.get(1).getTitle()).isEqualTo("Book Two");
+        assertThat(result.books()).hasSize(2);
+        assertThat(result.books().get(0).getId()).isEqualTo("1");
+        assertThat(result.books().get(1).getId()).isEqualTo("2");
+        assertThat(result.nextCursor()).isNull();
 
-        verify(bookGateway, times(1)).listAll();
+        verify(bookGateway, times(1)).listPage(null, GetBooks.DEFAULT_PAGE_SIZE + 1);
     }
 
     @Test
-    void shouldReturnEmptyListWhenNoBooksFound() {
-        when(bookGateway.listAll()).thenReturn(Collections.emptyList());
+    void shouldReturnNextCursorWhenMoreRowsExist() {
+        when(bookGateway.listPage(null, 2)).thenReturn(expectedBooks);
 
-        List<Book> result = getBooks.execute();
+        BookPage result = getBooks.execute(null, 1);
 
-        assertThat(result).isNotNull();
-        assertThat(result).isEmpty();
+        assertThat(result.books()).hasSize(1);
+        assertThat(result.books().get(0).getId()).isEqualTo("1");
+        assertThat(BookCursor.decode(result.nextCursor())).isEqualTo("1");
+    }
+
+    @Test
+    void shouldContinueAfterDecodedCursor() {
+        when(bookGateway.listPage("1", 11)).thenReturn(expectedBooks.subList(1, 2));
+
+        BookPage result = getBooks.execute(BookCursor.encode("1"), 10);
+
+        assertThat(result.books()).hasSize(1);
+        assertThat(result.books().get(0).getId()).isEqualTo("2");
+        assertThat(result.nextCursor()).isNull();
+    }
 
-        verify(bookGateway, times(1)).listAll();
+    @Test
+    void shouldReturnEmptyPageWhenNoBooksFound() {
+        when(bookGateway.listPage(null, GetBooks.DEFAULT_PAGE_SIZE + 1)).thenReturn(Collections.emptyList());
+
+        BookPage result = getBooks.execute(null, null);
+
+        assertThat(result.books()).isEmpty();
+        assertThat(result.nextCursor()).isNull();
     }
 
     @Test
-    void shouldDelegateToBookGatewayListAll() {
-        when(bookGateway.listAll()).thenReturn(expectedBooks);
+    void shouldRejectPageSizeOutOfBounds() {
+        assertThatThrownBy(() -> getBooks.execute(null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> getBooks.execute(null, GetBooks.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
 
-        getBooks.execute();
+        verifyNoInteractions(bookGateway);
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> getBooks.execute("not a cursor!", null))
+                .isInstanceOf(IllegalArgumentException.class);
 
-        verify(bookGateway).listAll();
+        verifyNoInteractions(bookGateway);
     }
 }
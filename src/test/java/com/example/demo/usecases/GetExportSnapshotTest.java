@@ -0,0 +1,43 @@
+package com.example.demo.usecases;
+
+import com.example.demo.domain.ExportSnapshot;
+import com.example.demo.gateways.BookGateway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.channels.FileChannel;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GetExportSnapshotTest {
+
+    @Mock
+    private BookGateway bookGateway;
+
+    @Mock
+    private FileChannel content;
+
+    @InjectMocks
+    private GetExportSnapshot getExportSnapshot;
+
+    @Test
+    void shouldReturnTheGatewaySnapshot() {
+        ExportSnapshot snapshot = new ExportSnapshot(content, 42, "1a2b");
+        when(bookGateway.exportSnapshot()).thenReturn(Optional.of(snapshot));
+
+        assertThat(getExportSnapshot.execute()).contains(snapshot);
+    }
+
+    @Test
+    void shouldBeEmptyWhenSnapshotsAreOff() {
+        when(bookGateway.exportSnapshot()).thenReturn(Optional.empty());
+
+        assertThat(getExportSnapshot.execute()).isEmpty();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demo.usecases;
+
+import com.example.demo.controller.dtos.BookPostRequestDTO;
+import com.example.demo.domain.BatchItemResult;
+import com.example.demo.domain.ImportReport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static com.example.demo.domain.BatchItemStatus.CONFLICT;
+import static com.example.demo.domain.BatchItemStatus.CREATED;
+import static com.example.demo.domain.BatchItemStatus.INVALID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportBooksTest {
+
+    @Mock
+    private CreateBooks createBooks;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ImportBooks importBooks;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        importBooks = new ImportBooks(createBooks, meterRegistry);
+    }
+
+    @Test
+    void shouldWriteRowsInBoundedChunks() {
+        when(createBooks.execute(anyList())).thenAnswer(invocation -> {
+            List<BookPostRequestDTO> chunk = new ArrayList<>(invocation.getArgument(0));
+            return IntStream.range(0, chunk.size()).mapToObj(i -> BatchItemResult.success(i, "id", CREATED)).toList();
+        });
+        int total = ImportBooks.IMPORT_CHUNK_SIZE * 2 + 1;
+        List<ImportBooks.Row> rows = LongStream.rangeClosed(1, total).mapToObj(n -> new ImportBooks.Row(n, book(n), null)).toList();
+
+        ImportReport report = importBooks.execute(rows.iterator());
+
+        assertThat(report.rows()).isEqualTo(total);
+        assertThat(report.created()).isEqualTo(total);
+        assertThat(report.failed()).isZero();
+        assertThat(report.errors()).isEmpty();
+        verify(createBooks, times(3)).execute(anyList());
+        assertThat(meterRegistry.counter("library.import.rows", "outcome", "created").count()).isEqualTo(total);
+    }
+
+    @Test
+    void shouldReportParseAndWriteErrorsWithTheirRowNumbers() {
+        when(createBooks.execute(anyList())).thenReturn(List.of(
+                BatchItemResult.success(0, "id", CREATED),
+                BatchItemResult.failure(1, "other", CONFLICT, "isbn already exists")));
+        List<ImportBooks.Row> rows = List.of(
+                new ImportBooks.Row(1, book(1), null),
+                new ImportBooks.Row(2, null, "malformed row"),
+                new ImportBooks.Row(3, book(3), null));
+
+        ImportReport report = importBooks.execute(rows.iterator());
+
+        assertThat(report.rows()).isEqualTo(3);
+        assertThat(report.created()).isEqualTo(1);
+        assertThat(report.failed()).isEqualTo(2);
+        assertThat(report.errors()).extracting(error -> error.row() + ":" + error.status())
+                .containsExactly("2:" + INVALID, "3:" + CONFLICT);
+        assertThat(report.errorsTruncated()).isFalse();
+    }
+
+    private static BookPostRequestDTO book(long n) {
+        return new BookPostRequestDTO("Title " + n, "Author", "isbn-" + n, 1, 100L);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.demo.usecases;
+
+import com.example.demo.exceptions.CustomHttpException;
+import com.example.demo.gateways.BookGateway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.example.demo.domain.StockUpdateStatus.APPLIED;
+import static com.example.demo.domain.StockUpdateStatus.INSUFFICIENT_STOCK;
+import static com.example.demo.domain.StockUpdateStatus.NOT_FOUND;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReserveStockTest {
+
+    @Mock
+    private BookGateway bookGateway;
+
+    @InjectMocks
+    private ReserveStock reserveStock;
+
+    @Test
+    void shouldReserveWhenApplied() {
+        when(bookGateway.reserveStock("1", 2)).thenReturn(APPLIED);
+
+        assertThatCode(() -> reserveStock.execute("1", 2)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldMapInsufficientStockToConflict() {
+        when(bookGateway.reserveStock("1", 2)).thenReturn(INSUFFICIENT_STOCK);
+
+        assertThatThrownBy(() -> reserveStock.execute("1", 2))
+                .isInstanceOfSatisfying(CustomHttpException.class, e -> assertThat(e.getStatusCode()).isEqualTo(409));
+    }
+
+    @Test
+    void shouldMapUnknownBookToNotFound() {
+        when(bookGateway.reserveStock("missing", 1)).thenReturn(NOT_FOUND);
+
+        assertThatThrownBy(() -> reserveStock.execute("missing", 1))
+                .isInstanceOfSatisfying(CustomHttpException.class, e -> assertThat(e.getStatusCode()).isEqualTo(404));
+    }
+}
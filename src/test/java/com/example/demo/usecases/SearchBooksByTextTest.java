@@ -0,0 +1,42 @@
+package com.example.demo.usecases;
+
+import com.example.demo.domain.Book;
+import com.example.demo.gateways.BookGateway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static com.example.demo.usecases.GetBooks.DEFAULT_PAGE_SIZE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchBooksByTextTest {
+
+    @Mock
+    private BookGateway bookGateway;
+
+    @InjectMocks
+    private SearchBooksByText searchBooksByText;
+
+    @Test
+    void shouldSearchWithDefaultLimit() {
+        Book book = new Book();
+        when(bookGateway.searchText("dune", DEFAULT_PAGE_SIZE)).thenReturn(List.of(book));
+
+        assertThat(searchBooksByText.execute("dune", null)).containsExactly(book);
+    }
+
+    @Test
+    void shouldRejectBlankQueryAndInvalidSize() {
+        assertThatThrownBy(() -> searchBooksByText.execute(" ", 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> searchBooksByText.execute("dune", 0)).isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(bookGateway);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.demo.usecases;
+
+import com.example.demo.domain.Book;
+import com.example.demo.domain.BookCursor;
+import com.example.demo.domain.BookPage;
+import com.example.demo.domain.BookSearchCriteria;
+import com.example.demo.gateways.BookGateway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static com.example.demo.domain.BookSearchCriteria.Match.PREFIX;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchBooksTest {
+
+    private static final BookSearchCriteria CRITERIA = new BookSearchCriteria("dune", null, PREFIX, null, null, true);
+
+    @Mock
+    private BookGateway bookGateway;
+
+    @InjectMocks
+    private SearchBooks searchBooks;
+
+    @Test
+    void shouldReturnPageWithNextCursorWhenMoreMatchesExist() {
+        when(bookGateway.searchBooks(CRITERIA, null, 3)).thenReturn(List.of(book("a"), book("b"), book("c")));
+
+        BookPage page = searchBooks.execute(CRITERIA, null, 2);
+
+        assertThat(page.books()).extracting(Book::getId).containsExactly("a", "b");
+        assertThat(page.nextCursor()).isEqualTo(BookCursor.encode("b"));
+    }
+
+    @Test
+    void shouldContinueAfterCursor() {
+        when(bookGateway.searchBooks(CRITERIA, "b", 3)).thenReturn(List.of(book("c")));
+
+        BookPage page = searchBooks.execute(CRITERIA, BookCursor.encode("b"), 2);
+
+        assertThat(page.books()).extracting(Book::getId).containsExactly("c");
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldRejectInvertedPriceRange() {
+        BookSearchCriteria inverted = new BookSearchCriteria(null, null, PREFIX, 500L, 100L, false);
+
+        assertThatThrownBy(() -> searchBooks.execute(inverted, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(bookGateway);
+    }
+
+    private Book book(String id) {
+        Book book = new Book();
+        book.setId(id);
+        return book;
+    }
+}
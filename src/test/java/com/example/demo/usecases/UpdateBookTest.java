@@ -49,9 +49,9 @@ class UpdateBookTest {
     @Test
     void shouldUpdateBookSuccessfully() {
         String bookId = "1";
-        when(bookGateway.updateBook(bookId, updateDto)).thenReturn(updatedBook);
+        when(bookGateway.updateBook(bookId, updateDto, 1L)).thenReturn(updatedBook);
 
-        Book result = updateBook.execute(bookId, updateDto);
+        Book result = updateBook.execute(bookId, updateDto, 1L);
 
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo("1");
@@ -61,29 +61,29 @@ class UpdateBookTest {
         assertThat(result.getStock()).isEqualTo(15);
         assertThat(result.getPriceInCents()).isEqualTo(3999L);
 
-        verify(bookGateway, times(1)).updateBook(bookId, updateDto);
+        verify(bookGateway, times(1)).updateBook(bookId, updateDto, 1L);
     }
 
     @Test
     void shouldThrowExceptionWhenBookNotFound() {
         String bookId = "nonexistent";
-        when(bookGateway.updateBook(bookId, updateDto))
+        when(bookGateway.updateBook(bookId, updateDto, 1L))
                 .thenThrow(new BookNotFoundException("book not found!"));
 
-        assertThatThrownBy(() -> updateBook.execute(bookId, updateDto))
+        assertThatThrownBy(() -> updateBook.execute(bookId, updateDto, 1L))
                 .isInstanceOf(BookNotFoundException.class)
                 .hasMessage("book not found!");
 
-        verify(bookGateway, times(1)).updateBook(bookId, updateDto);
+        verify(bookGateway, times(1)).updateBook(bookId, updateDto, 1L);
     }
 
     @Test
     void shouldDelegateToBookGatewayUpdateBook() {
         String bookId = "1";
-        when(bookGateway.updateBook(anyString(), any(BookPutRequestDTO.class))).thenReturn(updatedBook);
+        when(bookGateway.updateBook(anyString(), any(BookPutRequestDTO.class), anyLong())).thenReturn(updatedBook);
 
-        updateBook.execute(bookId, updateDto);
+        updateBook.execute(bookId, updateDto, 1L);
 
-        verify(bookGateway).updateBook(bookId, updateDto);
+        verify(bookGateway).updateBook(bookId, updateDto, 1L);
     }
 }
@@ -0,0 +1,62 @@
+package com.example.demo.usecases;
+
+import com.example.demo.controller.dtos.BookBatchPutRequestDTO;
+import com.example.demo.controller.dtos.BookPutRequestDTO;
+import com.example.demo.domain.BatchItemResult;
+import com.example.demo.domain.Book;
+import com.example.demo.gateways.BookGateway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.demo.domain.BatchItemStatus.CONFLICT;
+import static com.example.demo.domain.BatchItemStatus.INVALID;
+import static com.example.demo.domain.BatchItemStatus.NOT_FOUND;
+import static com.example.demo.domain.BatchItemStatus.UPDATED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UpdateBooksTest {
+
+    @Mock
+    private BookGateway bookGateway;
+
+    @InjectMocks
+    private UpdateBooks updateBooks;
+
+    @Test
+    void shouldUpdateFoundBooksAndReportMissingOnes() {
+        BookPutRequestDTO change = new BookPutRequestDTO("New Title", null, null, null, null);
+        when(bookGateway.findIdsByIsbn(anyCollection())).thenReturn(Map.of());
+        when(bookGateway.updateBooks(Map.of("1", change, "2", change))).thenReturn(Map.of("1", new Book()));
+
+        List<BatchItemResult> results = updateBooks.execute(List.of(
+                new BookBatchPutRequestDTO("1", change),
+                new BookBatchPutRequestDTO("2", change)));
+
+        assertThat(results).extracting(BatchItemResult::status).containsExactly(UPDATED, NOT_FOUND);
+    }
+
+    @Test
+    void shouldRejectInvalidDuplicateAndConflictingItems() {
+        BookPutRequestDTO change = new BookPutRequestDTO(null, null, "978-0000000001", null, null);
+        when(bookGateway.findIdsByIsbn(anyCollection())).thenReturn(Map.of("978-0000000001", "other"));
+
+        List<BatchItemResult> results = updateBooks.execute(Arrays.asList(
+                new BookBatchPutRequestDTO("1", change),
+                new BookBatchPutRequestDTO("1", change),
+                new BookBatchPutRequestDTO(" ", change),
+                null));
+
+        assertThat(results).extracting(BatchItemResult::status).containsExactly(CONFLICT, CONFLICT, INVALID, INVALID);
+        verify(bookGateway, never()).updateBooks(anyMap());
+    }
+}
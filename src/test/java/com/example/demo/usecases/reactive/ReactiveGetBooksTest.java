@@ -0,0 +1,67 @@
+package com.example.demo.usecases.reactive;
+
+import com.example.demo.domain.Book;
+import com.example.demo.domain.BookCursor;
+import com.example.demo.gateways.ReactiveBookGateway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveGetBooksTest {
+
+    @Mock
+    private ReactiveBookGateway reactiveBookGateway;
+
+    @InjectMocks
+    private ReactiveGetBooks reactiveGetBooks;
+
+    @Test
+    void shouldReturnPageWithCursorWhenMoreRowsExist() {
+        when(reactiveBookGateway.listPage(null, 3)).thenReturn(Flux.fromStream(IntStream.range(0, 3).mapToObj(this::book)));
+
+        StepVerifier.create(reactiveGetBooks.execute(null, 2))
+                .assertNext(page -> {
+                    assertThat(page.books()).extracting(Book::getId).containsExactly("id-0", "id-1");
+                    assertThat(page.nextCursor()).isEqualTo(BookCursor.encode("id-1"));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldContinueAfterDecodedCursorAndEndWithoutNextCursor() {
+        when(reactiveBookGateway.listPage("id-1", 3)).thenReturn(Flux.just(book(2)));
+
+        StepVerifier.create(reactiveGetBooks.execute(BookCursor.encode("id-1"), 2))
+                .assertNext(page -> {
+                    assertThat(page.books()).extracting(Book::getId).containsExactly("id-2");
+                    assertThat(page.nextCursor()).isNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldSignalErrorForInvalidSize() {
+        StepVerifier.create(reactiveGetBooks.execute(null, 0))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verifyNoInteractions(reactiveBookGateway);
+    }
+
+    private Book book(int n) {
+        Book book = new Book();
+        book.setId("id-" + n);
+        book.setTitle("Title " + n);
+        return book;
+    }
+}
@@ -0,0 +1,28 @@
+CREATE TABLE IF NOT EXISTS book_entity (
+    id             UUID PRIMARY KEY,
+    isbn           VARCHAR(17) UNIQUE,
+    isbn_key       BIGINT UNIQUE,
+    title          VARCHAR(255),
+    author         VARCHAR(255),
+    stock          INTEGER NOT NULL,
+    price_in_cents BIGINT  NOT NULL,
+    version        BIGINT  DEFAULT 0 NOT NULL,
+    title_key      VARCHAR(255),
+    author_key     VARCHAR(255),
+    updated_at     TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS book_change (
+    seq        BIGINT  PRIMARY KEY,
+    book_id    UUID    NOT NULL,
+    deleted    BOOLEAN NOT NULL,
+    changed_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS book_change_head (
+    id             INTEGER PRIMARY KEY,
+    seq            BIGINT NOT NULL,
+    purged_through BIGINT NOT NULL
+);
+
+MERGE INTO book_change_head (id, seq, purged_through) KEY (id) VALUES (1, 0, 0);